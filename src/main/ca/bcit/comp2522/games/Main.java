@@ -1,8 +1,10 @@
 package ca.bcit.comp2522.games;
 
 import ca.bcit.comp2522.games.game.GameController;
+import ca.bcit.comp2522.games.game.LazyGameController;
 import ca.bcit.comp2522.games.game.crafter.CrafterGameController;
 import ca.bcit.comp2522.games.game.number.NumberGameController;
+import ca.bcit.comp2522.games.game.number.NumberGameGrid;
 import ca.bcit.comp2522.games.game.quit.QuitGameController;
 import ca.bcit.comp2522.games.game.word.WordGameController;
 import ca.bcit.comp2522.games.menu.TerminalMenu;
@@ -26,6 +28,8 @@ public final class Main extends Application {
      */
     public static final Scanner SCANNER = new Scanner(System.in);
 
+    private static final String ENDURANCE_NAME = "Grid Gamble Endurance";
+
     /**
      * Entry point for the COMP2522 term project driver class.
      *
@@ -70,10 +74,25 @@ public final class Main extends Application {
 
         games.put("W", new WordGameController());
         games.put("N", new NumberGameController());
+
+        // The endurance grid is large enough that it is only created once it is actually played
+        games.put("E", new LazyGameController(Main.ENDURANCE_NAME, NumberGameController.DESCRIPTION,
+                                              Main::createEnduranceGame));
         games.put("M", new CrafterGameController());
         games.put("Q", new QuitGameController());
 
         return games;
     }
 
+    /**
+     * Creates the endurance variant of the number game, on the largest grid with the most values it supports.
+     *
+     * @return the endurance game
+     */
+    private static GameController createEnduranceGame() {
+        return new NumberGameController(Main.ENDURANCE_NAME, NumberGameGrid.MAX_ROWS, NumberGameGrid.MAX_COLUMNS,
+                                        NumberGameGrid.MIN_VALUE,
+                                        NumberGameGrid.MIN_VALUE + NumberGameGrid.MAX_VALUE_COUNT - 1);
+    }
+
 }
@@ -0,0 +1,45 @@
+package ca.bcit.comp2522.games.game;
+
+import java.util.function.Supplier;
+
+/**
+ * A game controller that only creates the game it stands for once it is launched, for games that are expensive to
+ * create and so should not be created just to be listed within a menu.
+ * <p>
+ * A new game is created for every launch, and dropped again once it has finished.
+ *
+ * @author Ole Lammers
+ * @version 1.0
+ */
+public final class LazyGameController extends GameController {
+
+    private final Supplier<? extends GameController> factory;
+
+    /**
+     * Creates a new controller that creates its game with the given factory whenever it is launched.
+     *
+     * @param name        the name of the game
+     * @param description the description of the game
+     * @param factory     the factory that creates the game
+     */
+    public LazyGameController(final String name, final String description,
+                              final Supplier<? extends GameController> factory) {
+        super(name, description);
+
+        if (factory == null) {
+            throw new IllegalArgumentException("A lazy game requires a factory to create the game.");
+        }
+
+        this.factory = factory;
+    }
+
+    @Override
+    protected void onStart() {
+        this.factory.get().launch();
+    }
+
+    @Override
+    protected void onFinish() {
+    }
+
+}
@@ -0,0 +1,189 @@
+package ca.bcit.comp2522.games.game.number;
+
+import java.util.Arrays;
+
+/**
+ * A set of cell indexes, stored as a hierarchical bitset.
+ * <p>
+ * The lowest level holds a bit per cell index, and every level above it a bit per word of the level below that has
+ * any bit set. Finding the nearest set index before or after any index therefore only inspects a single word per
+ * level, which is at most four words for a million cells, and neither changing nor querying the set allocates.
+ *
+ * @author Ole Lammers
+ * @version 1.0
+ */
+final class CellBitSet {
+
+    private static final int WORD_SHIFT = 6;
+
+    /**
+     * The levels of the set, from the bit per cell index up to a single word.
+     */
+    private final long[][] levels;
+
+    /**
+     * Creates a new, empty set for the given amount of cell indexes.
+     *
+     * @param size the amount of cell indexes, from 0 to one less than the size
+     */
+    CellBitSet(final int size) {
+        final long[][] levels;
+        int bits = size;
+        int count = 0;
+
+        levels = new long[Integer.SIZE][];
+
+        do {
+            final int words;
+            words = Math.max(1, (bits + Long.SIZE - 1) >>> CellBitSet.WORD_SHIFT);
+
+            levels[count++] = new long[words];
+            bits = words;
+        } while (bits > 1);
+
+        this.levels = Arrays.copyOf(levels, count);
+    }
+
+    /**
+     * Adds the given cell index to this set.
+     *
+     * @param index the cell index
+     */
+    void set(final int index) {
+        int position = index;
+
+        for (final long[] level : this.levels) {
+            final int word;
+            final boolean wasEmpty;
+
+            word = position >>> CellBitSet.WORD_SHIFT;
+            wasEmpty = level[word] == 0;
+            level[word] |= 1L << position;
+
+            // The levels above already know about a word that had bits set before
+            if (!wasEmpty) {
+                return;
+            }
+
+            position = word;
+        }
+    }
+
+    /**
+     * Removes the given cell index from this set.
+     *
+     * @param index the cell index
+     */
+    void clear(final int index) {
+        int position = index;
+
+        for (final long[] level : this.levels) {
+            final int word;
+            word = position >>> CellBitSet.WORD_SHIFT;
+            level[word] &= ~(1L << position);
+
+            // The levels above only change once a word has no bits set anymore
+            if (level[word] != 0) {
+                return;
+            }
+
+            position = word;
+        }
+    }
+
+    /**
+     * Removes every cell index from this set.
+     */
+    void clearAll() {
+        for (final long[] level : this.levels) {
+            Arrays.fill(level, 0);
+        }
+    }
+
+    /**
+     * Returns the highest cell index within this set below the given index.
+     *
+     * @param index the index to search below
+     * @return the previous set index, or {@link IntegerGrid#NO_INDEX} if there is none
+     */
+    int previous(final int index) {
+        int position = index - 1;
+        int level = 0;
+
+        // Climbs until a word has a set bit at or before the position
+        while (true) {
+            if (position < 0 || level == this.levels.length) {
+                return IntegerGrid.NO_INDEX;
+            }
+
+            final int word;
+            final long bits;
+
+            word = position >>> CellBitSet.WORD_SHIFT;
+            bits = this.levels[level][word] & (-1L >>> (Long.SIZE - 1 - (position & (Long.SIZE - 1))));
+
+            if (bits != 0) {
+                position = (word << CellBitSet.WORD_SHIFT) + Long.SIZE - 1 - Long.numberOfLeadingZeros(bits);
+                break;
+            }
+
+            position = word - 1;
+            level++;
+        }
+
+        // Descends into the highest set bit of each word below
+        while (level > 0) {
+            level--;
+            position = (position << CellBitSet.WORD_SHIFT) + Long.SIZE - 1 -
+                    Long.numberOfLeadingZeros(this.levels[level][position]);
+        }
+
+        return position;
+    }
+
+    /**
+     * Returns the lowest cell index within this set above the given index.
+     *
+     * @param index the index to search above, which may be -1 to search from the first index
+     * @return the next set index, or {@link IntegerGrid#NO_INDEX} if there is none
+     */
+    int next(final int index) {
+        int position = index + 1;
+        int level = 0;
+
+        // Climbs until a word has a set bit at or after the position
+        while (true) {
+            if (level == this.levels.length) {
+                return IntegerGrid.NO_INDEX;
+            }
+
+            final int word;
+            final long bits;
+
+            word = position >>> CellBitSet.WORD_SHIFT;
+
+            if (word >= this.levels[level].length) {
+                return IntegerGrid.NO_INDEX;
+            }
+
+            bits = this.levels[level][word] & (-1L << position);
+
+            if (bits != 0) {
+                position = (word << CellBitSet.WORD_SHIFT) + Long.numberOfTrailingZeros(bits);
+                break;
+            }
+
+            position = word + 1;
+            level++;
+        }
+
+        // Descends into the lowest set bit of each word below
+        while (level > 0) {
+            level--;
+            position = (position << CellBitSet.WORD_SHIFT) + Long.numberOfTrailingZeros(this.levels[level][position]);
+        }
+
+        return position;
+    }
+
+}
@@ -0,0 +1,237 @@
+package ca.bcit.comp2522.games.game.number;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Computes placement hints with a {@link GridGambleSolver} on a background thread, so hints never hold up the thread
+ * that renders the game.
+ * <p>
+ * Requesting a hint only copies the cells of the grid on the calling thread, every other step runs on the single
+ * thread of the engine. The solver table is built on a thread of its own once the engine is {@link #prepare()
+ * prepared}, which should happen when the game is launched, after which each hint takes microseconds. Hints requested
+ * while the table is still being built do not wait for it, but are {@link PlacementHint#isEstimate() estimated} from
+ * the drawn target alone. Solvers are shared by every engine with the same value range, so their tables are only ever
+ * built once. When hints are requested faster than they are computed, only the latest request is solved, and every
+ * request it replaced completes without a hint.
+ * <p>
+ * Hints must be requested and the engine closed from the same thread. A closed engine starts a new background thread
+ * when the next hint is requested.
+ *
+ * @author Ole Lammers
+ * @version 1.0
+ */
+public final class GridGambleHintEngine implements AutoCloseable {
+
+    /**
+     * The shared solvers, keyed by their value range with the lowest value in the upper half.
+     */
+    private static final Map<Long, SharedSolver> SOLVERS = new ConcurrentHashMap<>();
+
+    private final int minValue;
+    private final int maxValue;
+    private final int cellCount;
+    private final AtomicLong latestRequest;
+    private final boolean supported;
+
+    private ExecutorService executor;
+
+    /**
+     * Creates a new hint engine for grids of the given size, without computing anything yet.
+     *
+     * @param minValue  the lowest value that can be drawn
+     * @param maxValue  the highest value that can be drawn
+     * @param cellCount the amount of cells of the grids hints are requested for
+     */
+    public GridGambleHintEngine(final int minValue, final int maxValue, final int cellCount) {
+        this.minValue = minValue;
+        this.maxValue = maxValue;
+        this.cellCount = cellCount;
+        this.supported = GridGambleSolver.supports(cellCount) &&
+                (long) maxValue - minValue + 1 <= GridGambleSolver.MAX_VALUES;
+        this.latestRequest = new AtomicLong();
+    }
+
+    /**
+     * Returns the solver shared by every engine with the given value range, creating it if there is none yet.
+     *
+     * @param minValue the lowest value that can be drawn
+     * @param maxValue the highest value that can be drawn
+     * @return the shared solver
+     */
+    private static SharedSolver getSolver(final int minValue, final int maxValue) {
+        final long key;
+        key = ((long) minValue << Integer.SIZE) | (maxValue & 0xFFFFFFFFL);
+
+        return GridGambleHintEngine.SOLVERS.computeIfAbsent(key, _ -> new SharedSolver(minValue, maxValue));
+    }
+
+    /**
+     * Returns whether hints can be computed for the grid size and value range of this engine.
+     *
+     * @return whether hints are supported
+     */
+    public boolean isSupported() {
+        return this.supported;
+    }
+
+    /**
+     * Starts building the solver table for the grid size and value range of this engine in the background, unless it
+     * has been built or started already. Does nothing if hints are not supported.
+     */
+    public void prepare() {
+        if (this.supported) {
+            GridGambleHintEngine.getSolver(this.minValue, this.maxValue).prepare(this.cellCount);
+        }
+    }
+
+    /**
+     * Requests a hint for placing the given drawn target into the given grid.
+     *
+     * @param grid   the grid, which may change after this returns
+     * @param target the drawn target
+     * @return the future that completes with the hint, or without one if the target cannot be placed in order, hints
+     *         are not supported, or a later request replaced this one
+     */
+    public CompletableFuture<Optional<PlacementHint>> requestHint(final NumberGameGrid grid, final int target) {
+        if (!this.supported) {
+            return CompletableFuture.completedFuture(Optional.empty());
+        }
+
+        final int[] cells;
+        final long request;
+
+        cells = GridGambleSolver.snapshot(grid);
+        request = this.latestRequest.incrementAndGet();
+
+        if (this.executor == null) {
+            this.executor = Executors.newSingleThreadExecutor(Thread.ofVirtual().name("grid-gamble-hints").factory());
+        }
+
+        return CompletableFuture.supplyAsync(() -> {
+            if (this.latestRequest.get() != request) {
+                return Optional.empty();
+            }
+
+            final SharedSolver shared;
+            shared = GridGambleHintEngine.getSolver(this.minValue, this.maxValue);
+
+            // The table is still being built, so the hint is estimated rather than waiting for it
+            if (!shared.isPrepared(this.cellCount)) {
+                final int index;
+
+                shared.prepare(this.cellCount);
+                index = shared.solver.getEstimatedIndex(cells, target);
+
+                return index == IntegerGrid.NO_INDEX ? Optional.empty() : Optional.of(new PlacementHint(target, index));
+            }
+
+            // Another engine with the same value range may be using the solver at the same time
+            shared.lock.lock();
+
+            try {
+                final int index;
+                index = shared.solver.getBestIndex(cells, target);
+
+                if (index == IntegerGrid.NO_INDEX) {
+                    return Optional.empty();
+                }
+
+                return Optional.of(new PlacementHint(target, index,
+                                                     shared.solver.getWinProbability(cells, index, target)));
+            } finally {
+                shared.lock.unlock();
+            }
+        }, this.executor);
+    }
+
+    /**
+     * Stops the background thread of this engine, after which the pending requests complete without a hint. A table
+     * that is still being built is finished regardless, since it is shared with other engines.
+     */
+    @Override
+    public void close() {
+        if (this.executor == null) {
+            return;
+        }
+
+        // Replaces every pending request, so any that already started are the only ones still solved
+        this.latestRequest.incrementAndGet();
+        this.executor.shutdown();
+        this.executor = null;
+    }
+
+    /**
+     * A solver shared by every engine with the same value range, along with the lock that must be held while using
+     * it, and how far its table has been built.
+     */
+    private static final class SharedSolver {
+
+        private final GridGambleSolver solver;
+        private final ReentrantLock lock;
+
+        /**
+         * The most cells of a grid the table has been requested to be built for.
+         */
+        private final AtomicInteger requestedCells;
+
+        /**
+         * The most cells of a grid the table has been built for.
+         */
+        private volatile int preparedCells;
+
+        /**
+         * Creates a new shared solver, without building its table yet.
+         *
+         * @param minValue the lowest value that can be drawn
+         * @param maxValue the highest value that can be drawn
+         */
+        private SharedSolver(final int minValue, final int maxValue) {
+            this.solver = new GridGambleSolver(minValue, maxValue);
+            this.lock = new ReentrantLock();
+            this.requestedCells = new AtomicInteger();
+        }
+
+        /**
+         * Returns whether the table has been built for grids with the given amount of cells.
+         *
+         * @param cellCount the amount of cells of the grid
+         * @return whether the table has been built
+         */
+        private boolean isPrepared(final int cellCount) {
+            return this.preparedCells >= cellCount;
+        }
+
+        /**
+         * Starts building the table for grids with the given amount of cells on a thread of its own, unless a build
+         * for at least as many cells has been started already.
+         *
+         * @param cellCount the amount of cells of the grid
+         */
+        private void prepare(final int cellCount) {
+            if (this.requestedCells.getAndAccumulate(cellCount, Math::max) >= cellCount) {
+                return;
+            }
+
+            // Building a large table takes seconds of computation, so it runs on a platform thread
+            Thread.ofPlatform().daemon().name("grid-gamble-table").start(() -> {
+                this.lock.lock();
+
+                try {
+                    this.solver.prepare(cellCount);
+                    this.preparedCells = Math.max(this.preparedCells, cellCount);
+                } finally {
+                    this.lock.unlock();
+                }
+            });
+        }
+    }
+
+}
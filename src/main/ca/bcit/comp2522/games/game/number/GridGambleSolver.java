@@ -0,0 +1,471 @@
+package ca.bcit.comp2522.games.game.number;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Computes the exact chance of winning Grid Gamble from any grid state under optimal play, where each target is drawn
+ * uniformly from the values within the value range that have not been placed yet.
+ * <p>
+ * The filled cells of an ascending grid split it into gaps, each made up of a run of empty cells and the range of
+ * values that can still be placed into them. The game is won exactly when every gap receives as many of the remaining
+ * draws as it has empty cells, and fills them. Given how many draws each gap receives, the draws within each gap are
+ * a uniformly random sample of its values, independently of the other gaps, so the chance of winning only depends on
+ * the amount of empty cells and values of each gap.
+ * <p>
+ * With {@code G(k, n)} being the amount of orderings of {@code k} distinct values drawn from {@code n} that a gap of
+ * {@code k} empty cells can be filled with, weighted by their chance of winning, the first draw splits the gap around
+ * the cell it is placed into, so {@code G(k, n) = 1/k * sum over each rank r of max over each cell j of
+ * G(j, r - 1) * G(k - 1 - j, n - r)}. The table of {@code G} only depends on the gap shapes, so it is memoized across
+ * every state, and the chance of winning a state is the product of {@code G} over its gaps, divided by the amount of
+ * ways to choose the remaining draws out of the remaining values.
+ * <p>
+ * A solver is not thread-safe, its table is grown on demand by whichever state first needs it, or built up front with
+ * {@link #prepare(int)}. Only {@link #getEstimatedIndex(int[], int)} never touches the table, so it can be used while
+ * another thread builds it.
+ *
+ * @author Ole Lammers
+ * @version 1.0
+ */
+public final class GridGambleSolver {
+
+    /**
+     * The most empty cells a single gap may have to be solved exactly.
+     */
+    public static final int MAX_GAP_SLOTS = 64;
+
+    /**
+     * The most values a value range may hold to be solved exactly.
+     */
+    public static final int MAX_VALUES = 10_000;
+
+    private static final int[][] BENCHMARK_GRIDS = {{2, 3}, {4, 5}, {5, 6}, {6, 8}};
+    private static final int[] BENCHMARK_VALUE_RANGES = {100, 1000, 5000};
+    private static final int BENCHMARK_GAMES = 1000;
+
+    private final int minValue;
+    private final int maxValue;
+
+    /**
+     * The memoized table, indexed by the amount of empty cells and then the amount of values of a gap.
+     */
+    private double[][] table;
+    private int tableValues;
+
+    /**
+     * Creates a new solver for targets drawn from the given value range.
+     *
+     * @param minValue the lowest value that can be drawn
+     * @param maxValue the highest value that can be drawn
+     */
+    public GridGambleSolver(final int minValue, final int maxValue) {
+        if (minValue > maxValue || (long) maxValue - minValue + 1 > GridGambleSolver.MAX_VALUES) {
+            throw new IllegalArgumentException(
+                    "A solver requires a value range of 1 to " + GridGambleSolver.MAX_VALUES + " values, got " +
+                            minValue + " to " + maxValue + ".");
+        }
+
+        this.minValue = minValue;
+        this.maxValue = maxValue;
+        this.table = new double[][] {new double[] {1}};
+    }
+
+    /**
+     * Returns whether every gap of a grid with the given amount of cells is small enough to be solved exactly.
+     *
+     * @param cellCount the amount of cells in the grid
+     * @return whether grids of the size are supported
+     */
+    public static boolean supports(final int cellCount) {
+        return cellCount <= GridGambleSolver.MAX_GAP_SLOTS;
+    }
+
+    /**
+     * Returns the chance of winning from the given grid state, before the next target is drawn.
+     *
+     * @param cells the cells of the grid, row by row, with {@link IntegerGrid#EMPTY} for empty cells
+     * @return the chance of winning, from 0 to 1
+     */
+    public double getWinProbability(final int[] cells) {
+        int emptyCells = 0;
+        int remainingValues;
+        int gapStart = 0;
+        int lower;
+        double logWays = 0;
+
+        remainingValues = this.maxValue - this.minValue + 1;
+        lower = this.minValue - 1;
+
+        for (int i = 0; i <= cells.length; i++) {
+            if (i < cells.length && cells[i] == IntegerGrid.EMPTY) {
+                emptyCells++;
+                continue;
+            }
+
+            final int upper;
+            final int gapValues;
+            final double ways;
+
+            upper = i < cells.length ? cells[i] : this.maxValue + 1;
+
+            // A filled cell that is out of order or out of range can never be part of a win
+            if (upper <= lower || (i < cells.length && (upper < this.minValue || upper > this.maxValue))) {
+                return 0;
+            }
+
+            gapValues = upper - lower - 1;
+            ways = this.getWays(i - gapStart, gapValues);
+
+            if (ways == 0) {
+                return 0;
+            }
+
+            logWays += Math.log(ways);
+
+            if (i < cells.length) {
+                remainingValues--;
+            }
+
+            lower = upper;
+            gapStart = i + 1;
+        }
+
+        return Math.min(1, Math.exp(logWays - GridGambleSolver.logChoose(remainingValues, emptyCells)));
+    }
+
+    /**
+     * Returns the chance of winning after placing the given drawn target into the cell with the given index.
+     *
+     * @param cells  the cells of the grid, row by row, with {@link IntegerGrid#EMPTY} for empty cells
+     * @param index  the index of the empty cell to place into
+     * @param target the drawn target
+     * @return the chance of winning, from 0 to 1, which is 0 if the placement breaks the ascending order
+     */
+    public double getWinProbability(final int[] cells, final int index, final int target) {
+        if (cells[index] != IntegerGrid.EMPTY) {
+            throw new IllegalArgumentException("Cannot place into the filled cell " + index + ".");
+        }
+
+        final double probability;
+
+        cells[index] = target;
+        probability = this.getWinProbability(cells);
+        cells[index] = IntegerGrid.EMPTY;
+
+        return probability;
+    }
+
+    /**
+     * Returns the empty cell to place the given drawn target into to maximize the chance of winning.
+     *
+     * @param cells  the cells of the grid, row by row, with {@link IntegerGrid#EMPTY} for empty cells
+     * @param target the drawn target
+     * @return the best cell index, or {@link IntegerGrid#NO_INDEX} if the target cannot be placed in order
+     */
+    public int getBestIndex(final int[] cells, final int target) {
+        int first = 0;
+        int end = cells.length;
+        int best = IntegerGrid.NO_INDEX;
+        double bestProbability = -1;
+
+        // Only the empty cells between the last lower value and the first higher value keep the ascending order
+        for (int i = 0; i < cells.length; i++) {
+            if (cells[i] != IntegerGrid.EMPTY) {
+                if (cells[i] > target) {
+                    end = i;
+                    break;
+                }
+
+                first = i + 1;
+            }
+        }
+
+        for (int i = first; i < end; i++) {
+            final double probability;
+            probability = this.getWinProbability(cells, i, target);
+
+            if (probability > bestProbability) {
+                best = i;
+                bestProbability = probability;
+            }
+        }
+
+        return best;
+    }
+
+    /**
+     * Returns an empty cell to place the given drawn target into, chosen only by where the target falls within the
+     * values that fit between its filled neighbours, without computing any chance of winning.
+     *
+     * @param cells  the cells of the grid, row by row, with {@link IntegerGrid#EMPTY} for empty cells
+     * @param target the drawn target
+     * @return the estimated cell index, or {@link IntegerGrid#NO_INDEX} if the target cannot be placed in order
+     */
+    public int getEstimatedIndex(final int[] cells, final int target) {
+        int first = 0;
+        int end = cells.length;
+        int lower = this.minValue - 1;
+        int upper = this.maxValue + 1;
+
+        // Only the empty cells between the last lower value and the first higher value keep the ascending order
+        for (int i = 0; i < cells.length; i++) {
+            if (cells[i] != IntegerGrid.EMPTY) {
+                if (cells[i] > target) {
+                    end = i;
+                    upper = cells[i];
+                    break;
+                }
+
+                first = i + 1;
+                lower = cells[i];
+            }
+        }
+
+        if (first >= end || target <= lower) {
+            return IntegerGrid.NO_INDEX;
+        }
+
+        return first + (int) ((long) (target - lower - 1) * (end - first) / (upper - lower - 1));
+    }
+
+    /**
+     * Builds the table for every gap a grid with the given amount of cells can have, so no later state has to grow it.
+     *
+     * @param cellCount the amount of cells in the grid
+     */
+    public void prepare(final int cellCount) {
+        this.ensureTable(Math.min(cellCount, GridGambleSolver.MAX_GAP_SLOTS), this.maxValue - this.minValue + 1);
+    }
+
+    /**
+     * Returns the chance of winning from the state of the given grid, before the next target is drawn.
+     *
+     * @param grid the grid
+     * @return the chance of winning, from 0 to 1
+     */
+    public double getWinProbability(final NumberGameGrid grid) {
+        return this.getWinProbability(GridGambleSolver.snapshot(grid));
+    }
+
+    /**
+     * Returns the empty cell of the given grid to place the given drawn target into to maximize the chance of winning.
+     *
+     * @param grid   the grid
+     * @param target the drawn target
+     * @return the best cell index, or {@link IntegerGrid#NO_INDEX} if the target cannot be placed in order
+     */
+    public int getBestIndex(final NumberGameGrid grid, final int target) {
+        return this.getBestIndex(GridGambleSolver.snapshot(grid), target);
+    }
+
+    /**
+     * Copies the cells of the given grid.
+     *
+     * @param grid the grid
+     * @return the cells, row by row
+     */
+    static int[] snapshot(final IntegerGrid grid) {
+        final int[] cells;
+        cells = new int[grid.getSize()];
+
+        grid.copyTo(cells);
+
+        return cells;
+    }
+
+    /**
+     * Returns the natural logarithm of the amount of ways to choose the given amount of items out of the given amount.
+     *
+     * @param n the amount to choose from
+     * @param k the amount to choose
+     * @return the logarithm of n choose k
+     */
+    private static double logChoose(final int n, final int k) {
+        double log = 0;
+
+        for (int i = 0; i < k; i++) {
+            log += Math.log((double) (n - i) / (i + 1));
+        }
+
+        return log;
+    }
+
+    /**
+     * Returns the weighted amount of winning orderings of a gap with the given amount of empty cells and values.
+     *
+     * @param slots  the amount of empty cells
+     * @param values the amount of values that can be placed into the gap
+     * @return the table entry, which is 0 if the gap has more empty cells than values
+     */
+    private double getWays(final int slots, final int values) {
+        if (slots > values) {
+            return 0;
+        }
+
+        if (slots > GridGambleSolver.MAX_GAP_SLOTS) {
+            throw new IllegalArgumentException(
+                    "A gap of " + slots + " empty cells is too large to solve, the maximum is " +
+                            GridGambleSolver.MAX_GAP_SLOTS + ".");
+        }
+
+        this.ensureTable(slots, values);
+
+        return this.table[slots][values];
+    }
+
+    /**
+     * Grows the table to hold the given gap, computing every missing entry bottom up.
+     *
+     * @param slots  the amount of empty cells of the gap
+     * @param values the amount of values of the gap
+     */
+    private void ensureTable(final int slots, final int values) {
+        if (slots < this.table.length && values <= this.tableValues) {
+            return;
+        }
+
+        final int rows;
+        final int columns;
+
+        rows = Math.max(slots + 1, this.table.length);
+        columns = Math.max(values, this.tableValues);
+
+        if (columns > this.tableValues) {
+            // Every row has to be extended, which is as costly as computing them anew
+            this.table = new double[][] {new double[columns + 1]};
+            Arrays.fill(this.table[0], 1);
+        }
+
+        final int firstRow;
+        firstRow = this.table.length;
+        this.table = Arrays.copyOf(this.table, rows);
+        this.tableValues = columns;
+
+        for (int k = firstRow; k < rows; k++) {
+            this.table[k] = this.computeRow(k);
+        }
+    }
+
+    /**
+     * Computes the table row of gaps with the given amount of empty cells, from every row before it.
+     *
+     * @param k the amount of empty cells
+     * @return the row, indexed by the amount of values
+     */
+    private double[] computeRow(final int k) {
+        final double[] row;
+        row = new double[this.tableValues + 1];
+
+        for (int n = k; n <= this.tableValues; n++) {
+            double sum = 0;
+
+            // The first draw has rank r, leaving r - 1 values below it and n - r above it
+            for (int r = 1; r <= n; r++) {
+                final int below;
+                final int above;
+                double best = 0;
+
+                below = r - 1;
+                above = n - r;
+
+                for (int j = Math.max(0, k - 1 - above); j <= Math.min(k - 1, below); j++) {
+                    best = Math.max(best, this.table[j][below] * this.table[k - 1 - j][above]);
+                }
+
+                sum += best;
+            }
+
+            row[n] = sum / k;
+        }
+
+        return row;
+    }
+
+    /**
+     * Benchmarks the solver over several grid sizes and value ranges, printing how long the table takes to build, and
+     * how long each hint takes while playing games that always follow the hint.
+     *
+     * @param args unused
+     */
+    public static void main(final String[] args) {
+        for (final int[] dimensions : GridGambleSolver.BENCHMARK_GRIDS) {
+            for (final int valueRange : GridGambleSolver.BENCHMARK_VALUE_RANGES) {
+                final GridGambleSolver solver;
+                final SplittableRandom random;
+                final int[] cells;
+                final int[] draws;
+                final long buildStart;
+                final double winProbability;
+                final long buildNanos;
+                long hintNanos = 0;
+                int hints = 0;
+                int wins = 0;
+
+                solver = new GridGambleSolver(1, valueRange);
+                random = new SplittableRandom(valueRange);
+                cells = new int[dimensions[0] * dimensions[1]];
+                draws = new int[valueRange];
+
+                for (int i = 0; i < draws.length; i++) {
+                    draws[i] = i + 1;
+                }
+
+                Arrays.fill(cells, IntegerGrid.EMPTY);
+
+                buildStart = System.nanoTime();
+                winProbability = solver.getWinProbability(cells);
+                buildNanos = System.nanoTime() - buildStart;
+
+                for (int game = 0; game < GridGambleSolver.BENCHMARK_GAMES; game++) {
+                    Arrays.fill(cells, IntegerGrid.EMPTY);
+
+                    for (int placed = 0; placed < cells.length; placed++) {
+                        final int draw;
+                        final long hintStart;
+                        final int best;
+
+                        // Draws without replacement by shuffling only as far as needed
+                        draw = random.nextInt(placed, draws.length);
+                        GridGambleSolver.swap(draws, placed, draw);
+
+                        hintStart = System.nanoTime();
+                        best = solver.getBestIndex(cells, draws[placed]);
+                        hintNanos += System.nanoTime() - hintStart;
+                        hints++;
+
+                        if (best == IntegerGrid.NO_INDEX) {
+                            break;
+                        }
+
+                        cells[best] = draws[placed];
+
+                        if (placed == cells.length - 1) {
+                            wins++;
+                        }
+                    }
+                }
+
+                System.out.printf("%dx%d grid, values 1 to %d: %.4f%% exact win chance, %d of %d games won, " +
+                                          "table built in %.1f ms, %.1f us per hint%n", dimensions[0], dimensions[1],
+                                  valueRange, winProbability * 100, wins, GridGambleSolver.BENCHMARK_GAMES,
+                                  buildNanos / 1e6, hintNanos / 1e3 / hints);
+            }
+        }
+    }
+
+    /**
+     * Swaps the given elements of the given array.
+     *
+     * @param values the array
+     * @param first  the index of the first element
+     * @param second the index of the second element
+     */
+    private static void swap(final int[] values, final int first, final int second) {
+        final int value;
+        value = values[first];
+
+        values[first] = values[second];
+        values[second] = value;
+    }
+
+}
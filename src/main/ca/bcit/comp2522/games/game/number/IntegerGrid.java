@@ -3,20 +3,40 @@ package ca.bcit.comp2522.games.game.number;
 import ca.bcit.comp2522.games.util.Observable;
 import ca.bcit.comp2522.games.util.Point;
 
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
 
 /**
  * Represents a variable grid of integers.
+ * <p>
+ * The cells are stored row by row in a single flat array, with {@link #EMPTY} marking cells without a value, so reading
+ * and writing cells by their index or by row and column never boxes a value or creates a point. The methods taking a
+ * {@link Point} are thin wrappers around these, where the X coordinate is the column and the Y coordinate is the row.
  *
  * @author Ole Lammers
  * @version 1.0
  */
 public class IntegerGrid extends Observable<IntegerGrid> {
 
+    /**
+     * The value of a cell without a placed value, which therefore cannot be placed itself.
+     */
+    public static final int EMPTY = Integer.MIN_VALUE;
+
+    /**
+     * The index returned by searches that did not find a matching cell.
+     */
+    public static final int NO_INDEX = -1;
+
     private final int rows;
     private final int cols;
-    private final Integer[][] grid;
+    private final int[] cells;
+
+    /**
+     * The amount of cells that hold a value.
+     */
+    private int filledCount;
 
     /**
      * Creates a new grid with the specified amount of rows and columns.
@@ -28,9 +48,13 @@ public class IntegerGrid extends Observable<IntegerGrid> {
         IntegerGrid.validateGridDimension(rows);
         IntegerGrid.validateGridDimension(cols);
 
+        if ((long) rows * cols > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("A grid of " + rows + "x" + cols + " has too many points!");
+        }
+
         this.rows = rows;
         this.cols = cols;
-        this.grid = IntegerGrid.initGrid(rows, cols);
+        this.cells = IntegerGrid.initGrid(rows, cols);
     }
 
     /**
@@ -49,10 +73,15 @@ public class IntegerGrid extends Observable<IntegerGrid> {
      *
      * @param rows the rows the grid has
      * @param cols the cols the grid has
-     * @return the initialized grid
+     * @return the initialized cells, row by row
      */
-    private static Integer[][] initGrid(final int rows, final int cols) {
-        return new Integer[rows][cols];
+    private static int[] initGrid(final int rows, final int cols) {
+        final int[] cells;
+        cells = new int[rows * cols];
+
+        Arrays.fill(cells, IntegerGrid.EMPTY);
+
+        return cells;
     }
 
     /**
@@ -80,6 +109,109 @@ public class IntegerGrid extends Observable<IntegerGrid> {
         return point.x() >= 0 && point.x() < this.cols && point.y() >= 0 && point.y() < this.rows;
     }
 
+    /**
+     * Validates the given cell index to ensure it is within range.
+     *
+     * @param index the cell index
+     */
+    private void assertIndex(final int index) {
+        if (index < 0 || index >= this.cells.length) {
+            throw new IllegalArgumentException("Out of bounds grid index: " + index);
+        }
+    }
+
+    /**
+     * Validates the given range of cell indices to ensure it is within range.
+     *
+     * @param fromIndex the first cell index, inclusive
+     * @param toIndex   the last cell index, exclusive
+     */
+    private void assertIndexRange(final int fromIndex, final int toIndex) {
+        if (fromIndex < 0 || fromIndex > toIndex || toIndex > this.cells.length) {
+            throw new IllegalArgumentException("Out of bounds grid index range: " + fromIndex + " to " + toIndex);
+        }
+    }
+
+    /**
+     * Validates the given value to ensure it can be placed.
+     *
+     * @param value the value to place
+     */
+    private static void assertPlaceable(final int value) {
+        if (value == IntegerGrid.EMPTY) {
+            throw new IllegalArgumentException("The empty cell marker cannot be placed as a value!");
+        }
+    }
+
+    /**
+     * Returns the index of the cell at the given row and column, counting from left to right and top to bottom.
+     *
+     * @param row the row (y)
+     * @param col the column (x)
+     * @return the cell index
+     */
+    public final int indexOf(final int row, final int col) {
+        if (row < 0 || row >= this.rows || col < 0 || col >= this.cols) {
+            throw new IllegalArgumentException("Out of bounds grid cell: (" + col + ", " + row + ")");
+        }
+
+        return row * this.cols + col;
+    }
+
+    /**
+     * Returns the index of the cell at the given point.
+     *
+     * @param point the point
+     * @return the cell index
+     */
+    public final int indexOf(final Point point) {
+        this.assertPoint(point);
+        return point.y() * this.cols + point.x();
+    }
+
+    /**
+     * Returns the point of the cell with the given index.
+     *
+     * @param index the cell index
+     * @return the point
+     */
+    public final Point pointOf(final int index) {
+        this.assertIndex(index);
+        return new Point(index % this.cols, index / this.cols);
+    }
+
+    /**
+     * Returns the value placed in the cell with the given index.
+     *
+     * @param index the cell index
+     * @return the value, or {@link #EMPTY} if the cell is empty
+     */
+    public final int getAt(final int index) {
+        this.assertIndex(index);
+        return this.cells[index];
+    }
+
+    /**
+     * Returns the value placed in the cell at the given row and column.
+     *
+     * @param row the row (y)
+     * @param col the column (x)
+     * @return the value, or {@link #EMPTY} if the cell is empty
+     */
+    public final int get(final int row, final int col) {
+        return this.cells[this.indexOf(row, col)];
+    }
+
+    /**
+     * Returns whether the cell with the given index is empty.
+     *
+     * @param index the cell index
+     * @return whether the cell is empty
+     */
+    public final boolean isEmptyAt(final int index) {
+        return this.getAt(index) == IntegerGrid.EMPTY;
+    }
+
     /**
      * Returns whether there is a value placed at the given point.
      *
@@ -87,7 +219,7 @@ public class IntegerGrid extends Observable<IntegerGrid> {
      * @return whether the point is empty
      */
     public final boolean isEmpty(final Point point) {
-        return this.get(point) == null;
+        return this.cells[this.indexOf(point)] == IntegerGrid.EMPTY;
     }
 
     /**
@@ -99,30 +231,41 @@ public class IntegerGrid extends Observable<IntegerGrid> {
      * @return the value at the point
      */
     public final Integer get(final Point point) {
-        this.assertPoint(point);
-        return this.grid[point.y()][point.x()];
+        final int value;
+        value = this.cells[this.indexOf(point)];
+
+        return value == IntegerGrid.EMPTY ? null : value;
     }
 
     /**
-     * Returns the point that holds the given value.
+     * Returns the index of the first cell that holds the given value.
      *
      * @param value the value to find
-     * @return the point, or `null` if no point holds the value
+     * @return the cell index, or {@link #NO_INDEX} if no cell holds the value
      */
-    public final Point find(final int value) {
-        final Iterator<Point> griderator;
-        griderator = this.griderator();
-
-        while (griderator.hasNext()) {
-            final Point point;
-            point = griderator.next();
+    public final int findIndex(final int value) {
+        IntegerGrid.assertPlaceable(value);
 
-            if (this.get(point).equals(value)) {
-                return point;
+        for (int i = 0; i < this.cells.length; i++) {
+            if (this.cells[i] == value) {
+                return i;
             }
         }
 
-        return null;
+        return IntegerGrid.NO_INDEX;
+    }
+
+    /**
+     * Returns the point that holds the given value.
+     *
+     * @param value the value to find
+     * @return the point, or `null` if no point holds the value
+     */
+    public final Point find(final int value) {
+        final int index;
+        index = this.findIndex(value);
+
+        return index == IntegerGrid.NO_INDEX ? null : this.pointOf(index);
     }
 
     /**
@@ -131,19 +274,31 @@ public class IntegerGrid extends Observable<IntegerGrid> {
      * @return whether this grid has at least one empty point
      */
     public final boolean hasEmpty() {
-        final Iterator<Point> griderator;
-        griderator = this.griderator();
+        return this.filledCount < this.cells.length;
+    }
 
-        while (griderator.hasNext()) {
-            final Point point;
-            point = griderator.next();
+    /**
+     * Returns the amount of cells that hold a value.
+     *
+     * @return the filled cell count
+     */
+    public final int getFilledCount() {
+        return this.filledCount;
+    }
+
+    /**
+     * Recounts the cells that hold a value, after any amount of cells have been changed at once.
+     */
+    private void countFilled() {
+        int filled = 0;
 
-            if (this.isEmpty(point)) {
-                return true;
+        for (final int cell : this.cells) {
+            if (cell != IntegerGrid.EMPTY) {
+                filled++;
             }
         }
 
-        return false;
+        this.filledCount = filled;
     }
 
     /**
@@ -197,6 +352,24 @@ public class IntegerGrid extends Observable<IntegerGrid> {
         return this.griderator(Point.zero());
     }
 
+    /**
+     * Returns the index of the nearest cell after the cell with the given index that has a value.
+     *
+     * @param index the cell index to search after
+     * @return the index of the next filled cell, or {@link #NO_INDEX} if there is no such cell
+     */
+    public final int getNextFilledIndex(final int index) {
+        this.assertIndex(index);
+
+        for (int i = index + 1; i < this.cells.length; i++) {
+            if (this.cells[i] != IntegerGrid.EMPTY) {
+                return i;
+            }
+        }
+
+        return IntegerGrid.NO_INDEX;
+    }
+
     /**
      * Returns the nearest point after a given point that has a value.
      *
@@ -204,22 +377,43 @@ public class IntegerGrid extends Observable<IntegerGrid> {
      * @return the point of the next empty neighbour, or null if there is no such neighbour
      */
     public final Point getNextFilled(final Point point) {
-        this.assertPoint(point);
+        final int index;
+        index = this.getNextFilledIndex(this.indexOf(point));
 
-        final Iterator<Point> griderator;
-        griderator = this.griderator(point);
-        griderator.next();
+        return index == IntegerGrid.NO_INDEX ? null : this.pointOf(index);
+    }
 
-        while (griderator.hasNext()) {
-            final Point nextPoint;
-            nextPoint = griderator.next();
+    /**
+     * Places the given value in the cell with the given index.
+     *
+     * @param index the cell index to place at
+     * @param value the value to place
+     */
+    public final void placeAt(final int index, final int value) {
+        this.assertIndex(index);
+        IntegerGrid.assertPlaceable(value);
 
-            if (!this.isEmpty(nextPoint)) {
-                return nextPoint;
-            }
+        final int previous;
+        previous = this.cells[index];
+
+        if (previous == IntegerGrid.EMPTY) {
+            this.filledCount++;
         }
 
-        return null;
+        this.cells[index] = value;
+        this.handleCellChange(index, previous, value);
+        this.announceUpdate(this);
+    }
+
+    /**
+     * Places the given value in the cell at the given row and column.
+     *
+     * @param row   the row (y) to place at
+     * @param col   the column (x) to place at
+     * @param value the value to place
+     */
+    public final void place(final int row, final int col, final int value) {
+        this.placeAt(this.indexOf(row, col), value);
     }
 
     /**
@@ -229,26 +423,82 @@ public class IntegerGrid extends Observable<IntegerGrid> {
      * @param value the value to place
      */
     public final void place(final Point point, final int value) {
-        this.assertPoint(point);
-        this.grid[point.y()][point.x()] = value;
+        this.placeAt(this.indexOf(point), value);
+    }
+
+    /**
+     * Fills the cells within the given range of indices with the given value, announcing a single update.
+     *
+     * @param fromIndex the first cell index, inclusive
+     * @param toIndex   the last cell index, exclusive
+     * @param value     the value to fill with, or {@link #EMPTY} to empty the cells
+     */
+    public final void fill(final int fromIndex, final int toIndex, final int value) {
+        this.assertIndexRange(fromIndex, toIndex);
+
+        Arrays.fill(this.cells, fromIndex, toIndex, value);
+        this.countFilled();
+        this.handleBulkChange();
         this.announceUpdate(this);
     }
 
     /**
-     * Resets all points on the grid.
+     * Copies every cell of this grid into the given array, row by row, with empty cells as {@link #EMPTY}.
+     *
+     * @param destination the array to copy into, holding at least as many values as this grid has cells
      */
-    public final void clear() {
-        final Iterator<Point> griderator;
-        griderator = this.griderator();
+    public final void copyTo(final int[] destination) {
+        if (destination.length < this.cells.length) {
+            throw new IllegalArgumentException(
+                    "Cannot copy " + this.cells.length + " grid cells into an array of " + destination.length + "!");
+        }
 
-        while (griderator.hasNext()) {
-            final Point point = griderator.next();
-            this.grid[point.y()][point.x()] = null;
+        System.arraycopy(this.cells, 0, destination, 0, this.cells.length);
+    }
+
+    /**
+     * Replaces every cell of this grid with the values of the given array, row by row, announcing a single update.
+     *
+     * @param source the values to copy, with {@link #EMPTY} for empty cells, holding exactly as many values as this
+     *               grid has cells
+     */
+    public final void copyFrom(final int[] source) {
+        if (source.length != this.cells.length) {
+            throw new IllegalArgumentException(
+                    "Cannot copy " + source.length + " values into a grid of " + this.cells.length + " cells!");
         }
 
+        System.arraycopy(source, 0, this.cells, 0, this.cells.length);
+        this.countFilled();
+        this.handleBulkChange();
         this.announceUpdate(this);
     }
 
+    /**
+     * Called whenever a single cell has been changed, before observers are notified, so subclasses can keep derived
+     * state up to date incrementally.
+     *
+     * @param index    the index of the changed cell
+     * @param previous the previous value of the cell, or {@link #EMPTY} if it was empty
+     * @param value    the new value of the cell
+     */
+    protected void handleCellChange(final int index, final int previous, final int value) {
+    }
+
+    /**
+     * Called whenever any amount of cells have been changed at once, before observers are notified, so subclasses can
+     * rebuild derived state.
+     */
+    protected void handleBulkChange() {
+    }
+
+    /**
+     * Resets all points on the grid.
+     */
+    public final void clear() {
+        this.fill(0, this.cells.length, IntegerGrid.EMPTY);
+    }
+
     /**
      * Returns the number of rows in this grid.
      *
@@ -267,4 +517,13 @@ public class IntegerGrid extends Observable<IntegerGrid> {
         return this.cols;
     }
 
+    /**
+     * Returns the number of cells in this grid.
+     *
+     * @return the rows times the cols
+     */
+    public final int getSize() {
+        return this.cells.length;
+    }
+
 }
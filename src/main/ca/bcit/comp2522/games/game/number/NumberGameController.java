@@ -2,18 +2,18 @@ package ca.bcit.comp2522.games.game.number;
 
 import ca.bcit.comp2522.games.game.GuiGameController;
 import ca.bcit.comp2522.games.util.Point;
+import javafx.application.Platform;
 import javafx.scene.Parent;
 import javafx.scene.control.Alert;
 import javafx.scene.control.Button;
 import javafx.scene.control.ButtonType;
+import javafx.scene.control.CheckBox;
 import javafx.scene.control.Label;
 import javafx.scene.layout.VBox;
 import javafx.stage.Stage;
 
-import java.util.HashSet;
 import java.util.Optional;
 import java.util.Random;
-import java.util.Set;
 
 /**
  * The controller for the second game, the number placing game.
@@ -23,32 +23,52 @@ import java.util.Set;
  */
 public final class NumberGameController extends GuiGameController {
 
-    private static final int RANDOM_MIN = 1;
-    private static final int RANDOM_MAX = 1000;
+    /**
+     * The description of every variant of the number game.
+     */
+    public static final String DESCRIPTION = "Arrange numbers in a grid in perfect ascending order!";
 
     private final Random rand;
     private final NumberGameStats stats;
-    private final Set<Integer> placedNumbers;
     private final NumberGameGrid grid;
     private final Label statusLabel;
+    private final CheckBox hintToggle;
+    private final GridGambleHintEngine hintEngine;
     private final RenderedIntegerGrid renderedGrid;
 
     private Integer targetNumber;
 
     /**
-     * Creates a new number game controller.
+     * Creates a new number game controller for the default {@value NumberGameGrid#ROWS}x
+     * {@value NumberGameGrid#COLUMNS} grid.
      */
     public NumberGameController() {
-        super("Grid Gamble", "Arrange numbers in a grid in perfect ascending order!");
+        this("Grid Gamble", NumberGameGrid.ROWS, NumberGameGrid.COLUMNS, NumberGameGrid.MIN_VALUE,
+             NumberGameGrid.MAX_VALUE);
+    }
+
+    /**
+     * Creates a new number game controller for a grid of the given size and value range.
+     *
+     * @param name     the name of the game
+     * @param rows     the amount of rows of the grid
+     * @param cols     the amount of columns of the grid
+     * @param minValue the lowest value that can be drawn
+     * @param maxValue the highest value that can be drawn
+     */
+    public NumberGameController(final String name, final int rows, final int cols, final int minValue,
+                                final int maxValue) {
+        super(name, NumberGameController.DESCRIPTION);
 
         final RenderedIntegerGrid renderedGrid;
         renderedGrid = new RenderedIntegerGrid(this::createGridButton);
 
         this.rand = new Random();
         this.stats = new NumberGameStats();
-        this.placedNumbers = new HashSet<>();
-        this.grid = new NumberGameGrid();
+        this.grid = new NumberGameGrid(rows, cols, minValue, maxValue);
         this.statusLabel = this.createStatusLabel();
+        this.hintToggle = this.createHintToggle();
+        this.hintEngine = new GridGambleHintEngine(minValue, maxValue, this.grid.getSize());
         this.renderedGrid = renderedGrid;
 
         this.grid.observe(renderedGrid);
@@ -71,7 +91,6 @@ public final class NumberGameController extends GuiGameController {
             return;
         }
 
-        this.placedNumbers.add(this.targetNumber);
         this.grid.place(point, this.targetNumber);
     }
 
@@ -84,8 +103,55 @@ public final class NumberGameController extends GuiGameController {
         if (!this.grid.canPlaceAscending(this.targetNumber)) {
             this.handleLoss("The next number (" + this.targetNumber + ") cannot be placed.");
         } else {
-            this.statusLabel.setText("Place " + this.targetNumber + " into an empty slot");
+            // Large grids only render part of their cells, so scroll to where the number can go
+            this.renderedGrid.reveal(this.grid.pointOf(this.grid.getFirstLegalIndex(this.targetNumber)));
+            this.showTargetStatus();
+            this.requestHint();
+        }
+    }
+
+    /**
+     * Shows which number should be placed next in the status label.
+     */
+    private void showTargetStatus() {
+        this.statusLabel.setText("Place " + this.targetNumber + " into an empty slot");
+    }
+
+    /**
+     * Requests a hint for the current target number in the background if hints are enabled, and shows it once it is
+     * ready, unless the target number has changed by then.
+     */
+    private void requestHint() {
+        if (this.targetNumber == null || !this.hintToggle.isSelected()) {
+            return;
+        }
+
+        this.hintEngine.requestHint(this.grid, this.targetNumber)
+                .thenAcceptAsync(hint -> hint.ifPresent(this::showHint), Platform::runLater);
+    }
+
+    /**
+     * Shows the given hint in the status label, if it is still for the current target number.
+     *
+     * @param hint the hint to show
+     */
+    private void showHint(final PlacementHint hint) {
+        if (this.targetNumber == null || this.targetNumber != hint.getTarget() || !this.hintToggle.isSelected()) {
+            return;
+        }
+
+        final Point point;
+        point = this.grid.pointOf(hint.getIndex());
+
+        if (hint.isEstimate()) {
+            this.statusLabel.setText(String.format("Place %d into an empty slot (hint: row %d, column %d)",
+                                                   this.targetNumber, point.y() + 1, point.x() + 1));
+            return;
         }
+
+        this.statusLabel.setText(String.format("Place %d into an empty slot (hint: row %d, column %d wins %.4f%% of " +
+                                                       "the time)", this.targetNumber, point.y() + 1, point.x() + 1,
+                                               hint.getWinProbability() * 100));
     }
 
     /**
@@ -176,6 +242,9 @@ public final class NumberGameController extends GuiGameController {
         final Stage alertStage;
         final ButtonType startButton;
 
+        // The hint table is built while the welcome alert is shown, so the first hints rarely have to be estimated
+        this.hintEngine.prepare();
+
         welcomeAlert = new Alert(Alert.AlertType.INFORMATION);
         alertStage = (Stage) welcomeAlert.getDialogPane().getScene().getWindow();
         startButton = new ButtonType("Start Game");
@@ -183,8 +252,8 @@ public final class NumberGameController extends GuiGameController {
         welcomeAlert.setTitle("Welcome to " + this.getName() + "!");
         welcomeAlert.setHeaderText(null);
         welcomeAlert.setContentText(
-                "Welcome to " + this.getName() + ". You must place numbers between " + NumberGameController.RANDOM_MIN +
-                        " and " + NumberGameController.RANDOM_MAX + " into the grid in ascending order to win!");
+                "Welcome to " + this.getName() + ". You must place numbers between " + this.grid.getMinValue() +
+                        " and " + this.grid.getMaxValue() + " into the grid in ascending order to win!");
 
         welcomeAlert.getButtonTypes().clear();
         welcomeAlert.getButtonTypes().setAll(startButton);
@@ -203,6 +272,10 @@ public final class NumberGameController extends GuiGameController {
 
         root.getStyleClass().add("vbox");
         root.getChildren().add(this.statusLabel);
+
+        if (this.hintEngine.isSupported()) {
+            root.getChildren().add(this.hintToggle);
+        }
         root.getChildren().add(this.renderedGrid);
 
         return root;
@@ -212,14 +285,14 @@ public final class NumberGameController extends GuiGameController {
     protected void onFinish() {
         this.resetGameState();
         this.stats.reset();
+        this.hintEngine.close();
     }
 
     /**
-     * Resets the grid and placed numbers.
+     * Resets the grid, which also clears the placed numbers.
      */
     private void resetGameState() {
         this.targetNumber = null;
-        this.placedNumbers.clear();
         this.grid.clear();
     }
 
@@ -229,19 +302,20 @@ public final class NumberGameController extends GuiGameController {
      * @return the next random number
      */
     private int generateNextTarget() {
-        final int possibleNumbers;
-        possibleNumbers = NumberGameController.RANDOM_MAX - NumberGameController.RANDOM_MIN + 1;
+        final long possibleNumbers;
+        possibleNumbers = (long) this.grid.getMaxValue() - this.grid.getMinValue() + 1;
 
-        if (this.placedNumbers.size() > possibleNumbers) {
+        if (this.grid.getFilledCount() >= possibleNumbers) {
             throw new IllegalStateException(
                     "All possible options have been placed, but a next target is being requested.");
         }
 
         int num;
 
+        // Each draw is only rejected with the chance of the share of values already placed
         do {
-            num = this.rand.nextInt(NumberGameController.RANDOM_MIN, NumberGameController.RANDOM_MAX + 1);
-        } while (this.placedNumbers.contains(num));
+            num = (int) this.rand.nextLong(this.grid.getMinValue(), (long) this.grid.getMaxValue() + 1);
+        } while (this.grid.containsValue(num));
 
         return num;
     }
@@ -268,6 +342,30 @@ public final class NumberGameController extends GuiGameController {
         return btn;
     }
 
+    /**
+     * Creates the toggle that enables showing hints for where to place the next number.
+     *
+     * @return the created toggle
+     */
+    private CheckBox createHintToggle() {
+        final CheckBox toggle;
+        toggle = new CheckBox("Show hints");
+
+        toggle.selectedProperty().addListener((_, _, selected) -> {
+            if (this.targetNumber == null) {
+                return;
+            }
+
+            if (selected) {
+                this.requestHint();
+            } else {
+                this.showTargetStatus();
+            }
+        });
+
+        return toggle;
+    }
+
     /**
      * Creates the status label that will display which number should be placed next.
      *
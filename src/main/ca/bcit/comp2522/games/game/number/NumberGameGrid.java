@@ -1,11 +1,15 @@
 package ca.bcit.comp2522.games.game.number;
 
-import ca.bcit.comp2522.games.util.Point;
-
-import java.util.Iterator;
-
 /**
  * Represents the integer grid used within the number game.
+ * <p>
+ * The grid keeps a {@link CellBitSet} of its filled cells, which is updated on every placement without allocating,
+ * along with a count of the neighbouring filled cells that are out of order. Since the values of an ascending grid are
+ * in the same order as their cells, where a value could still be placed is found by a binary search over the cell
+ * indexes, in logarithmic time no matter how large the grid is.
+ * <p>
+ * Besides the default grid, grids of up to {@value NumberGameGrid#MAX_ROWS}x{@value NumberGameGrid#MAX_COLUMNS} cells
+ * with up to {@value NumberGameGrid#MAX_VALUE_COUNT} distinct values can be created, for endurance games.
  *
  * @author Ole Lammers
  * @version 1.0
@@ -14,87 +18,346 @@ public final class NumberGameGrid extends IntegerGrid {
 
     public static final int ROWS = 4;
     public static final int COLUMNS = 5;
+    public static final int MIN_VALUE = 1;
+    public static final int MAX_VALUE = 1000;
+    public static final int MAX_ROWS = 1000;
+    public static final int MAX_COLUMNS = 1000;
+    public static final int MAX_VALUE_COUNT = 1_000_000_000;
+
+    private final int minValue;
+    private final int maxValue;
+    private final CellBitSet filled;
+
+    /**
+     * The amount of filled cells whose value is lower than that of the nearest filled cell before it.
+     */
+    private int descents;
 
     /**
      * Creates a new {@value NumberGameGrid#ROWS}x{@value  NumberGameGrid#COLUMNS} grid for use within the number game.
      */
     public NumberGameGrid() {
-        super(NumberGameGrid.ROWS, NumberGameGrid.COLUMNS);
+        this(NumberGameGrid.ROWS, NumberGameGrid.COLUMNS);
     }
 
     /**
-     * Returns whether a value can be placed into the grid (assuming it's ascending already) while maintaining
-     * ascending order.
+     * Creates a new grid with the specified amount of rows and columns for use within the number game, holding values
+     * from {@value NumberGameGrid#MIN_VALUE} to {@value NumberGameGrid#MAX_VALUE}.
      *
-     * @param valueToPlace the value that should be placed
-     * @return whether the value can be placed
+     * @param rows the amount of rows (y)
+     * @param cols the amount of columns (x)
      */
-    public boolean canPlaceAscending(final int valueToPlace) {
-        final Iterator<Point> iter;
-        iter = this.griderator();
+    public NumberGameGrid(final int rows, final int cols) {
+        this(rows, cols, NumberGameGrid.MIN_VALUE, NumberGameGrid.MAX_VALUE);
+    }
+
+    /**
+     * Creates a new grid with the specified amount of rows and columns for use within the number game, holding values
+     * within the specified range.
+     *
+     * @param rows     the amount of rows (y), up to {@value NumberGameGrid#MAX_ROWS}
+     * @param cols     the amount of columns (x), up to {@value NumberGameGrid#MAX_COLUMNS}
+     * @param minValue the lowest value, inclusive
+     * @param maxValue the highest value, inclusive
+     */
+    public NumberGameGrid(final int rows, final int cols, final int minValue, final int maxValue) {
+        // Validated within the call, so an oversized grid is rejected before any of its cells are allocated
+        super(NumberGameGrid.validateConfiguration(rows, cols, minValue, maxValue), cols);
+
+        this.minValue = minValue;
+        this.maxValue = maxValue;
+        this.filled = new CellBitSet(this.getSize());
+    }
 
-        while (iter.hasNext()) {
-            final Point currentPoint;
-            final Integer currentValue;
+    /**
+     * Validates the given grid configuration to ensure it is within the limits of the number game.
+     *
+     * @param rows     the amount of rows
+     * @param cols     the amount of columns
+     * @param minValue the lowest value
+     * @param maxValue the highest value
+     * @return the amount of rows, unchanged
+     */
+    private static int validateConfiguration(final int rows, final int cols, final int minValue,
+                                              final int maxValue) {
+        final long valueCount;
+        valueCount = (long) maxValue - minValue + 1;
 
-            currentPoint = iter.next();
-            currentValue = this.get(currentPoint);
+        if (rows > NumberGameGrid.MAX_ROWS || cols > NumberGameGrid.MAX_COLUMNS) {
+            throw new IllegalArgumentException(
+                    "A number game grid can have at most " + NumberGameGrid.MAX_ROWS + "x" +
+                            NumberGameGrid.MAX_COLUMNS + " cells, got " + rows + "x" + cols + ".");
+        }
 
-            if (currentValue != null) {
-                // We found a bigger value already, we can short circuit
-                // This is only possible because we are assuming it is already ascending
-                if (currentValue > valueToPlace) {
-                    return false;
-                }
+        if (minValue == IntegerGrid.EMPTY || valueCount > NumberGameGrid.MAX_VALUE_COUNT) {
+            throw new IllegalArgumentException(
+                    "A number game grid can hold at most " + NumberGameGrid.MAX_VALUE_COUNT +
+                            " values above " + IntegerGrid.EMPTY + ", got " + minValue + " to " + maxValue + ".");
+        }
 
-                // Move on to find the next empty spot
-                continue;
+        // Every cell must be able to hold a different value
+        if (valueCount < (long) rows * cols) {
+            throw new IllegalArgumentException(
+                    "A number game grid of " + rows + "x" + cols + " needs at least as many values as cells, got " +
+                            minValue + " to " + maxValue + ".");
+        }
+
+        return rows;
+    }
+
+    /**
+     * Returns whether the given value is lower than the value of the filled cell before it.
+     *
+     * @param before the index of the filled cell before, or {@link IntegerGrid#NO_INDEX} if there is none
+     * @param value  the value
+     * @return whether the pair is out of order
+     */
+    private boolean isDescent(final int before, final int value) {
+        return before != IntegerGrid.NO_INDEX && value < this.getAt(before);
+    }
+
+    /**
+     * Returns whether the value of the given filled cell is lower than the given value before it.
+     *
+     * @param value the value
+     * @param after the index of the filled cell after, or {@link IntegerGrid#NO_INDEX} if there is none
+     * @return whether the pair is out of order
+     */
+    private boolean isDescentTo(final int value, final int after) {
+        return after != IntegerGrid.NO_INDEX && this.getAt(after) < value;
+    }
+
+    /**
+     * Returns whether the given neighbouring filled cells are out of order.
+     *
+     * @param before the index of the filled cell before, or {@link IntegerGrid#NO_INDEX} if there is none
+     * @param after  the index of the filled cell after, or {@link IntegerGrid#NO_INDEX} if there is none
+     * @return whether the pair is out of order
+     */
+    private boolean isDescentBetween(final int before, final int after) {
+        return before != IntegerGrid.NO_INDEX && this.isDescentTo(this.getAt(before), after);
+    }
+
+    @Override
+    protected void handleCellChange(final int index, final int previous, final int value) {
+        final int before;
+        final int after;
+
+        before = this.filled.previous(index);
+        after = this.filled.next(index);
+
+        if (previous != IntegerGrid.EMPTY) {
+            if (this.isDescent(before, previous)) {
+                this.descents--;
+            }
+
+            if (this.isDescentTo(previous, after)) {
+                this.descents--;
             }
+        } else if (this.isDescentBetween(before, after)) {
+            // The new cell splits the pair of its neighbours
+            this.descents--;
+        }
 
-            // We have an empty spot, so if there is a valid right neighbour, we can place here
+        if (value != IntegerGrid.EMPTY) {
+            if (this.isDescent(before, value)) {
+                this.descents++;
+            }
 
-            final Point nextFilled;
-            nextFilled = this.getNextFilled(currentPoint);
+            if (this.isDescentTo(value, after)) {
+                this.descents++;
+            }
 
-            if (nextFilled == null || this.get(nextFilled) > valueToPlace) {
-                return true;
+            this.filled.set(index);
+        } else {
+            // The neighbours of the removed cell become a pair
+            if (this.isDescentBetween(before, after)) {
+                this.descents++;
             }
+
+            this.filled.clear(index);
         }
+    }
+
+    @Override
+    protected void handleBulkChange() {
+        int last = IntegerGrid.NO_INDEX;
+
+        this.filled.clearAll();
+        this.descents = 0;
+
+        // A cleared grid has nothing left to index
+        if (this.getFilledCount() == 0) {
+            return;
+        }
+
+        for (int index = 0; index < this.getSize(); index++) {
+            if (this.isEmptyAt(index)) {
+                continue;
+            }
 
-        return false;
+            if (this.isDescent(last, this.getAt(index))) {
+                this.descents++;
+            }
+
+            this.filled.set(index);
+            last = index;
+        }
     }
 
     /**
-     * Determines whether the grid contains number only in ascending order.
+     * Returns the index right after the last filled cell with a value of at most the given value (assuming the grid is
+     * ascending already), so every filled cell before it holds a value of at most the given value, and every filled
+     * cell from it on a value above it.
      * <p>
-     * The order is read from left to right and top to bottom, with empty points being ignored.
+     * Since the values of an ascending grid are in the same order as their cells, this is a binary search over the
+     * cell indexes, which only ever looks at the nearest filled cell.
      *
-     * @return whether the current state of the grid is ascending
+     * @param value the value
+     * @return the boundary index, from 0 to the size of the grid
      */
-    public boolean isAscending() {
-        final Iterator<Point> griderator;
-        griderator = this.griderator();
+    private int getBoundaryIndex(final int value) {
+        int low = 0;
+        int high = this.getSize();
 
-        int last = Integer.MIN_VALUE;
-        while (griderator.hasNext()) {
-            final Point point;
-            final Integer valueAtPoint;
+        while (low < high) {
+            final int middle;
+            final int filledIndex;
 
-            point = griderator.next();
-            valueAtPoint = this.get(point);
+            middle = (low + high) >>> 1;
+            filledIndex = this.filled.next(middle - 1);
 
-            if (valueAtPoint == null) {
-                continue;
+            if (filledIndex == IntegerGrid.NO_INDEX || filledIndex >= high) {
+                high = middle;
+            } else if (this.getAt(filledIndex) <= value) {
+                low = filledIndex + 1;
+            } else {
+                high = filledIndex;
             }
+        }
 
-            if (valueAtPoint < last) {
-                return false;
-            }
+        return low;
+    }
 
-            last = valueAtPoint;
-        }
+    /**
+     * Returns the first cell index a value could be placed at (assuming the grid is ascending already) while
+     * maintaining ascending order, which is right after the last filled cell with a value of at most the given value.
+     *
+     * @param valueToPlace the value that should be placed
+     * @return the first legal cell index, or {@link IntegerGrid#NO_INDEX} if there is no legal cell
+     */
+    public int getFirstLegalIndex(final int valueToPlace) {
+        final int boundary;
+        final int first;
+
+        boundary = this.getBoundaryIndex(valueToPlace);
+        first = this.filled.previous(boundary) + 1;
+
+        return first <= this.getLastCandidateIndex(boundary) ? first : IntegerGrid.NO_INDEX;
+    }
+
+    /**
+     * Returns the last cell index a value could be placed at (assuming the grid is ascending already) while
+     * maintaining ascending order, which is right before the first filled cell with a value above the given value.
+     *
+     * @param valueToPlace the value that should be placed
+     * @return the last legal cell index, or {@link IntegerGrid#NO_INDEX} if there is no legal cell
+     */
+    public int getLastLegalIndex(final int valueToPlace) {
+        final int boundary;
+        final int last;
+
+        boundary = this.getBoundaryIndex(valueToPlace);
+        last = this.getLastCandidateIndex(boundary);
 
-        return true;
+        return this.filled.previous(boundary) + 1 <= last ? last : IntegerGrid.NO_INDEX;
+    }
+
+    /**
+     * Returns the cell index right before the first filled cell at or after the given boundary index, which is the
+     * first filled cell with a value above the value the boundary was found for.
+     *
+     * @param boundary the boundary index
+     * @return the cell index, which is -1 if the very first cell is such a filled cell
+     */
+    private int getLastCandidateIndex(final int boundary) {
+        final int higher;
+        higher = this.filled.next(boundary - 1);
+
+        return higher == IntegerGrid.NO_INDEX ? this.getSize() - 1 : higher - 1;
+    }
+
+    /**
+     * Returns whether a value can be placed into the grid (assuming it's ascending already) while maintaining
+     * ascending order.
+     * <p>
+     * In an ascending grid, every cell between the last filled cell with a value of at most the given value and the
+     * first filled cell with a value above it is empty, so there is a legal cell if and only if these are not
+     * direct neighbours.
+     *
+     * @param valueToPlace the value that should be placed
+     * @return whether the value can be placed
+     */
+    public boolean canPlaceAscending(final int valueToPlace) {
+        return this.getFirstLegalIndex(valueToPlace) != IntegerGrid.NO_INDEX;
+    }
+
+    /**
+     * Returns whether a value can be placed at the given cell index (assuming the grid is ascending already) while
+     * maintaining ascending order.
+     *
+     * @param index        the cell index to place at
+     * @param valueToPlace the value that should be placed
+     * @return whether the value can be placed at the cell
+     */
+    public boolean canPlaceAscendingAt(final int index, final int valueToPlace) {
+        final int boundary;
+        boundary = this.getBoundaryIndex(valueToPlace);
+
+        return this.isEmptyAt(index) && this.filled.previous(boundary) < index &&
+                index <= this.getLastCandidateIndex(boundary);
+    }
+
+    /**
+     * Returns whether any cell holds the given value (assuming the grid is ascending already).
+     *
+     * @param value the value to look for
+     * @return whether the value has been placed
+     */
+    public boolean containsValue(final int value) {
+        final int lower;
+        lower = this.filled.previous(this.getBoundaryIndex(value));
+
+        return lower != IntegerGrid.NO_INDEX && this.getAt(lower) == value;
+    }
+
+    /**
+     * Returns the lowest value of this grid.
+     *
+     * @return the lowest value, inclusive
+     */
+    public int getMinValue() {
+        return this.minValue;
+    }
+
+    /**
+     * Returns the highest value of this grid.
+     *
+     * @return the highest value, inclusive
+     */
+    public int getMaxValue() {
+        return this.maxValue;
+    }
+
+    /**
+     * Determines whether the grid contains number only in ascending order.
+     * <p>
+     * The order is read from left to right and top to bottom, with empty points being ignored.
+     *
+     * @return whether the current state of the grid is ascending
+     */
+    public boolean isAscending() {
+        return this.descents == 0;
     }
 
 }
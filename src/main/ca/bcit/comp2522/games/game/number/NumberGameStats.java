@@ -12,9 +12,10 @@ import java.text.DecimalFormat;
  */
 public final class NumberGameStats {
 
-    private int wins;
-    private int losses;
-    private int placements;
+    // Long counters, since a single simulation can run more placements than an int can count
+    private long wins;
+    private long losses;
+    private long placements;
 
     /**
      * Increments the wins counter by one.
@@ -37,6 +38,17 @@ public final class NumberGameStats {
         this.placements++;
     }
 
+    /**
+     * Adds the stats tracked by the given tracker to this tracker.
+     *
+     * @param stats the stats to add
+     */
+    public void add(final NumberGameStats stats) {
+        this.wins += stats.wins;
+        this.losses += stats.losses;
+        this.placements += stats.placements;
+    }
+
     /**
      * Resets all tracked stats.
      */
@@ -46,12 +58,39 @@ public final class NumberGameStats {
         this.placements = 0;
     }
 
+    /**
+     * Returns the amount of games won.
+     *
+     * @return the wins
+     */
+    public long getWins() {
+        return this.wins;
+    }
+
+    /**
+     * Returns the amount of games lost.
+     *
+     * @return the losses
+     */
+    public long getLosses() {
+        return this.losses;
+    }
+
+    /**
+     * Returns the amount of successful placements that did not end a game.
+     *
+     * @return the placements
+     */
+    public long getPlacements() {
+        return this.placements;
+    }
+
     /**
      * Returns the total amount of games played.
      *
      * @return the total games
      */
-    private int getTotalGames() {
+    public long getTotalGames() {
         return this.wins + this.losses;
     }
 
@@ -60,8 +99,8 @@ public final class NumberGameStats {
      *
      * @return the average successful placements per game
      */
-    private double getAveragePlacements() {
-        final int totalGames;
+    public double getAveragePlacements() {
+        final long totalGames;
         totalGames = this.getTotalGames();
 
         if (totalGames == 0) {
@@ -75,7 +114,7 @@ public final class NumberGameStats {
     public String toString() {
         final DecimalFormat avgFmt;
         final StringBuilder sb;
-        final int totalGames;
+        final long totalGames;
         final double averagePlacements;
 
         avgFmt = new DecimalFormat("#.##");
@@ -0,0 +1,95 @@
+package ca.bcit.comp2522.games.game.number;
+
+/**
+ * Represents the best cell to place a drawn target into, along with the chance of winning after placing it there.
+ * <p>
+ * An estimated hint only suggests a cell by where the target falls within the values that fit there, for when the
+ * exact chances of winning are not known yet, and has no chance of winning.
+ *
+ * @author Ole Lammers
+ * @version 1.0
+ */
+public final class PlacementHint {
+
+    private final int target;
+    private final int index;
+    private final double winProbability;
+    private final boolean estimate;
+
+    /**
+     * Creates a new placement hint.
+     *
+     * @param target         the drawn target the hint is for
+     * @param index          the index of the best cell
+     * @param winProbability the chance of winning after placing the target into the cell, from 0 to 1
+     */
+    public PlacementHint(final int target, final int index, final double winProbability) {
+        this(target, index, winProbability, false);
+    }
+
+    /**
+     * Creates a new estimated placement hint, without a chance of winning.
+     *
+     * @param target the drawn target the hint is for
+     * @param index  the index of the estimated cell
+     */
+    public PlacementHint(final int target, final int index) {
+        this(target, index, Double.NaN, true);
+    }
+
+    /**
+     * Creates a new placement hint.
+     *
+     * @param target         the drawn target the hint is for
+     * @param index          the index of the suggested cell
+     * @param winProbability the chance of winning after placing the target into the cell
+     * @param estimate       whether the cell is only an estimate
+     */
+    private PlacementHint(final int target, final int index, final double winProbability, final boolean estimate) {
+        if (index < 0) {
+            throw new IllegalArgumentException("A placement hint requires a cell index, got " + index + ".");
+        }
+
+        this.target = target;
+        this.index = index;
+        this.winProbability = winProbability;
+        this.estimate = estimate;
+    }
+
+    /**
+     * Returns the drawn target this hint is for.
+     *
+     * @return the target
+     */
+    public int getTarget() {
+        return this.target;
+    }
+
+    /**
+     * Returns the index of the best cell to place the target into.
+     *
+     * @return the cell index
+     */
+    public int getIndex() {
+        return this.index;
+    }
+
+    /**
+     * Returns the chance of winning after placing the target into the best cell.
+     *
+     * @return the chance of winning, from 0 to 1, or NaN if this hint is an estimate
+     */
+    public double getWinProbability() {
+        return this.winProbability;
+    }
+
+    /**
+     * Returns whether this hint is only an estimate, without a chance of winning.
+     *
+     * @return whether this hint is an estimate
+     */
+    public boolean isEstimate() {
+        return this.estimate;
+    }
+
+}
@@ -0,0 +1,25 @@
+package ca.bcit.comp2522.games.game.number;
+
+import java.util.SplittableRandom;
+
+/**
+ * Represents a way of choosing where to place each drawn target in the number game, such as a simulated player.
+ *
+ * @author Ole Lammers
+ * @version 1.0
+ */
+public interface PlacementStrategy {
+
+    /**
+     * Returns the cell to place the given drawn target into. The target can always be placed in order when this is
+     * called, and every cell from {@link NumberGameGrid#getFirstLegalIndex(int)} to
+     * {@link NumberGameGrid#getLastLegalIndex(int)} is empty.
+     *
+     * @param grid   the grid to place into
+     * @param target the drawn target
+     * @param random the random source of the current game, for strategies that choose randomly
+     * @return the index of the empty cell to place into
+     */
+    int choosePlacement(NumberGameGrid grid, int target, SplittableRandom random);
+
+}
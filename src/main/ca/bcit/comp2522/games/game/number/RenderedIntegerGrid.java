@@ -3,55 +3,195 @@ package ca.bcit.comp2522.games.game.number;
 import ca.bcit.comp2522.games.util.Observer;
 import ca.bcit.comp2522.games.util.Point;
 import javafx.scene.Node;
+import javafx.scene.input.ScrollEvent;
 import javafx.scene.layout.ColumnConstraints;
 import javafx.scene.layout.GridPane;
 import javafx.scene.layout.Priority;
 import javafx.scene.layout.RowConstraints;
 import javafx.scene.layout.VBox;
 
-import java.util.Iterator;
 import java.util.function.BiFunction;
 
 /**
  * A pane that renders an integer grid reactively with the given node provider for each point in the grid.
+ * <p>
+ * Only a viewport of at most a fixed amount of rows and columns is rendered, so the amount of nodes stays the same no
+ * matter how large the grid is. Grids larger than the viewport are scrolled through with the mouse wheel, vertically,
+ * or horizontally while shift is held.
  *
  * @author Ole Lammers
  * @version 1.0
  */
 public final class RenderedIntegerGrid extends GridPane implements Observer<IntegerGrid> {
 
+    private static final int DEFAULT_VIEWPORT_SIZE = 10;
+
     private final BiFunction<Point, Integer, Node> nodeProvider;
+    private final int viewportRows;
+    private final int viewportCols;
 
     /**
-     * Creates a new rendered grid.
+     * The grid that was rendered last, or null if nothing has been rendered yet.
+     */
+    private IntegerGrid grid;
+
+    private int firstRow;
+    private int firstCol;
+
+    /**
+     * Creates a new rendered grid with a viewport of {@value RenderedIntegerGrid#DEFAULT_VIEWPORT_SIZE}x
+     * {@value RenderedIntegerGrid#DEFAULT_VIEWPORT_SIZE} points.
      *
      * @param nodeProvider the node provider for each of the points in the grid, is provided with the point in the
      *                     grid and the value of the point
      */
     public RenderedIntegerGrid(final BiFunction<Point, Integer, Node> nodeProvider) {
+        this(nodeProvider, RenderedIntegerGrid.DEFAULT_VIEWPORT_SIZE, RenderedIntegerGrid.DEFAULT_VIEWPORT_SIZE);
+    }
+
+    /**
+     * Creates a new rendered grid.
+     *
+     * @param nodeProvider the node provider for each of the points in the grid, is provided with the point in the
+     *                     grid and the value of the point
+     * @param viewportRows the most rows that are rendered at once
+     * @param viewportCols the most columns that are rendered at once
+     */
+    public RenderedIntegerGrid(final BiFunction<Point, Integer, Node> nodeProvider, final int viewportRows,
+                               final int viewportCols) {
+        if (viewportRows <= 0 || viewportCols <= 0) {
+            throw new IllegalArgumentException("The viewport rows and columns must both be > 0!");
+        }
+
         this.nodeProvider = nodeProvider;
+        this.viewportRows = viewportRows;
+        this.viewportCols = viewportCols;
         this.getStyleClass().add("grid");
+        this.setOnScroll(this::handleScroll);
 
         VBox.setVgrow(this, Priority.ALWAYS);
     }
 
     /**
-     * Re-renders the pane with all the nodes generated from a grid.
+     * Re-renders the pane with the nodes generated from the points of a grid within the viewport.
      *
      * @param grid the grid to render from
      */
     public void renderFrom(final IntegerGrid grid) {
+        this.grid = grid;
+        this.firstRow = RenderedIntegerGrid.clampFirst(this.firstRow, grid.getRows(), this.viewportRows);
+        this.firstCol = RenderedIntegerGrid.clampFirst(this.firstCol, grid.getCols(), this.viewportCols);
+
         this.applyConstraints(grid);
         this.populate(grid);
     }
 
     /**
-     * Applies the row and columns constraints to evenly space nodes.
+     * Clamps the first visible row or column so the viewport stays within the grid.
+     *
+     * @param first         the desired first visible row or column
+     * @param gridDimension the amount of rows or columns of the grid
+     * @param viewportSize  the most rows or columns that are rendered at once
+     * @return the clamped first visible row or column
+     */
+    private static int clampFirst(final int first, final int gridDimension, final int viewportSize) {
+        return Math.max(0, Math.min(first, gridDimension - viewportSize));
+    }
+
+    /**
+     * Returns the first visible row or column that shows the given one while moving the viewport as little as
+     * possible.
+     *
+     * @param first        the current first visible row or column
+     * @param target       the row or column that should be visible
+     * @param viewportSize the most rows or columns that are rendered at once
+     * @return the first visible row or column
+     */
+    private static int firstShowing(final int first, final int target, final int viewportSize) {
+        if (target < first) {
+            return target;
+        }
+
+        if (target >= first + viewportSize) {
+            return target - viewportSize + 1;
+        }
+
+        return first;
+    }
+
+    /**
+     * Moves the viewport by the given amount of rows and columns, and re-renders the last rendered grid. If nothing
+     * has been rendered yet, this will do nothing.
+     *
+     * @param rows the amount of rows to move down, or up if negative
+     * @param cols the amount of columns to move right, or left if negative
+     */
+    public void scrollBy(final int rows, final int cols) {
+        if (this.grid == null) {
+            return;
+        }
+
+        this.firstRow += rows;
+        this.firstCol += cols;
+        this.renderFrom(this.grid);
+    }
+
+    /**
+     * Moves the viewport as little as possible to show the given point of the last rendered grid, and re-renders the
+     * grid if the viewport moved. If nothing has been rendered yet, this will do nothing.
+     *
+     * @param point the point to show
+     */
+    public void reveal(final Point point) {
+        if (this.grid == null) {
+            return;
+        }
+
+        final int row;
+        final int col;
+
+        row = RenderedIntegerGrid.firstShowing(this.firstRow, point.y(), this.viewportRows);
+        col = RenderedIntegerGrid.firstShowing(this.firstCol, point.x(), this.viewportCols);
+
+        if (row != this.firstRow || col != this.firstCol) {
+            this.scrollBy(row - this.firstRow, col - this.firstCol);
+        }
+    }
+
+    /**
+     * Moves the viewport by one row or column per scroll event, in the direction that was scrolled.
+     *
+     * @param event the scroll event
+     */
+    private void handleScroll(final ScrollEvent event) {
+        final int rows;
+        final int cols;
+
+        // Scrolling down gives a negative delta, which moves the viewport towards higher rows and columns
+        if (event.isShiftDown()) {
+            rows = 0;
+            cols = (int) -Math.signum(event.getDeltaX() + event.getDeltaY());
+        } else {
+            rows = (int) -Math.signum(event.getDeltaY());
+            cols = (int) -Math.signum(event.getDeltaX());
+        }
+
+        this.scrollBy(rows, cols);
+        event.consume();
+    }
+
+    /**
+     * Applies the row and columns constraints to evenly space the nodes within the viewport.
      *
      * @param grid the grid that is being constrained for
      */
     private void applyConstraints(final IntegerGrid grid) {
         final double fullPerc = 100.0;
+        final int visibleRows;
+        final int visibleCols;
+
+        visibleRows = Math.min(grid.getRows(), this.viewportRows);
+        visibleCols = Math.min(grid.getCols(), this.viewportCols);
 
         this.getRowConstraints().clear();
         this.getColumnConstraints().clear();
@@ -63,41 +203,46 @@ public final class RenderedIntegerGrid extends GridPane implements Observer<Inte
         colConst = new ColumnConstraints();
 
         rowConst.setVgrow(Priority.ALWAYS);
-        rowConst.setPercentHeight(fullPerc / grid.getRows());
+        rowConst.setPercentHeight(fullPerc / visibleRows);
 
         colConst.setHgrow(Priority.ALWAYS);
-        colConst.setPercentWidth(fullPerc / grid.getCols());
+        colConst.setPercentWidth(fullPerc / visibleCols);
 
-        for (int i = 0; i < grid.getRows(); i++) {
+        for (int i = 0; i < visibleRows; i++) {
             this.getRowConstraints().add(rowConst);
         }
 
-        for (int i = 0; i < grid.getCols(); i++) {
+        for (int i = 0; i < visibleCols; i++) {
             this.getColumnConstraints().add(colConst);
         }
     }
 
     /**
-     * Creates nodes for all the points in a grid and adds them to the list of children.
+     * Creates nodes for the points of a grid within the viewport and adds them to the list of children.
      *
      * @param grid the grid to populate from
      */
     private void populate(final IntegerGrid grid) {
         this.getChildren().clear();
 
-        final Iterator<Point> griderator;
-        griderator = grid.griderator();
+        final int lastRow;
+        final int lastCol;
+
+        lastRow = Math.min(grid.getRows(), this.firstRow + this.viewportRows);
+        lastCol = Math.min(grid.getCols(), this.firstCol + this.viewportCols);
 
-        while (griderator.hasNext()) {
-            final Point point;
-            final Integer value;
-            final Node node;
+        for (int row = this.firstRow; row < lastRow; row++) {
+            for (int col = this.firstCol; col < lastCol; col++) {
+                final int cell;
+                final Integer value;
+                final Node node;
 
-            point = griderator.next();
-            value = grid.get(point);
-            node = this.nodeProvider.apply(point, value);
+                cell = grid.get(row, col);
+                value = cell == IntegerGrid.EMPTY ? null : cell;
+                node = this.nodeProvider.apply(new Point(col, row), value);
 
-            this.add(node, point.x(), point.y());
+                this.add(node, col - this.firstCol, row - this.firstRow);
+            }
         }
     }
 
@@ -0,0 +1,299 @@
+package ca.bcit.comp2522.games.game.number.sim;
+
+import ca.bcit.comp2522.games.game.number.NumberGameGrid;
+import ca.bcit.comp2522.games.game.number.NumberGameStats;
+import ca.bcit.comp2522.games.game.number.PlacementStrategy;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Supplier;
+
+/**
+ * Plays headless number games with a placement strategy across every core, to tune the difficulty of the game and to
+ * benchmark the grid.
+ * <p>
+ * The games are split in half recursively on a fork-join pool of its own, each half with its own random source split
+ * off from its parent, so the results only depend on the seed and not on how the work was scheduled. Each worker thread
+ * keeps its own strategy, so strategies with expensive state, such as a solver table, are only set up once per thread
+ * and run. The pool is shut down once the games have been played, so no strategy outlives the run.
+ * <p>
+ * Each game follows the rules of the GUI game: targets are drawn uniformly from the values that have not been placed
+ * yet, a game is lost as soon as a target cannot be placed in order, and it is won once the grid is full. Value ranges
+ * up to {@value NumberGameSimulator#MAX_SHUFFLED_VALUES} values are drawn by shuffling an array of every value, while
+ * larger ranges are drawn by redrawing values that have already been placed, so no memory is spent on the range.
+ *
+ * @author Ole Lammers
+ * @version 1.0
+ */
+public final class NumberGameSimulator {
+
+    private static final int DEFAULT_GAMES = 1_000_000;
+    private static final long DEFAULT_SEED = 2522;
+
+    /**
+     * The amount of games below which a task plays its games itself instead of splitting them.
+     */
+    private static final int GAMES_PER_TASK = 2048;
+
+    /**
+     * The most values a value range may hold to be drawn from a shuffled array of every value.
+     */
+    private static final int MAX_SHUFFLED_VALUES = 1 << 20;
+
+    private final int rows;
+    private final int cols;
+    private final int minValue;
+    private final int maxValue;
+    private final ThreadLocal<PlacementStrategy> strategies;
+
+    /**
+     * Creates a new simulator.
+     *
+     * @param rows            the amount of rows of the grid
+     * @param cols            the amount of columns of the grid
+     * @param minValue        the lowest value that can be drawn
+     * @param maxValue        the highest value that can be drawn
+     * @param strategyFactory creates the strategy used by each worker thread
+     */
+    public NumberGameSimulator(final int rows, final int cols, final int minValue, final int maxValue,
+                               final Supplier<PlacementStrategy> strategyFactory) {
+        if (strategyFactory == null) {
+            throw new IllegalArgumentException("A simulator requires a strategy factory.");
+        }
+
+        if (minValue > maxValue || (long) maxValue - minValue + 1 < (long) rows * cols) {
+            throw new IllegalArgumentException(
+                    "The value range " + minValue + " to " + maxValue + " cannot fill a " + rows + "x" + cols +
+                            " grid.");
+        }
+
+        this.rows = rows;
+        this.cols = cols;
+        this.minValue = minValue;
+        this.maxValue = maxValue;
+        this.strategies = ThreadLocal.withInitial(strategyFactory);
+    }
+
+    /**
+     * Simulates games with the strategy given as the first argument, "proportional", "random" or "solver", and prints
+     * the report.
+     *
+     * @param args the strategy, followed by the optional amount of games to simulate and the seed
+     */
+    public static void main(final String[] args) {
+        final String strategyName;
+        final int games;
+        final long seed;
+        final Supplier<PlacementStrategy> strategyFactory;
+        final NumberGameSimulator simulator;
+
+        strategyName = args.length > 0 ? args[0] : "proportional";
+        games = args.length > 1 ? Integer.parseInt(args[1]) : NumberGameSimulator.DEFAULT_GAMES;
+        seed = args.length > 2 ? Long.parseLong(args[2]) : NumberGameSimulator.DEFAULT_SEED;
+
+        strategyFactory = switch (strategyName) {
+            case "proportional" -> () -> new ProportionalPlacementStrategy(NumberGameGrid.MIN_VALUE,
+                                                                           NumberGameGrid.MAX_VALUE);
+            case "random" -> RandomPlacementStrategy::new;
+            case "solver" -> () -> new SolverPlacementStrategy(NumberGameGrid.MIN_VALUE, NumberGameGrid.MAX_VALUE);
+            default -> throw new IllegalArgumentException("Unknown placement strategy: " + strategyName);
+        };
+
+        simulator = new NumberGameSimulator(NumberGameGrid.ROWS, NumberGameGrid.COLUMNS, NumberGameGrid.MIN_VALUE,
+                                            NumberGameGrid.MAX_VALUE, strategyFactory);
+
+        System.out.println(simulator.run(games, seed).toReport());
+    }
+
+    /**
+     * Simulates the given amount of games on a new fork-join pool with a worker thread for every core.
+     *
+     * @param games the amount of games to simulate
+     * @param seed  the seed of the random source every game is drawn from
+     * @return the simulation report
+     */
+    public NumberSimulationReport run(final int games, final long seed) {
+        if (games < 1) {
+            throw new IllegalArgumentException("At least one game must be simulated, got " + games + ".");
+        }
+
+        final long startNanos;
+        final NumberGameStats stats;
+
+        startNanos = System.nanoTime();
+
+        try (ForkJoinPool pool = new ForkJoinPool()) {
+            stats = pool.invoke(new SimulationTask(this, games, new SplittableRandom(seed)));
+        } finally {
+            // The calling thread may have played some of the games itself, while waiting for the pool
+            this.strategies.remove();
+        }
+
+        return new NumberSimulationReport(stats, System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Simulates the given amount of games on the current thread, with its strategy.
+     *
+     * @param games  the amount of games to simulate
+     * @param random the random source to draw from
+     * @return the stats of the simulated games
+     */
+    private NumberGameStats simulate(final int games, final SplittableRandom random) {
+        final PlacementStrategy strategy;
+        final NumberGameGrid grid;
+        final NumberGameStats stats;
+        final int[] draws;
+
+        strategy = this.strategies.get();
+        grid = new NumberGameGrid(this.rows, this.cols, this.minValue, this.maxValue);
+        stats = new NumberGameStats();
+
+        if ((long) this.maxValue - this.minValue + 1 > NumberGameSimulator.MAX_SHUFFLED_VALUES) {
+            draws = null;
+        } else {
+            draws = new int[this.maxValue - this.minValue + 1];
+        }
+
+        for (int i = 0; draws != null && i < draws.length; i++) {
+            draws[i] = this.minValue + i;
+        }
+
+        for (int game = 0; game < games; game++) {
+            this.playGame(grid, strategy, random, draws, stats);
+        }
+
+        return stats;
+    }
+
+    /**
+     * Plays a single game, recording its result and placements the same way the GUI game does.
+     *
+     * @param grid     the grid to play on, which is cleared first
+     * @param strategy the strategy to place with
+     * @param random   the random source to draw from
+     * @param draws    every value of the value range in any order, which is shuffled as far as it is drawn from, or
+     *                 null to redraw placed values instead
+     * @param stats    the stats to record to
+     */
+    private void playGame(final NumberGameGrid grid, final PlacementStrategy strategy, final SplittableRandom random,
+                          final int[] draws, final NumberGameStats stats) {
+        grid.clear();
+
+        for (int placed = 0; placed < grid.getSize(); placed++) {
+            final int target;
+
+            if (draws == null) {
+                target = this.drawUnplaced(grid, random);
+            } else {
+                target = NumberGameSimulator.drawShuffled(draws, placed, random);
+            }
+
+            if (!grid.canPlaceAscending(target)) {
+                stats.recordLoss();
+                return;
+            }
+
+            grid.placeAt(strategy.choosePlacement(grid, target, random), target);
+
+            if (!grid.isAscending()) {
+                stats.recordLoss();
+                return;
+            }
+
+            // The placement that fills the grid counts as the win instead
+            if (placed < grid.getSize() - 1) {
+                stats.recordPlacement();
+            }
+        }
+
+        stats.recordWin();
+    }
+
+    /**
+     * Draws a value that has not been placed yet from the given array, which only needs the drawn prefix to be
+     * shuffled.
+     *
+     * @param draws  every value of the value range, with the values drawn so far at the front
+     * @param placed the amount of values drawn so far
+     * @param random the random source to draw from
+     * @return the drawn value
+     */
+    private static int drawShuffled(final int[] draws, final int placed, final SplittableRandom random) {
+        final int drawn;
+        final int target;
+
+        drawn = random.nextInt(placed, draws.length);
+        target = draws[drawn];
+        draws[drawn] = draws[placed];
+        draws[placed] = target;
+
+        return target;
+    }
+
+    /**
+     * Draws a value that has not been placed into the given grid yet from the whole value range, redrawing placed
+     * values. The range holds at least as many values as the grid has cells, so each draw is only redrawn with the
+     * chance of the share of values already placed.
+     *
+     * @param grid   the grid being played on
+     * @param random the random source to draw from
+     * @return the drawn value
+     */
+    private int drawUnplaced(final NumberGameGrid grid, final SplittableRandom random) {
+        int target;
+
+        do {
+            target = (int) random.nextLong(this.minValue, (long) this.maxValue + 1);
+        } while (grid.containsValue(target));
+
+        return target;
+    }
+
+    /**
+     * Simulates a share of the games, splitting it further while it is large.
+     */
+    @SuppressWarnings("serial") // Tasks are never serialized
+    private static final class SimulationTask extends RecursiveTask<NumberGameStats> {
+
+        private final NumberGameSimulator simulator;
+        private final int games;
+        private final SplittableRandom random;
+
+        /**
+         * Creates a new simulation task.
+         *
+         * @param simulator the simulator to play the games with
+         * @param games     the amount of games to simulate
+         * @param random    the random source of this task
+         */
+        SimulationTask(final NumberGameSimulator simulator, final int games, final SplittableRandom random) {
+            this.simulator = simulator;
+            this.games = games;
+            this.random = random;
+        }
+
+        @Override
+        protected NumberGameStats compute() {
+            if (this.games <= NumberGameSimulator.GAMES_PER_TASK) {
+                return this.simulator.simulate(this.games, this.random);
+            }
+
+            final SimulationTask first;
+            final SimulationTask second;
+            final NumberGameStats stats;
+
+            first = new SimulationTask(this.simulator, this.games / 2, this.random.split());
+            second = new SimulationTask(this.simulator, this.games - this.games / 2, this.random);
+
+            first.fork();
+            stats = second.compute();
+            stats.add(first.join());
+
+            return stats;
+        }
+
+    }
+
+}
@@ -0,0 +1,94 @@
+package ca.bcit.comp2522.games.game.number.sim;
+
+import ca.bcit.comp2522.games.game.number.NumberGameStats;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Represents the results of a number game simulation.
+ *
+ * @author Ole Lammers
+ * @version 1.0
+ */
+public final class NumberSimulationReport {
+
+    private final NumberGameStats stats;
+    private final long elapsedNanos;
+
+    /**
+     * Creates a new simulation report.
+     *
+     * @param stats        the stats of every simulated game
+     * @param elapsedNanos the wall clock time the simulation took, in nanoseconds
+     */
+    public NumberSimulationReport(final NumberGameStats stats, final long elapsedNanos) {
+        if (stats == null) {
+            throw new IllegalArgumentException("A simulation report requires the simulated stats.");
+        }
+
+        this.stats = stats;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * Returns the stats of every simulated game, tracked the same way as for games played through the GUI.
+     *
+     * @return the stats
+     */
+    public NumberGameStats getStats() {
+        return this.stats;
+    }
+
+    /**
+     * Returns the share of simulated games that were won.
+     *
+     * @return the win rate, from 0 to 1
+     */
+    public double getWinRate() {
+        if (this.stats.getTotalGames() == 0) {
+            return 0;
+        }
+
+        return ((double) this.stats.getWins()) / this.stats.getTotalGames();
+    }
+
+    /**
+     * Returns the amount of games simulated per second of wall clock time.
+     *
+     * @return the throughput in games per second
+     */
+    public double getGamesPerSecond() {
+        if (this.elapsedNanos == 0) {
+            return 0;
+        }
+
+        return this.stats.getTotalGames() * (double) TimeUnit.SECONDS.toNanos(1) / this.elapsedNanos;
+    }
+
+    /**
+     * Stringifies this report into a readable summary.
+     *
+     * @return the stringified report
+     */
+    public String toReport() {
+        final StringBuilder sb;
+        sb = new StringBuilder();
+
+        sb.append(this.stats.getTotalGames())
+                .append(" games in ")
+                .append(TimeUnit.NANOSECONDS.toMillis(this.elapsedNanos))
+                .append(" ms (")
+                .append(Math.round(this.getGamesPerSecond()))
+                .append(" games per second)")
+                .append(System.lineSeparator());
+
+        sb.append(String.format("Win rate: %.4f%%", this.getWinRate() * 100))
+                .append(System.lineSeparator());
+
+        sb.append(this.stats)
+                .append(System.lineSeparator());
+
+        return sb.toString();
+    }
+
+}
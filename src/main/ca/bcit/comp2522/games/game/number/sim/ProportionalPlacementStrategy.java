@@ -0,0 +1,55 @@
+package ca.bcit.comp2522.games.game.number.sim;
+
+import ca.bcit.comp2522.games.game.number.NumberGameGrid;
+import ca.bcit.comp2522.games.game.number.PlacementStrategy;
+
+import java.util.SplittableRandom;
+
+/**
+ * A placement strategy that places each target into the legal cell at the same relative position within its run of
+ * empty cells as the target has within the values that still fit into that run, which is how most players play.
+ *
+ * @author Ole Lammers
+ * @version 1.0
+ */
+public final class ProportionalPlacementStrategy implements PlacementStrategy {
+
+    private final int minValue;
+    private final int maxValue;
+
+    /**
+     * Creates a new proportional strategy for targets drawn from the given value range.
+     *
+     * @param minValue the lowest value that can be drawn
+     * @param maxValue the highest value that can be drawn
+     */
+    public ProportionalPlacementStrategy(final int minValue, final int maxValue) {
+        if (minValue > maxValue) {
+            throw new IllegalArgumentException(
+                    "The value range of a strategy cannot be empty, got " + minValue + " to " + maxValue + ".");
+        }
+
+        this.minValue = minValue;
+        this.maxValue = maxValue;
+    }
+
+    @Override
+    public int choosePlacement(final NumberGameGrid grid, final int target, final SplittableRandom random) {
+        final int first;
+        final int last;
+        final long lower;
+        final long upper;
+        final int offset;
+
+        first = grid.getFirstLegalIndex(target);
+        last = grid.getLastLegalIndex(target);
+
+        // The values bounding the run, just outside the value range at either edge of the grid
+        lower = first == 0 ? this.minValue - 1L : grid.getAt(first - 1);
+        upper = last == grid.getSize() - 1 ? this.maxValue + 1L : grid.getAt(last + 1);
+        offset = (int) ((target - lower) * (last - first + 1) / (upper - lower));
+
+        return Math.min(first + offset, last);
+    }
+
+}
@@ -0,0 +1,21 @@
+package ca.bcit.comp2522.games.game.number.sim;
+
+import ca.bcit.comp2522.games.game.number.NumberGameGrid;
+import ca.bcit.comp2522.games.game.number.PlacementStrategy;
+
+import java.util.SplittableRandom;
+
+/**
+ * A placement strategy that places each target into a uniformly random cell that keeps the grid ascending.
+ *
+ * @author Ole Lammers
+ * @version 1.0
+ */
+public final class RandomPlacementStrategy implements PlacementStrategy {
+
+    @Override
+    public int choosePlacement(final NumberGameGrid grid, final int target, final SplittableRandom random) {
+        return random.nextInt(grid.getFirstLegalIndex(target), grid.getLastLegalIndex(target) + 1);
+    }
+
+}
@@ -0,0 +1,43 @@
+package ca.bcit.comp2522.games.game.number.sim;
+
+import ca.bcit.comp2522.games.game.number.GridGambleSolver;
+import ca.bcit.comp2522.games.game.number.NumberGameGrid;
+import ca.bcit.comp2522.games.game.number.PlacementStrategy;
+
+import java.util.SplittableRandom;
+
+/**
+ * A placement strategy that places each target into the cell that maximizes the chance of winning, as computed by a
+ * {@link GridGambleSolver}. Like the solver, a strategy is not thread-safe.
+ *
+ * @author Ole Lammers
+ * @version 1.0
+ */
+public final class SolverPlacementStrategy implements PlacementStrategy {
+
+    private final GridGambleSolver solver;
+    private int[] cells;
+
+    /**
+     * Creates a new solver strategy for targets drawn from the given value range.
+     *
+     * @param minValue the lowest value that can be drawn
+     * @param maxValue the highest value that can be drawn
+     */
+    public SolverPlacementStrategy(final int minValue, final int maxValue) {
+        this.solver = new GridGambleSolver(minValue, maxValue);
+        this.cells = new int[0];
+    }
+
+    @Override
+    public int choosePlacement(final NumberGameGrid grid, final int target, final SplittableRandom random) {
+        if (this.cells.length != grid.getSize()) {
+            this.cells = new int[grid.getSize()];
+        }
+
+        grid.copyTo(this.cells);
+
+        return this.solver.getBestIndex(this.cells, target);
+    }
+
+}
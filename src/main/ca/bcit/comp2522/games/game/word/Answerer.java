@@ -0,0 +1,33 @@
+package ca.bcit.comp2522.games.game.word;
+
+import ca.bcit.comp2522.games.game.word.question.CountryQuestion;
+
+/**
+ * Represents a source of answers to word game questions, such as the player at the terminal or a simulated bot.
+ *
+ * @author Ole Lammers
+ * @version 1.0
+ */
+public interface Answerer {
+
+    /**
+     * Returns an answer for the given question.
+     *
+     * @param questionIndex the zero-based index of the question within the game
+     * @param question      the question to answer
+     * @param attempt       the one-based attempt number for the question
+     * @return the given answer
+     */
+    String answer(int questionIndex, CountryQuestion question, int attempt);
+
+    /**
+     * Called after an answer has been checked, this can be used to give feedback on the answer.
+     *
+     * @param question    the question that was answered
+     * @param correct     whether the answer was correct
+     * @param lastAttempt whether this was the last attempt for the question
+     */
+    default void handleResult(final CountryQuestion question, final boolean correct, final boolean lastAttempt) {
+    }
+
+}
@@ -0,0 +1,36 @@
+package ca.bcit.comp2522.games.game.word;
+
+import ca.bcit.comp2522.games.Main;
+import ca.bcit.comp2522.games.game.word.question.CountryQuestion;
+
+/**
+ * Asks the player at the terminal for answers, and prints feedback on each answer.
+ *
+ * @author Ole Lammers
+ * @version 1.0
+ */
+public final class ConsoleAnswerer implements Answerer {
+
+    @Override
+    public String answer(final int questionIndex, final CountryQuestion question, final int attempt) {
+        if (attempt == 1) {
+            System.out.println(
+                    System.lineSeparator() + "Question " + (questionIndex + 1) + ". " + question.getQuestion());
+            System.out.print("Enter your answer: ");
+        }
+
+        return Main.SCANNER.nextLine();
+    }
+
+    @Override
+    public void handleResult(final CountryQuestion question, final boolean correct, final boolean lastAttempt) {
+        if (correct) {
+            System.out.println("Correct answer, great job!");
+        } else if (lastAttempt) {
+            System.out.println("Incorrect, the answer was \"" + question.getAnswer() + "\"!");
+        } else {
+            System.out.print("Incorrect answer, try again: ");
+        }
+    }
+
+}
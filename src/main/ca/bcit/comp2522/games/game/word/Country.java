@@ -1,5 +1,8 @@
 package ca.bcit.comp2522.games.game.word;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Represents a country and various details of that country.
  *
@@ -15,10 +18,22 @@ public final class Country {
 
     private static final String NAME_CAPITAL_SEP = ":";
 
-    private final String name;
-    private final String capitalCityName;
+    private final NormalizedName name;
+    private final NormalizedName capitalCityName;
+
+    /**
+     * The facts of a country created from plain strings, or null if its facts are stored in a pool. Compact strings
+     * already store Latin-1 text at a byte per character, so pooling them per country would only add overhead.
+     */
     private final String[] facts;
 
+    /**
+     * The pool containing the UTF-8 facts, shared with the other countries of the same atlas, or null if the facts
+     * are plain strings. Facts are only decoded when they are requested.
+     */
+    private final StringPool factPool;
+    private final int[] factOffsets;
+
     /**
      * Creates a new country.
      *
@@ -31,9 +46,36 @@ public final class Country {
         Country.validateName(capitalCityName);
         Country.validateFacts(facts);
 
-        this.name = name;
-        this.capitalCityName = capitalCityName;
+        this.name = new NormalizedName(name);
+        this.capitalCityName = new NormalizedName(capitalCityName);
         this.facts = facts;
+        this.factPool = null;
+        this.factOffsets = null;
+    }
+
+    /**
+     * Creates a new country whose facts are stored in an existing string pool.
+     *
+     * @param name            the name
+     * @param capitalCityName the name of the capital city
+     * @param factPool        the pool containing the facts of the country
+     * @param factOffsets     the offsets of each fact within the pool
+     */
+    public Country(final String name, final String capitalCityName, final StringPool factPool,
+                   final int[] factOffsets) {
+        Country.validateName(name);
+        Country.validateName(capitalCityName);
+
+        if (factPool == null || factOffsets == null || factOffsets.length < Country.MIN_FACTS) {
+            throw new IllegalArgumentException(
+                    "A country must have at least " + Country.MIN_FACTS + " facts specified.");
+        }
+
+        this.name = new NormalizedName(name);
+        this.capitalCityName = new NormalizedName(capitalCityName);
+        this.facts = null;
+        this.factPool = factPool;
+        this.factOffsets = factOffsets;
     }
 
     /**
@@ -65,42 +107,63 @@ public final class Country {
      * separated by {@value Country#NAME_CAPITAL_SEP}. All other lines of the block, excluding blank lines, will be
      * facts about the country.
      * <p>
-     * Each line will be trimmed before processing.
+     * Lines may be separated by either {@code \n} or {@code \r\n}, and each line will be trimmed before processing.
      *
      * @param encodedBlock the encoded country block
      * @return the decoded country
      */
     public static Country decodeFromBlock(final String encodedBlock) {
-        final String[] lines = encodedBlock.split("\n");
+        return Country.decodeFromLines(List.of(encodedBlock.split("\\R")));
+    }
+
+    /**
+     * Decodes a country from the lines of an encoded block.
+     *
+     * @param lines the lines of the encoded country block
+     * @return the decoded country
+     * @see Country#decodeFromBlock(String)
+     */
+    public static Country decodeFromLines(final List<String> lines) {
+        final List<String> contentLines;
+        contentLines = new ArrayList<>(lines.size());
+
+        for (final String line : lines) {
+            final String trimmedLine;
+            trimmedLine = line.trim();
+
+            if (!trimmedLine.isEmpty()) {
+                contentLines.add(trimmedLine);
+            }
+        }
 
         // Check if there is at least one fact, and one line for the header
-        if (lines.length < Country.MIN_FACTS + 1) {
+        if (contentLines.size() < Country.MIN_FACTS + 1) {
             throw new IllegalArgumentException(
                     "Each encoded country must have a name, capital name, and at least one fact. Erroneous block: \n" +
-                            encodedBlock);
+                            String.join(System.lineSeparator(), lines));
         }
 
         final String firstLine;
-        final String[] countryAndCapitalName;
+        final int separatorIndex;
         final String countryName;
         final String capitalName;
         final String[] facts;
 
-        firstLine = lines[0];
+        firstLine = contentLines.get(0);
+        separatorIndex = firstLine.indexOf(Country.NAME_CAPITAL_SEP);
 
-        if (!firstLine.contains(Country.NAME_CAPITAL_SEP)) {
+        if (separatorIndex == -1) {
             throw new IllegalArgumentException(
                     "The encoded country header \"" + firstLine + "\" does not contain a name and a capital name.");
         }
 
         // First line will be joined country and capital name
-        countryAndCapitalName = firstLine.split(Country.NAME_CAPITAL_SEP);
-        countryName = countryAndCapitalName[0];
-        capitalName = countryAndCapitalName[1];
-        facts = new String[lines.length - 1];
+        countryName = firstLine.substring(0, separatorIndex);
+        capitalName = firstLine.substring(separatorIndex + Country.NAME_CAPITAL_SEP.length());
+        facts = new String[contentLines.size() - 1];
 
-        for (int i = 1; i < lines.length; i++) {
-            facts[i - 1] = lines[i];
+        for (int i = 1; i < contentLines.size(); i++) {
+            facts[i - 1] = contentLines.get(i);
         }
 
         return new Country(countryName, capitalName, facts);
@@ -112,6 +175,15 @@ public final class Country {
      * @return the country name
      */
     public String getName() {
+        return this.name.getText();
+    }
+
+    /**
+     * Returns the name of this country, along with its normalized form for matching answers.
+     *
+     * @return the normalized country name
+     */
+    public NormalizedName getNormalizedName() {
         return this.name;
     }
 
@@ -121,16 +193,55 @@ public final class Country {
      * @return the capital city name
      */
     public String getCapitalCityName() {
+        return this.capitalCityName.getText();
+    }
+
+    /**
+     * Returns the name of the capital city of this country, along with its normalized form for matching answers.
+     *
+     * @return the normalized capital city name
+     */
+    public NormalizedName getNormalizedCapitalCityName() {
         return this.capitalCityName;
     }
 
     /**
-     * Returns facts about this country.
+     * Returns the amount of facts about this country.
+     *
+     * @return the fact count
+     */
+    public int getFactCount() {
+        return this.facts != null ? this.facts.length : this.factOffsets.length;
+    }
+
+    /**
+     * Returns a single fact about this country, decoding it if it is stored in a pool.
+     *
+     * @param index the index of the fact
+     * @return the fact
+     */
+    public String getFact(final int index) {
+        if (this.facts != null) {
+            return this.facts[index];
+        }
+
+        return this.factPool.get(this.factOffsets[index]);
+    }
+
+    /**
+     * Returns all facts about this country, decoding them if they are stored in a pool.
      *
      * @return the facts
      */
     public String[] getFacts() {
-        return this.facts;
+        final String[] facts;
+        facts = new String[this.getFactCount()];
+
+        for (int i = 0; i < facts.length; i++) {
+            facts[i] = this.getFact(i);
+        }
+
+        return facts;
     }
 
 }
@@ -0,0 +1,286 @@
+package ca.bcit.comp2522.games.game.word;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.zip.CRC32C;
+
+/**
+ * A compiled, read-only collection of countries that is memory-mapped from a single binary file.
+ * <p>
+ * The file starts with a header (magic, version, country count, string pool offset, and a CRC32C of the fields before
+ * it), followed by an offset table with one absolute offset per country, followed by the fixed-layout country
+ * records, followed by a deduplicated {@link StringPool}. Each record holds the pool offsets of the country name, the
+ * capital name and every fact.
+ * <p>
+ * Opening an atlas only verifies its header, so it takes the same time no matter how many countries the atlas holds.
+ * Countries are only decoded when they are requested, at which point their record is checked to lie within the atlas,
+ * and decoded countries read their facts straight from the mapped string pool, so facts never take up any heap until
+ * a question needs one.
+ *
+ * @author Ole Lammers
+ * @version 1.0
+ */
+public final class CountryAtlas {
+
+    private static final int MAGIC = 0x41544C53;
+    private static final int VERSION = 4;
+    private static final int HEADER_BYTES = Integer.BYTES * 5;
+
+    /**
+     * The offset of the header checksum, which covers every header field before it.
+     */
+    private static final int CHECKSUM_OFFSET = Integer.BYTES * 4;
+
+    /**
+     * The fields every record starts with: name offset, capital name offset and fact count.
+     */
+    private static final int RECORD_FIXED_FIELDS = 3;
+
+    private final ByteBuffer buffer;
+    private final int size;
+    private final int recordsOffset;
+    private final int poolOffset;
+    private final StringPool pool;
+
+    /**
+     * Creates a new atlas view over the given buffer.
+     *
+     * @param buffer the buffer containing the whole atlas file
+     */
+    private CountryAtlas(final ByteBuffer buffer) {
+        CountryAtlas.validateHeader(buffer);
+
+        this.buffer = buffer;
+        this.size = buffer.getInt(Integer.BYTES * 2);
+        this.recordsOffset = CountryAtlas.HEADER_BYTES + this.size * Integer.BYTES;
+        this.poolOffset = buffer.getInt(Integer.BYTES * 3);
+        this.pool = new StringPool(buffer.slice(this.poolOffset, buffer.capacity() - this.poolOffset));
+    }
+
+    /**
+     * Validates the header of the given buffer to ensure it contains an atlas this version can read.
+     *
+     * @param buffer the buffer to validate
+     */
+    private static void validateHeader(final ByteBuffer buffer) {
+        if (buffer.capacity() < CountryAtlas.HEADER_BYTES || buffer.getInt(0) != CountryAtlas.MAGIC) {
+            throw new IllegalArgumentException("The given data is not a compiled country atlas.");
+        }
+
+        final int version;
+        final int size;
+        final int poolOffset;
+
+        version = buffer.getInt(Integer.BYTES);
+        size = buffer.getInt(Integer.BYTES * 2);
+        poolOffset = buffer.getInt(Integer.BYTES * 3);
+
+        if (version != CountryAtlas.VERSION) {
+            throw new IllegalArgumentException(
+                    "The country atlas version " + version + " is not supported, expected " + CountryAtlas.VERSION +
+                            ".");
+        }
+
+        if (size < 0 || CountryAtlas.HEADER_BYTES + (long) size * Integer.BYTES > poolOffset ||
+                poolOffset > buffer.capacity()) {
+            throw new IllegalArgumentException("The country atlas offset table is truncated.");
+        }
+
+        if (buffer.getInt(CountryAtlas.CHECKSUM_OFFSET) != CountryAtlas.checksum(buffer)) {
+            throw new IllegalArgumentException("The country atlas header is corrupt, its checksum does not match.");
+        }
+    }
+
+    /**
+     * Returns the CRC32C of the header fields before the checksum of the given atlas buffer.
+     *
+     * @param buffer the buffer starting with the atlas header
+     * @return the checksum
+     */
+    private static int checksum(final ByteBuffer buffer) {
+        final CRC32C crc;
+        crc = new CRC32C();
+
+        crc.update(buffer.slice(0, CountryAtlas.CHECKSUM_OFFSET));
+
+        return (int) crc.getValue();
+    }
+
+    /**
+     * Returns the offset of the record of the given country, after checking that the record and every string it
+     * refers to lie within the atlas, so decoding it can never read outside of it.
+     *
+     * @param index the index of the country
+     * @return the record offset
+     */
+    private int getRecordOffset(final int index) {
+        final int recordOffset;
+        final int factCount;
+
+        recordOffset = this.buffer.getInt(CountryAtlas.HEADER_BYTES + index * Integer.BYTES);
+
+        if (recordOffset < this.recordsOffset ||
+                recordOffset > this.poolOffset - CountryAtlas.RECORD_FIXED_FIELDS * Integer.BYTES) {
+            throw new IllegalStateException("The country atlas record " + index + " is outside of the record table.");
+        }
+
+        factCount = this.buffer.getInt(recordOffset + Integer.BYTES * 2);
+
+        if (factCount < Country.MIN_FACTS || (long) recordOffset + (long) Integer.BYTES *
+                (CountryAtlas.RECORD_FIXED_FIELDS + factCount) > this.poolOffset) {
+            throw new IllegalStateException(
+                    "The country atlas record " + index + " has an invalid fact count of " + factCount + ".");
+        }
+
+        for (int field = 0; field < CountryAtlas.RECORD_FIXED_FIELDS + factCount; field++) {
+            // The fact count is the only field that is not a string offset
+            if (field != 2 && !this.pool.contains(this.buffer.getInt(recordOffset + Integer.BYTES * field))) {
+                throw new IllegalStateException(
+                        "The country atlas record " + index + " refers to a string outside of the pool.");
+            }
+        }
+
+        return recordOffset;
+    }
+
+    /**
+     * Memory-maps the atlas at the given path.
+     *
+     * @param atlasFile the compiled atlas file
+     * @return the opened atlas
+     * @throws IOException if the file cannot be opened or mapped
+     */
+    public static CountryAtlas open(final Path atlasFile) throws IOException {
+        try (final FileChannel channel = FileChannel.open(atlasFile, StandardOpenOption.READ)) {
+            return new CountryAtlas(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * Compiles the given countries into an atlas file at the given path, replacing any existing file.
+     * <p>
+     * Equal strings, such as facts shared by multiple countries, are only stored once. The atlas is written next to
+     * the target first and moved into place once complete, so a reader never maps a partially written atlas.
+     *
+     * @param countries the countries to compile, in the order they should be indexed
+     * @param atlasFile the destination atlas file
+     * @throws IOException if the atlas cannot be written
+     */
+    public static void compile(final List<Country> countries, final Path atlasFile) throws IOException {
+        final Path tempFile;
+        final StringPoolBuilder pool;
+        final int[][] records;
+        final int recordsOffset;
+        final ByteBuffer header;
+        int poolOffset;
+
+        tempFile = atlasFile.resolveSibling(atlasFile.getFileName() + ".tmp");
+        pool = new StringPoolBuilder();
+        records = new int[countries.size()][];
+        recordsOffset = CountryAtlas.HEADER_BYTES + countries.size() * Integer.BYTES;
+        poolOffset = recordsOffset;
+        header = ByteBuffer.allocate(CountryAtlas.HEADER_BYTES);
+
+        for (int i = 0; i < records.length; i++) {
+            records[i] = CountryAtlas.encodeRecord(countries.get(i), pool);
+            poolOffset += records[i].length * Integer.BYTES;
+        }
+
+        header.putInt(CountryAtlas.MAGIC);
+        header.putInt(CountryAtlas.VERSION);
+        header.putInt(records.length);
+        header.putInt(poolOffset);
+        header.putInt(CountryAtlas.checksum(header));
+
+        try (final DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(tempFile)))) {
+            int offset = recordsOffset;
+
+            out.write(header.array());
+
+            for (final int[] record : records) {
+                out.writeInt(offset);
+                offset += record.length * Integer.BYTES;
+            }
+
+            for (final int[] record : records) {
+                for (final int field : record) {
+                    out.writeInt(field);
+                }
+            }
+
+            out.write(pool.toByteArray());
+        }
+
+        Files.move(tempFile, atlasFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Encodes a single country into its record form, adding its strings to the given pool.
+     *
+     * @param country the country to encode
+     * @param pool    the pool to add the strings of the country to
+     * @return the encoded record fields
+     */
+    private static int[] encodeRecord(final Country country, final StringPoolBuilder pool) {
+        final int[] record;
+
+        record = new int[CountryAtlas.RECORD_FIXED_FIELDS + country.getFactCount()];
+        record[0] = pool.add(country.getName());
+        record[1] = pool.add(country.getCapitalCityName());
+        record[2] = country.getFactCount();
+
+        for (int i = 0; i < country.getFactCount(); i++) {
+            record[CountryAtlas.RECORD_FIXED_FIELDS + i] = pool.add(country.getFact(i));
+        }
+
+        return record;
+    }
+
+    /**
+     * Decodes the country at the given index of this atlas, failing with an {@link IllegalStateException} if its
+     * record is corrupt.
+     *
+     * @param index the index of the country
+     * @return the decoded country
+     */
+    public Country decode(final int index) {
+        if (index < 0 || index >= this.size) {
+            throw new IndexOutOfBoundsException("The country index " + index + " is outside of the atlas.");
+        }
+
+        final int recordOffset;
+        final String name;
+        final String capitalName;
+        final int[] factOffsets;
+
+        recordOffset = this.getRecordOffset(index);
+        name = this.pool.get(this.buffer.getInt(recordOffset));
+        capitalName = this.pool.get(this.buffer.getInt(recordOffset + Integer.BYTES));
+        factOffsets = new int[this.buffer.getInt(recordOffset + Integer.BYTES * 2)];
+
+        for (int i = 0; i < factOffsets.length; i++) {
+            factOffsets[i] = this.buffer.getInt(recordOffset + Integer.BYTES * (CountryAtlas.RECORD_FIXED_FIELDS + i));
+        }
+
+        return new Country(name, capitalName, this.pool, factOffsets);
+    }
+
+    /**
+     * Returns the amount of countries within this atlas.
+     *
+     * @return the country count
+     */
+    public int size() {
+        return this.size;
+    }
+
+}
@@ -0,0 +1,143 @@
+package ca.bcit.comp2522.games.game.word;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Reads encoded country blocks from a country data file one line at a time, decoding each country as soon as its
+ * block is complete.
+ * <p>
+ * Each encoded country will be a block, and each encoded country block will be separated from the other by at least
+ * one blank line. Only the lines of the block currently being read are held in memory, regardless of the size of the
+ * file. Both {@code \n} and {@code \r\n} line endings are accepted.
+ * <p>
+ * Decoding of each country block is done by the {@link Country#decodeFromLines(List)} method.
+ *
+ * @author Ole Lammers
+ * @version 1.0
+ */
+public final class CountryBlockReader implements Iterator<Country>, Closeable {
+
+    private final BufferedReader reader;
+    private final List<String> blockLines;
+
+    private Country next;
+
+    /**
+     * Creates a new country block reader over the given reader.
+     *
+     * @param reader the reader to read encoded country blocks from
+     */
+    public CountryBlockReader(final BufferedReader reader) {
+        if (reader == null) {
+            throw new IllegalArgumentException("A country block reader requires a reader.");
+        }
+
+        this.reader = reader;
+        this.blockLines = new ArrayList<>();
+    }
+
+    /**
+     * Opens a country block reader over the given country data file.
+     *
+     * @param dataFile the country data file
+     * @return the opened reader
+     * @throws IOException if the file cannot be opened
+     */
+    public static CountryBlockReader open(final Path dataFile) throws IOException {
+        final FileChannel channel;
+        channel = FileChannel.open(dataFile, StandardOpenOption.READ);
+
+        return new CountryBlockReader(new BufferedReader(Channels.newReader(channel, StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Returns a sequential stream of the remaining countries of this reader. Closing the stream closes this reader.
+     *
+     * @return the stream of countries
+     */
+    public Stream<Country> stream() {
+        final Spliterator<Country> spliterator;
+        spliterator = Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED | Spliterator.NONNULL);
+
+        return StreamSupport.stream(spliterator, false).onClose(() -> {
+            try {
+                this.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    /**
+     * Reads lines until the next block has been completed, or the end of the input is reached.
+     *
+     * @return the decoded country of the block, or null if there are no more blocks
+     * @throws IOException if the underlying reader fails
+     */
+    private Country readBlock() throws IOException {
+        String line;
+        this.blockLines.clear();
+
+        while ((line = this.reader.readLine()) != null) {
+            if (!line.isBlank()) {
+                this.blockLines.add(line);
+            } else if (!this.blockLines.isEmpty()) {
+                break;
+            }
+        }
+
+        if (this.blockLines.isEmpty()) {
+            return null;
+        }
+
+        return Country.decodeFromLines(this.blockLines);
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (this.next == null) {
+            try {
+                this.next = this.readBlock();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        return this.next != null;
+    }
+
+    @Override
+    public Country next() {
+        if (!this.hasNext()) {
+            throw new NoSuchElementException("There are no more country blocks to read.");
+        }
+
+        final Country country;
+        country = this.next;
+        this.next = null;
+
+        return country;
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.reader.close();
+    }
+
+}
@@ -0,0 +1,82 @@
+package ca.bcit.comp2522.games.game.word;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Draws random countries from a world without repeating a country until every country has been drawn.
+ * <p>
+ * The bag holds a permutation of the country indices and shuffles it incrementally, one swap per draw, so drawing is
+ * constant time and does not allocate. A shuffle bag is not thread safe, each game should use its own.
+ *
+ * @author Ole Lammers
+ * @version 1.0
+ */
+public final class CountryShuffleBag {
+
+    private final World world;
+    private final int[] indices;
+
+    private int drawn;
+
+    /**
+     * Creates a new shuffle bag over the countries of the given world.
+     *
+     * @param world the world to draw countries from
+     */
+    public CountryShuffleBag(final World world) {
+        if (world == null) {
+            throw new IllegalArgumentException("A shuffle bag requires a world to draw from.");
+        }
+
+        this.world = world;
+        this.indices = new int[world.size()];
+
+        for (int i = 0; i < this.indices.length; i++) {
+            this.indices[i] = i;
+        }
+    }
+
+    /**
+     * Draws the next random country out of the countries that have not been drawn yet.
+     * <p>
+     * Once every country has been drawn, the bag is reset and countries may be drawn again.
+     *
+     * @return the drawn country
+     */
+    public Country draw() {
+        if (this.drawn == this.indices.length) {
+            this.reset();
+        }
+
+        final int chosen;
+        final int index;
+
+        // Swap a random undrawn index to the front of the undrawn range
+        chosen = ThreadLocalRandom.current().nextInt(this.drawn, this.indices.length);
+        index = this.indices[chosen];
+        this.indices[chosen] = this.indices[this.drawn];
+        this.indices[this.drawn] = index;
+        this.drawn++;
+
+        return this.world.getCountry(index);
+    }
+
+    /**
+     * Puts every drawn country back into the bag.
+     * <p>
+     * The indices always remain a permutation, so this does not need to reinitialize them.
+     */
+    public void reset() {
+        this.drawn = 0;
+    }
+
+    /**
+     * Returns the amount of countries that can still be drawn before the bag resets.
+     *
+     * @return the remaining country count
+     */
+    public int remaining() {
+        return this.indices.length - this.drawn;
+    }
+
+}
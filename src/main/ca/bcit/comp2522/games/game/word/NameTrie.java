@@ -0,0 +1,248 @@
+package ca.bcit.comp2522.games.game.word;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+
+/**
+ * A trie mapping names to non-negative integer values, such as country indices.
+ * <p>
+ * Names are keyed by their {@link NormalizedName#normalize(CharSequence) normalized} form, so lookups ignore case,
+ * accents and extra whitespace. Nodes are stored in parallel primitive arrays as first-child, next-sibling lists with
+ * siblings kept in character order, so lookups take time proportional to the length of the key and prefix matches
+ * are enumerated in alphabetical order.
+ *
+ * @author Ole Lammers
+ * @version 1.0
+ */
+public final class NameTrie {
+
+    /**
+     * The value returned for names that are not within the trie.
+     */
+    public static final int ABSENT = -1;
+
+    private static final int NO_NODE = -1;
+    private static final int ROOT = 0;
+    private static final int INITIAL_CAPACITY = 64;
+
+    private char[] labels;
+    private int[] firstChildren;
+    private int[] nextSiblings;
+    private int[] values;
+    private int nodeCount;
+
+    /**
+     * Creates a new, empty trie.
+     */
+    public NameTrie() {
+        this.labels = new char[NameTrie.INITIAL_CAPACITY];
+        this.firstChildren = new int[NameTrie.INITIAL_CAPACITY];
+        this.nextSiblings = new int[NameTrie.INITIAL_CAPACITY];
+        this.values = new int[NameTrie.INITIAL_CAPACITY];
+        this.nodeCount = 0;
+
+        this.createNode('\0', NameTrie.NO_NODE);
+    }
+
+    /**
+     * Creates a new node with the given label, linked before the given sibling.
+     *
+     * @param label       the character leading into the node
+     * @param nextSibling the next sibling of the node
+     * @return the new node
+     */
+    private int createNode(final char label, final int nextSibling) {
+        if (this.nodeCount == this.labels.length) {
+            final int capacity;
+            capacity = this.labels.length * 2;
+
+            this.labels = Arrays.copyOf(this.labels, capacity);
+            this.firstChildren = Arrays.copyOf(this.firstChildren, capacity);
+            this.nextSiblings = Arrays.copyOf(this.nextSiblings, capacity);
+            this.values = Arrays.copyOf(this.values, capacity);
+        }
+
+        final int node;
+        node = this.nodeCount++;
+
+        this.labels[node] = label;
+        this.firstChildren[node] = NameTrie.NO_NODE;
+        this.nextSiblings[node] = nextSibling;
+        this.values[node] = NameTrie.ABSENT;
+
+        return node;
+    }
+
+    /**
+     * Returns the child of the given node with the given label, creating it if it does not exist.
+     *
+     * @param parent the parent node
+     * @param label  the label of the child
+     * @return the child node
+     */
+    private int getOrCreateChild(final int parent, final char label) {
+        int previous = NameTrie.NO_NODE;
+        int child = this.firstChildren[parent];
+
+        while (child != NameTrie.NO_NODE && this.labels[child] < label) {
+            previous = child;
+            child = this.nextSiblings[child];
+        }
+
+        if (child != NameTrie.NO_NODE && this.labels[child] == label) {
+            return child;
+        }
+
+        final int created;
+        created = this.createNode(label, child);
+
+        if (previous == NameTrie.NO_NODE) {
+            this.firstChildren[parent] = created;
+        } else {
+            this.nextSiblings[previous] = created;
+        }
+
+        return created;
+    }
+
+    /**
+     * Returns the child of the given node with the given label.
+     *
+     * @param parent the parent node
+     * @param label  the label of the child
+     * @return the child node, or {@link NameTrie#NO_NODE} if there is none
+     */
+    private int getChild(final int parent, final char label) {
+        int child = this.firstChildren[parent];
+
+        while (child != NameTrie.NO_NODE && this.labels[child] < label) {
+            child = this.nextSiblings[child];
+        }
+
+        if (child != NameTrie.NO_NODE && this.labels[child] == label) {
+            return child;
+        }
+
+        return NameTrie.NO_NODE;
+    }
+
+    /**
+     * Returns the node reached by following the given normalized key from the root.
+     *
+     * @param normalizedKey the normalized key
+     * @return the reached node, or {@link NameTrie#NO_NODE} if the key leaves the trie
+     */
+    private int find(final String normalizedKey) {
+        int node = NameTrie.ROOT;
+
+        for (int i = 0; i < normalizedKey.length() && node != NameTrie.NO_NODE; i++) {
+            node = this.getChild(node, normalizedKey.charAt(i));
+        }
+
+        return node;
+    }
+
+    /**
+     * Maps the given name to the given value, unless the name is already mapped.
+     *
+     * @param name  the name
+     * @param value the non-negative value
+     * @return whether the name was added, false if it was already mapped
+     */
+    public boolean put(final CharSequence name, final int value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("A name trie value cannot be negative, got " + value + ".");
+        }
+
+        final String normalizedKey;
+        int node = NameTrie.ROOT;
+
+        normalizedKey = NormalizedName.normalize(name);
+
+        for (int i = 0; i < normalizedKey.length(); i++) {
+            node = this.getOrCreateChild(node, normalizedKey.charAt(i));
+        }
+
+        if (this.values[node] != NameTrie.ABSENT) {
+            return false;
+        }
+
+        this.values[node] = value;
+
+        return true;
+    }
+
+    /**
+     * Returns the value mapped to the given name.
+     *
+     * @param name the name to look up
+     * @return the mapped value, or {@link NameTrie#ABSENT} if the name is not mapped
+     */
+    public int get(final CharSequence name) {
+        final int node;
+        node = this.find(NormalizedName.normalize(name));
+
+        if (node == NameTrie.NO_NODE) {
+            return NameTrie.ABSENT;
+        }
+
+        return this.values[node];
+    }
+
+    /**
+     * Returns the values of the names that start with the given prefix, in alphabetical order of the normalized
+     * names.
+     *
+     * @param prefix the prefix to match
+     * @param limit  the maximum amount of values to return
+     * @return the matching values
+     */
+    public int[] getByPrefix(final CharSequence prefix, final int limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("The prefix match limit cannot be negative, got " + limit + ".");
+        }
+
+        final int prefixNode;
+        final Deque<Integer> pending;
+        final int[] matches;
+        int matchCount = 0;
+
+        prefixNode = this.find(NormalizedName.normalize(prefix));
+        if (prefixNode == NameTrie.NO_NODE) {
+            return new int[0];
+        }
+
+        pending = new ArrayDeque<>();
+        matches = new int[Math.min(limit, this.nodeCount)];
+
+        // Depth-first, visiting a node before its children and children in sibling order
+        if (this.values[prefixNode] != NameTrie.ABSENT && matchCount < matches.length) {
+            matches[matchCount++] = this.values[prefixNode];
+        }
+
+        if (this.firstChildren[prefixNode] != NameTrie.NO_NODE) {
+            pending.push(this.firstChildren[prefixNode]);
+        }
+
+        while (!pending.isEmpty() && matchCount < matches.length) {
+            final int node;
+            node = pending.pop();
+
+            if (this.nextSiblings[node] != NameTrie.NO_NODE) {
+                pending.push(this.nextSiblings[node]);
+            }
+
+            if (this.firstChildren[node] != NameTrie.NO_NODE) {
+                pending.push(this.firstChildren[node]);
+            }
+
+            if (this.values[node] != NameTrie.ABSENT) {
+                matches[matchCount++] = this.values[node];
+            }
+        }
+
+        return Arrays.copyOf(matches, matchCount);
+    }
+
+}
@@ -0,0 +1,361 @@
+package ca.bcit.comp2522.games.game.word;
+
+import java.text.Normalizer;
+import java.util.Arrays;
+
+/**
+ * Represents a name together with its precomputed normalized form, used to check given answers against it.
+ * <p>
+ * Normalizing case-folds the name, strips accents from Latin letters and collapses all whitespace into single
+ * spaces, with no leading or trailing whitespace. Given answers are normalized character by character while they are
+ * matched, and compared with a bit-parallel edit distance check, so matching does not allocate.
+ *
+ * @author Ole Lammers
+ * @version 1.0
+ */
+public final class NormalizedName {
+
+    /**
+     * The maximum normalized length that can be matched with a tolerance, longer names only match exactly.
+     */
+    public static final int MAX_TOLERANT_LENGTH = Long.SIZE;
+
+    private static final char NORMALIZED_SPACE = ' ';
+
+    /**
+     * Maps each character up to the end of the Latin Extended-B block to its lower case, unaccented form.
+     */
+    private static final char[] FOLDED_CHARS = NormalizedName.createFoldedChars();
+
+    private final String text;
+    private final String normalized;
+
+    // The distinct normalized characters and the positions each appears at, null if empty or too long for tolerant
+    // matching
+    private final char[] patternChars;
+    private final long[] patternMasks;
+
+    /**
+     * Creates a new normalized name.
+     *
+     * @param text the original text of the name
+     */
+    public NormalizedName(final String text) {
+        if (text == null) {
+            throw new IllegalArgumentException("The text of a normalized name must be specified.");
+        }
+
+        this.text = text;
+        this.normalized = NormalizedName.normalize(text);
+
+        if (!this.normalized.isEmpty() && this.normalized.length() <= NormalizedName.MAX_TOLERANT_LENGTH) {
+            final char[] chars;
+            final long[] masks;
+            int distinct = 0;
+
+            chars = new char[this.normalized.length()];
+            masks = new long[this.normalized.length()];
+
+            for (int i = 0; i < this.normalized.length(); i++) {
+                final char c;
+                int slot = 0;
+
+                c = this.normalized.charAt(i);
+                while (slot < distinct && chars[slot] != c) {
+                    slot++;
+                }
+
+                if (slot == distinct) {
+                    chars[slot] = c;
+                    distinct++;
+                }
+
+                masks[slot] |= 1L << i;
+            }
+
+            this.patternChars = Arrays.copyOf(chars, distinct);
+            this.patternMasks = Arrays.copyOf(masks, distinct);
+        } else {
+            this.patternChars = null;
+            this.patternMasks = null;
+        }
+    }
+
+    /**
+     * Creates the table of folded characters.
+     *
+     * @return the folded characters table
+     */
+    private static char[] createFoldedChars() {
+        final int lastLatinChar = 0x024F;
+        final char[] folded;
+
+        folded = new char[lastLatinChar + 1];
+
+        for (char c = 0; c < folded.length; c++) {
+            final String decomposed;
+            decomposed = Normalizer.normalize(String.valueOf(c), Normalizer.Form.NFD);
+
+            // The base letter always comes first, followed by the combining accents
+            folded[c] = Character.toLowerCase(decomposed.charAt(0));
+        }
+
+        return folded;
+    }
+
+    /**
+     * Returns the case-folded, unaccented form of the given character.
+     *
+     * @param c the character to fold
+     * @return the folded character
+     */
+    private static char fold(final char c) {
+        final char lower;
+        lower = Character.toLowerCase(c);
+
+        if (lower < NormalizedName.FOLDED_CHARS.length) {
+            return NormalizedName.FOLDED_CHARS[lower];
+        }
+
+        return lower;
+    }
+
+    /**
+     * Returns whether the given character is dropped entirely during normalization, which is the case for combining
+     * accents that were already decomposed from their base letter.
+     *
+     * @param c the character to check
+     * @return whether the character is dropped
+     */
+    private static boolean isDropped(final char c) {
+        return Character.getType(c) == Character.NON_SPACING_MARK;
+    }
+
+    /**
+     * Returns the normalized form of the given text.
+     *
+     * @param text the text to normalize
+     * @return the normalized text
+     */
+    public static String normalize(final CharSequence text) {
+        final StringBuilder sb;
+        boolean pendingSpace = false;
+
+        sb = new StringBuilder(text.length());
+
+        for (int i = 0; i < text.length(); i++) {
+            final char c;
+            c = text.charAt(i);
+
+            if (Character.isWhitespace(c)) {
+                pendingSpace = !sb.isEmpty();
+            } else if (!NormalizedName.isDropped(c)) {
+                if (pendingSpace) {
+                    sb.append(NormalizedName.NORMALIZED_SPACE);
+                    pendingSpace = false;
+                }
+
+                sb.append(NormalizedName.fold(c));
+            }
+        }
+
+        return sb.toString();
+    }
+
+    /**
+     * Returns whether the given answer matches this name exactly, once both are normalized.
+     *
+     * @param answer the given answer
+     * @return whether the answer matches
+     */
+    public boolean matches(final CharSequence answer) {
+        return this.matches(answer, 0);
+    }
+
+    /**
+     * Returns whether the given answer is within the given amount of typos (single character insertions, deletions or
+     * substitutions) of this name, once both are normalized.
+     * <p>
+     * Empty names, and names longer than {@value NormalizedName#MAX_TOLERANT_LENGTH} normalized characters, only match
+     * exactly.
+     *
+     * @param answer   the given answer
+     * @param maxTypos the maximum amount of typos to accept
+     * @return whether the answer matches
+     */
+    public boolean matches(final CharSequence answer, final int maxTypos) {
+        if (answer == null) {
+            return false;
+        }
+
+        if (maxTypos < 0) {
+            throw new IllegalArgumentException("The typo tolerance cannot be negative, got " + maxTypos + ".");
+        }
+
+        if (maxTypos == 0 || this.patternChars == null) {
+            return this.matchesExactly(answer);
+        }
+
+        return this.matchesWithin(answer, maxTypos);
+    }
+
+    /**
+     * Compares the given answer against the normalized form, normalizing the answer while it is read.
+     *
+     * @param answer the given answer
+     * @return whether the normalized answer equals the normalized form
+     */
+    private boolean matchesExactly(final CharSequence answer) {
+        int matched = 0;
+        boolean pendingSpace = false;
+
+        for (int i = 0; i < answer.length(); i++) {
+            final char c;
+            c = answer.charAt(i);
+
+            if (Character.isWhitespace(c)) {
+                pendingSpace = matched > 0;
+            } else if (!NormalizedName.isDropped(c)) {
+                if (pendingSpace) {
+                    if (matched == this.normalized.length() ||
+                            this.normalized.charAt(matched) != NormalizedName.NORMALIZED_SPACE) {
+                        return false;
+                    }
+
+                    matched++;
+                    pendingSpace = false;
+                }
+
+                if (matched == this.normalized.length() || this.normalized.charAt(matched) != NormalizedName.fold(c)) {
+                    return false;
+                }
+
+                matched++;
+            }
+        }
+
+        return matched == this.normalized.length();
+    }
+
+    /**
+     * Computes the edit distance between the given answer and the normalized form with Myers' bit-parallel algorithm,
+     * in the global form described by Hyyrö, normalizing the answer while it is read.
+     *
+     * @param answer   the given answer
+     * @param maxTypos the maximum edit distance to accept
+     * @return whether the edit distance is within the maximum
+     */
+    private boolean matchesWithin(final CharSequence answer, final int maxTypos) {
+        final long lastBit;
+        long positive;
+        long negative;
+        int distance;
+        boolean pendingSpace = false;
+        boolean started = false;
+
+        lastBit = 1L << (this.normalized.length() - 1);
+        positive = -1L;
+        negative = 0L;
+        distance = this.normalized.length();
+
+        for (int i = 0; i < answer.length(); i++) {
+            final char c;
+            final int feeds;
+
+            c = answer.charAt(i);
+
+            if (Character.isWhitespace(c)) {
+                pendingSpace = started;
+                continue;
+            } else if (NormalizedName.isDropped(c)) {
+                continue;
+            }
+
+            // A collapsed space is fed right before the character that follows it
+            feeds = pendingSpace ? 2 : 1;
+
+            for (int feed = 0; feed < feeds; feed++) {
+                final char next;
+                final long equal;
+                final long vertical;
+                final long horizontal;
+                long horizontalPositive;
+                long horizontalNegative;
+
+                next = feed < feeds - 1 ? NormalizedName.NORMALIZED_SPACE : NormalizedName.fold(c);
+                equal = this.maskOf(next);
+                vertical = equal | negative;
+                horizontal = (((equal & positive) + positive) ^ positive) | equal;
+                horizontalPositive = negative | ~(horizontal | positive);
+                horizontalNegative = positive & horizontal;
+
+                if ((horizontalPositive & lastBit) != 0) {
+                    distance++;
+                } else if ((horizontalNegative & lastBit) != 0) {
+                    distance--;
+                }
+
+                // Shifting in a set bit accounts for the first row of the distance matrix growing by one per step
+                horizontalPositive = (horizontalPositive << 1) | 1L;
+                horizontalNegative = horizontalNegative << 1;
+                positive = horizontalNegative | ~(vertical | horizontalPositive);
+                negative = horizontalPositive & vertical;
+            }
+
+            pendingSpace = false;
+            started = true;
+
+            // Each remaining character can lower the distance by at most one
+            if (distance - (answer.length() - 1 - i) > maxTypos) {
+                return false;
+            }
+        }
+
+        return distance <= maxTypos;
+    }
+
+    /**
+     * Returns the bit mask of the positions the given character appears at within the normalized form.
+     *
+     * @param c the character to look up
+     * @return the position mask, or zero if the character does not appear
+     */
+    private long maskOf(final char c) {
+        for (int i = 0; i < this.patternChars.length; i++) {
+            if (this.patternChars[i] == c) {
+                return this.patternMasks[i];
+            }
+        }
+
+        return 0L;
+    }
+
+    /**
+     * Returns the original text of this name.
+     *
+     * @return the original text
+     */
+    public String getText() {
+        return this.text;
+    }
+
+    /**
+     * Returns the normalized form of this name.
+     *
+     * @return the normalized text
+     */
+    public String getNormalized() {
+        return this.normalized;
+    }
+
+    /**
+     * Returns the original text of this name.
+     *
+     * @return the original text
+     */
+    @Override
+    public String toString() {
+        return this.text;
+    }
+
+}
@@ -0,0 +1,79 @@
+package ca.bcit.comp2522.games.game.word;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Represents a read-only pool of UTF-8 strings, each addressed by the byte offset it starts at.
+ * <p>
+ * Each string is stored as its byte length followed by its UTF-8 bytes, and is only decoded when it is requested. The
+ * pool may be backed by a heap buffer, or by a memory-mapped file, in which case the strings do not take up any heap
+ * until they are decoded.
+ *
+ * @author Ole Lammers
+ * @version 1.0
+ */
+public final class StringPool {
+
+    private final ByteBuffer buffer;
+
+    /**
+     * Creates a new string pool over the given buffer. Offsets are relative to the start of the buffer.
+     *
+     * @param buffer the buffer containing the encoded strings
+     */
+    public StringPool(final ByteBuffer buffer) {
+        if (buffer == null) {
+            throw new IllegalArgumentException("A string pool requires a buffer.");
+        }
+
+        this.buffer = buffer;
+    }
+
+    /**
+     * Decodes the string that starts at the given offset.
+     * <p>
+     * Only absolute reads are used, so strings may be decoded from multiple threads at once.
+     *
+     * @param offset the offset of the string within this pool
+     * @return the decoded string
+     */
+    public String get(final int offset) {
+        if (offset < 0 || offset > this.buffer.limit() - Integer.BYTES) {
+            throw new IndexOutOfBoundsException("The string offset " + offset + " is outside of the pool.");
+        }
+
+        final byte[] bytes;
+        bytes = new byte[this.buffer.getInt(offset)];
+        this.buffer.get(offset + Integer.BYTES, bytes);
+
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Returns whether a whole string, length and bytes, starts at the given offset within this pool.
+     *
+     * @param offset the offset of the string within this pool
+     * @return whether the string lies within this pool
+     */
+    public boolean contains(final int offset) {
+        if (offset < 0 || offset > this.buffer.limit() - Integer.BYTES) {
+            return false;
+        }
+
+        final int length;
+        length = this.buffer.getInt(offset);
+
+        return length >= 0 && length <= this.buffer.limit() - offset - Integer.BYTES;
+    }
+
+    /**
+     * Returns the size of this pool in bytes.
+     *
+     * @return the byte size
+     */
+    public int size() {
+        return this.buffer.limit();
+    }
+
+}
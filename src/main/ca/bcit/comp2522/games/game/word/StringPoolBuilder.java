@@ -0,0 +1,108 @@
+package ca.bcit.comp2522.games.game.word;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Builds the encoded bytes of a {@link StringPool}, storing each distinct string only once.
+ *
+ * @author Ole Lammers
+ * @version 1.0
+ */
+public final class StringPoolBuilder {
+
+    private static final int INITIAL_CAPACITY = 256;
+
+    private final Map<String, Integer> offsets;
+    private byte[] bytes;
+    private int size;
+
+    /**
+     * Creates a new, empty string pool builder.
+     */
+    public StringPoolBuilder() {
+        this.offsets = new HashMap<>();
+        this.bytes = new byte[StringPoolBuilder.INITIAL_CAPACITY];
+        this.size = 0;
+    }
+
+    /**
+     * Adds the given string to the pool, unless an equal string has already been added.
+     *
+     * @param string the string to add
+     * @return the offset of the string within the pool
+     */
+    public int add(final String string) {
+        final Integer existingOffset;
+        existingOffset = this.offsets.get(string);
+
+        if (existingOffset != null) {
+            return existingOffset;
+        }
+
+        final byte[] encoded;
+        final int offset;
+
+        encoded = string.getBytes(StandardCharsets.UTF_8);
+        offset = this.size;
+
+        this.ensureCapacity(Integer.BYTES + encoded.length);
+        ByteBuffer.wrap(this.bytes).putInt(offset, encoded.length);
+        System.arraycopy(encoded, 0, this.bytes, offset + Integer.BYTES, encoded.length);
+
+        this.size += Integer.BYTES + encoded.length;
+        this.offsets.put(string, offset);
+
+        return offset;
+    }
+
+    /**
+     * Grows the byte array, if necessary, so that the given amount of bytes can be appended.
+     *
+     * @param additionalBytes the amount of bytes that will be appended
+     */
+    private void ensureCapacity(final int additionalBytes) {
+        final long required;
+        required = (long) this.size + additionalBytes;
+
+        if (required > Integer.MAX_VALUE) {
+            throw new IllegalStateException("A string pool cannot grow beyond " + Integer.MAX_VALUE + " bytes.");
+        }
+
+        if (required > this.bytes.length) {
+            this.bytes = Arrays.copyOf(this.bytes, (int) Math.min(Integer.MAX_VALUE,
+                                                                  Math.max(required, this.bytes.length * 2L)));
+        }
+    }
+
+    /**
+     * Returns the size of the pool built so far in bytes.
+     *
+     * @return the byte size
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Returns a copy of the encoded bytes of the pool built so far.
+     *
+     * @return the encoded pool
+     */
+    public byte[] toByteArray() {
+        return Arrays.copyOf(this.bytes, this.size);
+    }
+
+    /**
+     * Creates a string pool from the strings added so far.
+     *
+     * @return the built string pool
+     */
+    public StringPool build() {
+        return new StringPool(ByteBuffer.wrap(this.toByteArray()));
+    }
+
+}
@@ -0,0 +1,179 @@
+package ca.bcit.comp2522.games.game.word;
+
+import ca.bcit.comp2522.games.game.word.question.CountryQuestion;
+import ca.bcit.comp2522.games.game.word.question.GuessCapitalGivenCountryQuestion;
+import ca.bcit.comp2522.games.game.word.question.GuessCountryGivenCapitalQuestion;
+import ca.bcit.comp2522.games.game.word.question.GuessCountryGivenFactQuestion;
+import ca.bcit.comp2522.games.game.word.score.Score;
+import ca.bcit.comp2522.games.util.Prefetcher;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+
+/**
+ * Runs the rules of the word game, independent of where the answers come from.
+ * <p>
+ * Answers are requested from an {@link Answerer}, so the same game loop serves the player at the terminal and
+ * headless simulations. An engine holds no per-game state, so it can play many games on multiple threads at once.
+ *
+ * @author Ole Lammers
+ * @version 1.0
+ */
+public final class WordGameEngine {
+
+    /**
+     * The amount of questions asked in each game.
+     */
+    public static final int QUESTIONS_PER_GAME = 10;
+
+    /**
+     * The amount of attempts the answerer has to answer each question.
+     */
+    public static final int ATTEMPTS_PER_QUESTION = 2;
+
+    private static final List<Function<Country, CountryQuestion>> QUESTION_PROVIDERS = List.of(
+            GuessCountryGivenCapitalQuestion::new, GuessCapitalGivenCountryQuestion::new,
+            GuessCountryGivenFactQuestion::new);
+
+    private final World world;
+    private final int typoTolerance;
+
+    /**
+     * Creates a new word game engine.
+     *
+     * @param world         the world to ask questions about
+     * @param typoTolerance the amount of typos accepted in an answer
+     */
+    public WordGameEngine(final World world, final int typoTolerance) {
+        if (world == null) {
+            throw new IllegalArgumentException("A word game engine requires a world.");
+        }
+
+        if (typoTolerance < 0) {
+            throw new IllegalArgumentException("The typo tolerance cannot be negative, got " + typoTolerance + ".");
+        }
+
+        this.world = world;
+        this.typoTolerance = typoTolerance;
+    }
+
+    /**
+     * Returns a random question type from the available question providers that is based on the given country.
+     *
+     * @param country the country to base the question off of
+     * @return the question based off of the country
+     */
+    public static CountryQuestion getQuestionOf(final Country country) {
+        final int providerCount;
+        final int chosenIndex;
+
+        providerCount = WordGameEngine.QUESTION_PROVIDERS.size();
+        chosenIndex = ThreadLocalRandom.current().nextInt(providerCount);
+
+        return WordGameEngine.QUESTION_PROVIDERS.get(chosenIndex).apply(country);
+    }
+
+    /**
+     * Creates a new shuffle bag over the world of this engine, a game should be given its own bag.
+     *
+     * @return the shuffle bag
+     */
+    public CountryShuffleBag createShuffleBag() {
+        return this.world.createShuffleBag();
+    }
+
+    /**
+     * Plays a game of {@value WordGameEngine#QUESTIONS_PER_GAME} questions, building each question right before it
+     * is asked.
+     *
+     * @param countryBag the bag to draw the countries of each question from
+     * @param answerer   the answerer that answers each question
+     * @return a single game score representing the game that was played
+     */
+    public Score playGame(final CountryShuffleBag countryBag, final Answerer answerer) {
+        final int[] attemptCounts;
+        attemptCounts = new int[WordGameEngine.ATTEMPTS_PER_QUESTION + 1];
+
+        for (int round = 0; round < WordGameEngine.QUESTIONS_PER_GAME; round++) {
+            final CountryQuestion question;
+            question = WordGameEngine.getQuestionOf(countryBag.draw());
+
+            attemptCounts[this.askQuestion(round, question, answerer)]++;
+        }
+
+        return WordGameEngine.createScore(attemptCounts);
+    }
+
+    /**
+     * Plays a game of {@value WordGameEngine#QUESTIONS_PER_GAME} questions, building upcoming questions in the
+     * background while the answerer is answering the current one.
+     * <p>
+     * The bag is only drawn from on the background thread for the duration of the game.
+     *
+     * @param countryBag           the bag to draw the countries of each question from
+     * @param answerer             the answerer that answers each question
+     * @param prefetchedQuestions the maximum amount of questions to build ahead of time
+     * @return a single game score representing the game that was played
+     */
+    public Score playGame(final CountryShuffleBag countryBag, final Answerer answerer,
+                          final int prefetchedQuestions) {
+        final int[] attemptCounts;
+        attemptCounts = new int[WordGameEngine.ATTEMPTS_PER_QUESTION + 1];
+
+        try (final Prefetcher<CountryQuestion> questions = new Prefetcher<>(
+                () -> WordGameEngine.getQuestionOf(countryBag.draw()), WordGameEngine.QUESTIONS_PER_GAME,
+                prefetchedQuestions)) {
+            for (int round = 0; round < WordGameEngine.QUESTIONS_PER_GAME; round++) {
+                attemptCounts[this.askQuestion(round, questions.take(), answerer)]++;
+            }
+        }
+
+        return WordGameEngine.createScore(attemptCounts);
+    }
+
+    /**
+     * Creates the score of a single game out of the amount of questions answered on each attempt.
+     *
+     * @param attemptCounts the amount of questions answered on each attempt, index zero holding failed questions
+     * @return the game score
+     */
+    private static Score createScore(final int[] attemptCounts) {
+        final int failedIndex = 0;
+        final int firstAttemptIndex = 1;
+        final int secondAttemptIndex = 2;
+
+        return new Score(LocalDateTime.now(), 1, attemptCounts[firstAttemptIndex], attemptCounts[secondAttemptIndex],
+                         attemptCounts[failedIndex]);
+    }
+
+    /**
+     * Asks the answerer the specified question, and returns the result of the question.
+     *
+     * @param questionIndex the index of the question
+     * @param question      the question to ask
+     * @param answerer      the answerer to ask
+     * @return the amount of attempts the answerer needed to answer the question, or 0 if no correct answer was given
+     */
+    private int askQuestion(final int questionIndex, final CountryQuestion question, final Answerer answerer) {
+        for (int attempt = 1; attempt <= WordGameEngine.ATTEMPTS_PER_QUESTION; attempt++) {
+            final String givenAnswer;
+            final boolean answerCorrect;
+            final boolean lastAttempt;
+
+            givenAnswer = answerer.answer(questionIndex, question, attempt);
+            answerCorrect = question.isValidAnswer(givenAnswer, this.typoTolerance);
+            lastAttempt = attempt == WordGameEngine.ATTEMPTS_PER_QUESTION;
+
+            answerer.handleResult(question, answerCorrect, lastAttempt);
+
+            if (answerCorrect) {
+                return attempt;
+            }
+        }
+
+        return 0;
+    }
+
+}
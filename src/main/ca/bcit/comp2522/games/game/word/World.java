@@ -1,13 +1,17 @@
 package ca.bcit.comp2522.games.game.word;
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
-import java.util.Random;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Represents a geographical world with multiple countries.
+ * <p>
+ * A world is either created from already decoded countries, or backed by a {@link CountryAtlas}, in which case each
+ * country is only decoded the first time it is accessed.
  *
  * @author Ole Lammers
  * @version 1.0
@@ -15,9 +19,24 @@ import java.util.Random;
 public final class World {
 
     /**
-     * Maps country names to associated {@link Country} instances.
+     * The atlas that backs this world, or null if all countries were given up front.
      */
-    private final Map<String, Country> countries;
+    private final CountryAtlas atlas;
+
+    /**
+     * The countries within this world by index, entries are filled in lazily when backed by an atlas.
+     */
+    private final Country[] countries;
+
+    /**
+     * Indexes country names to country indices, built on the first lookup.
+     */
+    private NameTrie nameIndex;
+
+    /**
+     * Indexes capital city names to country indices, built on the first lookup.
+     */
+    private NameTrie capitalIndex;
 
     /**
      * Creates a new world.
@@ -26,62 +45,209 @@ public final class World {
      */
     public World(final List<Country> countries) {
         World.validateCountries(countries);
-        this.countries = World.mapCountriesByName(countries);
+
+        this.atlas = null;
+        this.countries = countries.toArray(new Country[0]);
     }
 
     /**
-     * Validates the given list of countries to ensure it is within limits.
+     * Creates a new world that decodes its countries from the given atlas on demand.
+     * <p>
+     * Country names are expected to have been validated for duplicates when the atlas was compiled.
      *
-     * @param countries the list of countries to validate
+     * @param atlas the atlas containing the countries within the world
      */
-    private static void validateCountries(final List<Country> countries) {
-        if (countries == null || countries.isEmpty()) {
+    public World(final CountryAtlas atlas) {
+        if (atlas == null || atlas.size() == 0) {
             throw new IllegalArgumentException("A world must have at least one country.");
         }
+
+        this.atlas = atlas;
+        this.countries = new Country[atlas.size()];
     }
 
     /**
-     * Takes a list of countries and maps each country with the name of the
-     * country.
+     * Validates the given list of countries to ensure it is within limits, and that no country name is duplicate.
      *
-     * @param countries the countries to map
-     * @return a map of country names to the associated {@link Country}
+     * @param countries the list of countries to validate
      */
-    private static Map<String, Country> mapCountriesByName(final List<Country> countries) {
-        final Map<String, Country> nameToCountry;
-        nameToCountry = new HashMap<>();
+    private static void validateCountries(final List<Country> countries) {
+        if (countries == null || countries.isEmpty()) {
+            throw new IllegalArgumentException("A world must have at least one country.");
+        }
+
+        final Set<String> names;
+        names = new HashSet<>();
 
         for (final Country country : countries) {
             final String name;
             name = country.getName();
 
-            if (nameToCountry.containsKey(name)) {
+            if (!names.add(name)) {
                 throw new IllegalArgumentException(
                         "The country name \"" + name + "\" is duplicate in the list of countries.");
             }
+        }
+    }
+
+    /**
+     * Returns the country at the given index, decoding it from the backing atlas if it has not been accessed yet.
+     *
+     * @param index the index of the country
+     * @return the country
+     */
+    public Country getCountry(final int index) {
+        Country country;
+        country = this.countries[index];
 
-            nameToCountry.put(name, country);
+        if (country == null) {
+            // Countries are immutable, so a racing decode of the same index is harmless
+            country = this.atlas.decode(index);
+            this.countries[index] = country;
         }
 
-        return nameToCountry;
+        return country;
     }
 
     /**
-     * Returns a random country out of the countries within this world.
+     * Returns the amount of countries within this world.
      *
-     * @return a random country
+     * @return the country count
      */
-    public Country getRandomCountry() {
-        final Random random;
+    public int size() {
+        return this.countries.length;
+    }
+
+    /**
+     * Builds the name and capital city name indices, if they have not been built yet.
+     * <p>
+     * This decodes every country, so it is deferred until a lookup actually needs it.
+     */
+    private synchronized void ensureIndexed() {
+        if (this.nameIndex != null) {
+            return;
+        }
+
+        final NameTrie names;
+        final NameTrie capitals;
+
+        names = new NameTrie();
+        capitals = new NameTrie();
+
+        for (int i = 0; i < this.countries.length; i++) {
+            final Country country;
+            country = this.getCountry(i);
+
+            names.put(country.getName(), i);
+            capitals.put(country.getCapitalCityName(), i);
+        }
+
+        this.capitalIndex = capitals;
+        this.nameIndex = names;
+    }
+
+    /**
+     * Returns the country with the given name, ignoring case, accents and extra whitespace.
+     *
+     * @param name the name of the country
+     * @return the country, or an empty optional if there is no country with the name
+     */
+    public Optional<Country> findByName(final String name) {
+        this.ensureIndexed();
+
+        return this.findByIndex(this.nameIndex.get(name));
+    }
+
+    /**
+     * Returns the country with the given capital city name, ignoring case, accents and extra whitespace.
+     *
+     * @param capitalCityName the name of the capital city
+     * @return the country, or an empty optional if there is no country with the capital city
+     */
+    public Optional<Country> findByCapitalCityName(final String capitalCityName) {
+        this.ensureIndexed();
+
+        return this.findByIndex(this.capitalIndex.get(capitalCityName));
+    }
+
+    /**
+     * Returns the countries whose name starts with the given prefix, ignoring case, accents and extra whitespace, in
+     * alphabetical order.
+     *
+     * @param prefix the prefix of the country names
+     * @param limit  the maximum amount of countries to return
+     * @return the matching countries
+     */
+    public List<Country> findByNamePrefix(final String prefix, final int limit) {
+        this.ensureIndexed();
+
+        return this.listByIndices(this.nameIndex.getByPrefix(prefix, limit));
+    }
+
+    /**
+     * Returns the countries whose capital city name starts with the given prefix, ignoring case, accents and extra
+     * whitespace, in alphabetical order of the capital city names.
+     *
+     * @param prefix the prefix of the capital city names
+     * @param limit  the maximum amount of countries to return
+     * @return the matching countries
+     */
+    public List<Country> findByCapitalCityNamePrefix(final String prefix, final int limit) {
+        this.ensureIndexed();
+
+        return this.listByIndices(this.capitalIndex.getByPrefix(prefix, limit));
+    }
+
+    /**
+     * Returns the country at the given index, if the index was found.
+     *
+     * @param index the index returned by a name index lookup
+     * @return the country, or an empty optional if the index is {@link NameTrie#ABSENT}
+     */
+    private Optional<Country> findByIndex(final int index) {
+        if (index == NameTrie.ABSENT) {
+            return Optional.empty();
+        }
+
+        return Optional.of(this.getCountry(index));
+    }
+
+    /**
+     * Returns the countries at each of the given indices, in order.
+     *
+     * @param indices the country indices
+     * @return the countries
+     */
+    private List<Country> listByIndices(final int[] indices) {
         final List<Country> countries;
-        final Country country;
+        countries = new ArrayList<>(indices.length);
 
-        random = new Random();
-        countries = new ArrayList<>(this.countries.values());
-        country = countries.get(random.nextInt(countries.size()));
+        for (final int index : indices) {
+            countries.add(this.getCountry(index));
+        }
 
-        return country;
+        return countries;
+    }
+
+    /**
+     * Returns a random country out of the countries within this world.
+     * <p>
+     * Countries are sampled independently, so the same country may be returned multiple times in a row, use a
+     * {@link CountryShuffleBag} to sample without repeats.
+     *
+     * @return a random country
+     */
+    public Country getRandomCountry() {
+        return this.getCountry(ThreadLocalRandom.current().nextInt(this.countries.length));
     }
 
+    /**
+     * Creates a new shuffle bag that draws the countries of this world without repeats.
+     *
+     * @return the shuffle bag
+     */
+    public CountryShuffleBag createShuffleBag() {
+        return new CountryShuffleBag(this);
+    }
 
 }
@@ -0,0 +1,215 @@
+package ca.bcit.comp2522.games.game.word;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Loads a {@link World} from a directory of country data files, through a compiled {@link CountryAtlas}.
+ *
+ * @author Ole Lammers
+ * @version 1.0
+ */
+public final class WorldLoader {
+
+    /**
+     * The directory the country data files of the word game are stored in.
+     */
+    public static final Path DEFAULT_DATA_DIR = Path.of("src", "resources", "countries");
+
+    /**
+     * The file the compiled atlas of the word game is stored in.
+     */
+    public static final Path DEFAULT_ATLAS_FILE = Path.of("src", "resources", "countries.atlas");
+
+    private static final String DATA_FILE_GLOB = "*.txt";
+
+    private final Path dataDir;
+    private final Path atlasFile;
+
+    /**
+     * Creates a new world loader.
+     *
+     * @param dataDir   the directory containing the country data files
+     * @param atlasFile the file the compiled atlas is stored in
+     */
+    public WorldLoader(final Path dataDir, final Path atlasFile) {
+        if (dataDir == null || atlasFile == null) {
+            throw new IllegalArgumentException("A world loader requires a data directory and an atlas file.");
+        }
+
+        this.dataDir = dataDir;
+        this.atlasFile = atlasFile;
+    }
+
+    /**
+     * Creates a world loader for the country data files of the word game.
+     *
+     * @return the world loader
+     */
+    public static WorldLoader createDefault() {
+        return new WorldLoader(WorldLoader.DEFAULT_DATA_DIR, WorldLoader.DEFAULT_ATLAS_FILE);
+    }
+
+    /**
+     * Loads the world from the compiled country atlas.
+     * <p>
+     * If the atlas does not exist yet, cannot be read by this version, is corrupt, or any country data file has been
+     * modified since it was compiled, all country data files are decoded and the atlas is recompiled from them first.
+     *
+     * @return the loaded world
+     */
+    public World load() {
+        try {
+            if (!this.isAtlasStale()) {
+                try {
+                    return new World(CountryAtlas.open(this.atlasFile));
+                } catch (IllegalArgumentException e) {
+                    // Compiled by an older version, or corrupt, so it is recompiled below
+                }
+            }
+
+            final World world;
+            world = this.loadWorldFromDataFiles();
+
+            CountryAtlas.compile(WorldLoader.listCountries(world), this.atlasFile);
+
+            return world;
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Returns whether the compiled country atlas is missing, or older than the country data directory or any of the
+     * country data files. The directory is checked as well, since adding or removing a data file only changes the
+     * modification time of the directory.
+     *
+     * @return whether the atlas needs to be recompiled
+     * @throws IOException if the modification times cannot be read
+     */
+    private boolean isAtlasStale() throws IOException {
+        if (Files.notExists(this.atlasFile)) {
+            return true;
+        }
+
+        final FileTime atlasModified;
+        atlasModified = Files.getLastModifiedTime(this.atlasFile);
+
+        if (Files.getLastModifiedTime(this.dataDir).compareTo(atlasModified) > 0) {
+            return true;
+        }
+
+        for (final Path dataFile : this.listDataFiles()) {
+            if (Files.getLastModifiedTime(dataFile).compareTo(atlasModified) > 0) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Returns every country data file within the country data directory, sorted by file name so that the load
+     * order does not depend on the order the file system lists them in.
+     *
+     * @return the sorted country data files
+     * @throws IOException if the country data directory cannot be listed
+     */
+    private List<Path> listDataFiles() throws IOException {
+        final List<Path> dataFiles;
+        dataFiles = new ArrayList<>();
+
+        try (final DirectoryStream<Path> stream = Files.newDirectoryStream(this.dataDir, WorldLoader.DATA_FILE_GLOB)) {
+            for (final Path dataFile : stream) {
+                if (Files.isRegularFile(dataFile)) {
+                    dataFiles.add(dataFile);
+                }
+            }
+        }
+
+        dataFiles.sort(Comparator.comparing(Path::getFileName));
+
+        return dataFiles;
+    }
+
+    /**
+     * Returns every country within the given world, in index order.
+     *
+     * @param world the world to list
+     * @return the countries of the world
+     */
+    private static List<Country> listCountries(final World world) {
+        final List<Country> countries;
+        countries = new ArrayList<>(world.size());
+
+        for (int i = 0; i < world.size(); i++) {
+            countries.add(world.getCountry(i));
+        }
+
+        return countries;
+    }
+
+    /**
+     * Loads all country data files, decodes all countries inside them, and creates a world with those countries.
+     * <p>
+     * The files are decoded in parallel on the common fork-join pool, the decoded countries are then merged in file
+     * name order, so the resulting world is the same regardless of which file finishes first.
+     *
+     * @return the loaded world
+     * @throws IOException if a data file cannot be opened
+     */
+    private World loadWorldFromDataFiles() throws IOException {
+        final List<List<Country>> countriesPerFile;
+        final List<Country> countries;
+
+        try {
+            countriesPerFile = this.listDataFiles().parallelStream().map((dataFile) -> {
+                try {
+                    return WorldLoader.loadCountriesFromFile(dataFile);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }).toList();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        countries = new ArrayList<>();
+        for (final List<Country> fileCountries : countriesPerFile) {
+            countries.addAll(fileCountries);
+        }
+
+        return new World(countries);
+    }
+
+    /**
+     * Decodes all the encoded countries inside the specified data file.
+     * <p>
+     * The file is streamed through a {@link CountryBlockReader}, so only a single block is held in memory at a time
+     * while decoding.
+     *
+     * @param dataFilePath the path of the countries data file
+     * @return the list of decoded countries within the data file
+     * @throws IOException if the data file cannot be opened
+     */
+    private static List<Country> loadCountriesFromFile(final Path dataFilePath) throws IOException {
+        final List<Country> parsedCountries;
+        parsedCountries = new ArrayList<>();
+
+        try (final CountryBlockReader reader = CountryBlockReader.open(dataFilePath)) {
+            reader.forEachRemaining(parsedCountries::add);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        return parsedCountries;
+    }
+
+}
@@ -1,6 +1,7 @@
 package ca.bcit.comp2522.games.game.word.question;
 
 import ca.bcit.comp2522.games.game.word.Country;
+import ca.bcit.comp2522.games.game.word.NormalizedName;
 
 /**
  * Represents a question about a certain country.
@@ -13,7 +14,7 @@ public abstract class CountryQuestion {
     private final Country country;
 
     private final String question;
-    private final String answer;
+    private final NormalizedName answer;
 
     /**
      * Creates a new question based on the given country.
@@ -33,22 +34,36 @@ public abstract class CountryQuestion {
      */
     protected abstract String createQuestionText();
 
-    protected abstract String createKnownAnswer();
+    /**
+     * Returns the known answer for this question, which is expected to be one of the precomputed normalized names
+     * of the country.
+     *
+     * @return the known answer
+     */
+    protected abstract NormalizedName createKnownAnswer();
 
     /**
-     * Returns whether a given answer matches the known valid answer for this question.
+     * Returns whether a given answer matches the known valid answer for this question, ignoring case, accents and
+     * extra whitespace.
      *
      * @param answer the given answer
      * @return whether the given answer is valid for this question
      */
     public boolean isValidAnswer(final String answer) {
-        final String givenAnswer;
-        final String knownAnswer;
-
-        givenAnswer = answer.trim().toLowerCase();
-        knownAnswer = this.answer.trim().toLowerCase();
+        return this.answer.matches(answer);
+    }
 
-        return knownAnswer.equals(givenAnswer);
+    /**
+     * Returns whether a given answer is within the given amount of typos of the known valid answer for this
+     * question, ignoring case, accents and extra whitespace.
+     *
+     * @param answer   the given answer
+     * @param maxTypos the maximum amount of typos to accept
+     * @return whether the given answer is valid for this question
+     * @see NormalizedName#matches(CharSequence, int)
+     */
+    public boolean isValidAnswer(final String answer, final int maxTypos) {
+        return this.answer.matches(answer, maxTypos);
     }
 
     /**
@@ -66,7 +81,7 @@ public abstract class CountryQuestion {
      * @return the answer
      */
     public String getAnswer() {
-        return this.answer;
+        return this.answer.getText();
     }
 
     /**
@@ -1,6 +1,7 @@
 package ca.bcit.comp2522.games.game.word.question;
 
 import ca.bcit.comp2522.games.game.word.Country;
+import ca.bcit.comp2522.games.game.word.NormalizedName;
 
 /**
  * Represents a question that requires the capital city name, given the country name.
@@ -25,8 +26,8 @@ public final class GuessCapitalGivenCountryQuestion extends CountryQuestion {
     }
 
     @Override
-    protected String createKnownAnswer() {
-        return this.getCountry().getCapitalCityName();
+    protected NormalizedName createKnownAnswer() {
+        return this.getCountry().getNormalizedCapitalCityName();
     }
 
 }
@@ -1,6 +1,7 @@
 package ca.bcit.comp2522.games.game.word.question;
 
 import ca.bcit.comp2522.games.game.word.Country;
+import ca.bcit.comp2522.games.game.word.NormalizedName;
 
 /**
  * Represents a question that requires the country name, given the capital city name.
@@ -25,8 +26,8 @@ public final class GuessCountryGivenCapitalQuestion extends CountryQuestion {
     }
 
     @Override
-    protected String createKnownAnswer() {
-        return this.getCountry().getName();
+    protected NormalizedName createKnownAnswer() {
+        return this.getCountry().getNormalizedName();
     }
 
 }
@@ -1,8 +1,9 @@
 package ca.bcit.comp2522.games.game.word.question;
 
 import ca.bcit.comp2522.games.game.word.Country;
+import ca.bcit.comp2522.games.game.word.NormalizedName;
 
-import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Represents a question that requires the country name, given a fact about the county.
@@ -30,8 +31,8 @@ public final class GuessCountryGivenFactQuestion extends CountryQuestion {
     }
 
     @Override
-    protected String createKnownAnswer() {
-        return this.getCountry().getName();
+    protected NormalizedName createKnownAnswer() {
+        return this.getCountry().getNormalizedName();
     }
 
     /**
@@ -40,13 +41,11 @@ public final class GuessCountryGivenFactQuestion extends CountryQuestion {
      * @return the random fact
      */
     private String getRandomFact() {
-        final Random rand;
-        final String[] facts;
+        final Country country;
         final String randomFact;
 
-        rand = new Random();
-        facts = this.getCountry().getFacts();
-        randomFact = facts[rand.nextInt(facts.length)];
+        country = this.getCountry();
+        randomFact = country.getFact(ThreadLocalRandom.current().nextInt(country.getFactCount()));
 
         return randomFact;
     }
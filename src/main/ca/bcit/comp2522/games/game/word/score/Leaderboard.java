@@ -0,0 +1,122 @@
+package ca.bcit.comp2522.games.game.word.score;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.OptionalInt;
+import java.util.PriorityQueue;
+
+/**
+ * Keeps the best scores by score per game, up to a fixed amount of entries.
+ * <p>
+ * Entries are held in a min-heap with the worst entry at its head, so offering a score takes logarithmic time in the
+ * capacity, and every query only looks at the kept entries, no matter how many scores were ever offered. Of two
+ * scores with the same score per game, the one played first ranks higher.
+ *
+ * @author Ole Lammers
+ * @version 1.0
+ */
+public final class Leaderboard {
+
+    /**
+     * Orders scores from the worst to the best entry.
+     */
+    private static final Comparator<Score> WORST_FIRST = Comparator.comparingDouble(Score::getScorePerGame)
+            .thenComparing(Score::getDateTimePlayed, Comparator.reverseOrder());
+
+    private final int capacity;
+    private final PriorityQueue<Score> entries;
+
+    /**
+     * Creates a new, empty leaderboard.
+     *
+     * @param capacity the maximum amount of entries to keep
+     */
+    public Leaderboard(final int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("A leaderboard must keep at least one entry, got " + capacity + ".");
+        }
+
+        this.capacity = capacity;
+        this.entries = new PriorityQueue<>(capacity, Leaderboard.WORST_FIRST);
+    }
+
+    /**
+     * Offers the given score to this leaderboard, replacing the worst entry if the leaderboard is full and the score
+     * ranks above it.
+     *
+     * @param score the score to offer
+     * @return whether the score entered the leaderboard
+     */
+    public boolean offer(final Score score) {
+        if (this.entries.size() < this.capacity) {
+            this.entries.add(score);
+            return true;
+        }
+
+        if (Leaderboard.WORST_FIRST.compare(score, this.entries.peek()) <= 0) {
+            return false;
+        }
+
+        this.entries.poll();
+        this.entries.add(score);
+
+        return true;
+    }
+
+    /**
+     * Returns the rank a new score with the given score per game would take on this leaderboard, placed after any
+     * entry with the same score per game.
+     *
+     * @param scorePerGame the score per game to rank
+     * @return the rank, starting at 1, or an empty optional if the score would not make it onto the leaderboard
+     */
+    public OptionalInt rankOf(final double scorePerGame) {
+        int rank = 1;
+
+        for (final Score entry : this.entries) {
+            if (entry.getScorePerGame() >= scorePerGame) {
+                rank++;
+            }
+        }
+
+        if (rank > this.capacity) {
+            return OptionalInt.empty();
+        }
+
+        return OptionalInt.of(rank);
+    }
+
+    /**
+     * Returns the entries of this leaderboard, from the best to the worst.
+     *
+     * @return the ranked entries
+     */
+    public List<Score> getEntries() {
+        final List<Score> ranked;
+        ranked = new ArrayList<>(this.entries);
+
+        ranked.sort(Leaderboard.WORST_FIRST.reversed());
+
+        return ranked;
+    }
+
+    /**
+     * Returns the amount of entries within this leaderboard.
+     *
+     * @return the entry count
+     */
+    public int size() {
+        return this.entries.size();
+    }
+
+    /**
+     * Returns the maximum amount of entries this leaderboard keeps.
+     *
+     * @return the capacity
+     */
+    public int getCapacity() {
+        return this.capacity;
+    }
+
+}
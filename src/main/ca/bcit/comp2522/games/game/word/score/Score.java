@@ -7,12 +7,12 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
 import java.text.DecimalFormat;
+import java.text.ParsePosition;
+import java.time.DateTimeException;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
-import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
+import java.util.stream.Collectors;
 
 /**
  * Represents a session score from the word game.
@@ -22,13 +22,23 @@ import java.util.List;
  */
 public final class Score {
 
-    private static final String ENCODED_LINE_DATA_SEPARATOR = ": ";
+    /**
+     * Separates the label of each persistent report line from its encoded data.
+     */
+    static final String ENCODED_LINE_DATA_SEPARATOR = ": ";
 
     private static final DateTimeFormatter DT_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
     private static final DecimalFormat POINTS_PER_GAME_FORMATTER = new DecimalFormat("#.##");
 
-    private static final int FIRST_ATTEMPT_POINTS = 2;
-    private static final int SECOND_ATTEMPT_POINTS = 1;
+    /**
+     * The points awarded for each question correctly answered in the first attempt.
+     */
+    static final int FIRST_ATTEMPT_POINTS = 2;
+
+    /**
+     * The points awarded for each question correctly answered in the second attempt.
+     */
+    static final int SECOND_ATTEMPT_POINTS = 1;
 
     private final LocalDateTime dateTimePlayed;
     private final int numGamesPlayed;
@@ -123,36 +133,17 @@ public final class Score {
      * @return the decoded scores
      */
     public static List<Score> readScoresFromFile(final Path file) {
-        final List<String> lines;
-        final List<Score> scores;
-
         try {
             if (Files.notExists(file)) {
                 Files.createFile(file);
             }
 
-            lines = Files.readAllLines(file);
+            try (final ScoreReader reader = ScoreReader.open(file)) {
+                return reader.stream().collect(Collectors.toList());
+            }
         } catch (IOException e) {
             throw new RuntimeException(e);
         }
-
-        scores = new ArrayList<>();
-
-        String currentReport = "";
-        for (final String line : lines) {
-            if (line.isBlank() && !currentReport.isBlank()) {
-                scores.add(Score.fromPersistentReport(currentReport));
-                currentReport = "";
-            }
-
-            currentReport = currentReport.concat(line).concat(System.lineSeparator());
-        }
-
-        if (!currentReport.isBlank()) {
-            scores.add(Score.fromPersistentReport(currentReport));
-        }
-
-        return scores;
     }
 
     /**
@@ -176,49 +167,31 @@ public final class Score {
     }
 
     /**
-     * Decodes a score instance based off of it's previously encoded persistent report.
+     * Parses the date time played from the given text, as encoded in a persistent report. The encoded date time must
+     * run up to the end of the text.
      *
-     * @param persistentReport the previously encoded persistent report
-     * @return the decoded score
+     * @param text  the text containing the encoded date time
+     * @param start the index the encoded date time starts at
+     * @return the decoded date time
      */
-    private static Score fromPersistentReport(final String persistentReport) {
-        final int splitDataIndex = 1;
-        final int lineContainingDate = 0;
-        final int lineContainingGamesPlayed = 1;
-        final int lineContainingCorrectFirstAttempts = 2;
-        final int lineContainingCorrectSecondAttempts = 3;
-        final int lineContainingIncorrectAttempts = 4;
-
-        final List<String> lines;
-        lines = Arrays.stream(persistentReport.split(System.lineSeparator()))
-                .map((line) -> line.split(Score.ENCODED_LINE_DATA_SEPARATOR))
-                .filter((lineParts) -> lineParts.length == splitDataIndex + 1)
-                .map((lineParts) -> lineParts[splitDataIndex])
-                .toList();
-
-        final LocalDateTime dateTime;
-        final int gamesPlayed;
-        final int firstAttempts;
-        final int secondAttempts;
-        final int incorrectAttempts;
+    static LocalDateTime parseDateTimePlayed(final CharSequence text, final int start) {
+        final ParsePosition position;
+        final LocalDateTime dateTimePlayed;
+
+        position = new ParsePosition(start);
 
         try {
-            dateTime = LocalDateTime.parse(lines.get(lineContainingDate), Score.DT_FORMATTER);
-            gamesPlayed = Integer.parseInt(lines.get(lineContainingGamesPlayed));
-            firstAttempts = Integer.parseInt(lines.get(lineContainingCorrectFirstAttempts));
-            secondAttempts = Integer.parseInt(lines.get(lineContainingCorrectSecondAttempts));
-            incorrectAttempts = Integer.parseInt(lines.get(lineContainingIncorrectAttempts));
-        } catch (DateTimeParseException e) {
-            throw new IllegalArgumentException(
-                    "The encoded date on line " + lineContainingDate + " is not formatted correctly.", e);
-        } catch (IndexOutOfBoundsException e) {
-            throw new IllegalArgumentException(
-                    "The persistent report did not include all required lines (%d, %d, %d, %d, %d).".formatted(
-                            lineContainingDate, lineContainingGamesPlayed, lineContainingCorrectFirstAttempts,
-                            lineContainingCorrectSecondAttempts, lineContainingIncorrectAttempts));
+            dateTimePlayed = LocalDateTime.from(Score.DT_FORMATTER.parse(text, position));
+        } catch (DateTimeException e) {
+            throw new IllegalArgumentException("The encoded date \"" + text + "\" is not formatted correctly.", e);
+        }
+
+        // The formatter stops at the end of the pattern, so anything left over would otherwise be ignored
+        if (position.getIndex() != text.length()) {
+            throw new IllegalArgumentException("The encoded date \"" + text + "\" is not formatted correctly.");
         }
 
-        return new Score(dateTime, gamesPlayed, firstAttempts, secondAttempts, incorrectAttempts);
+        return dateTimePlayed;
     }
 
     /**
@@ -422,6 +395,42 @@ public final class Score {
         return this.dateTimePlayed;
     }
 
+    /**
+     * Returns the amount of games played.
+     *
+     * @return the games played
+     */
+    public int getNumGamesPlayed() {
+        return this.numGamesPlayed;
+    }
+
+    /**
+     * Returns the amount of questions correctly answered in the first attempt.
+     *
+     * @return the correct first attempt count
+     */
+    public int getNumCorrectFirstAttempt() {
+        return this.numCorrectFirstAttempt;
+    }
+
+    /**
+     * Returns the amount of questions correctly answered in the second attempt.
+     *
+     * @return the correct second attempt count
+     */
+    public int getNumCorrectSecondAttempt() {
+        return this.numCorrectSecondAttempt;
+    }
+
+    /**
+     * Returns the amount of questions incorrectly answered after two attempts.
+     *
+     * @return the incorrect count
+     */
+    public int getNumIncorrectTwoAttempts() {
+        return this.numIncorrectTwoAttempts;
+    }
+
     /**
      * Returns the persistent report of this score.
      *
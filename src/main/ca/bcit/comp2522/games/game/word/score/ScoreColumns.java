@@ -0,0 +1,268 @@
+package ca.bcit.comp2522.games.game.word.score;
+
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Stores scores column by column in primitive arrays, for aggregating large amounts of scores without creating a
+ * {@link Score} for each of them.
+ * <p>
+ * Every aggregation is a plain loop over one or more columns, which neither allocates nor calls through any objects,
+ * so the JIT compiler can unroll and vectorize it. Sums are accumulated in blocks short enough that an int cannot
+ * overflow, given the highest value ever stored in the column, which keeps the inner loops within the int lanes the
+ * compiler vectorizes best, and only adds each block into a long afterwards.
+ * <p>
+ * Ranges are given as positions, in the order scores were added.
+ *
+ * @author Ole Lammers
+ * @version 1.0
+ */
+public final class ScoreColumns {
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private long[] epochSeconds;
+    private final int[][] columns;
+    private final int[] maxValues;
+    private int size;
+
+    /**
+     * Creates a new, empty column store.
+     */
+    public ScoreColumns() {
+        this.epochSeconds = new long[ScoreColumns.INITIAL_CAPACITY];
+        this.columns = new int[Column.values().length][ScoreColumns.INITIAL_CAPACITY];
+        this.maxValues = new int[Column.values().length];
+    }
+
+    /**
+     * Adds the given score to the end of this store.
+     *
+     * @param score the score to add
+     */
+    public void add(final Score score) {
+        this.add(score.getDateTimePlayed().toEpochSecond(ZoneOffset.UTC), score.getNumGamesPlayed(),
+                 score.getNumCorrectFirstAttempt(), score.getNumCorrectSecondAttempt(),
+                 score.getNumIncorrectTwoAttempts());
+    }
+
+    /**
+     * Adds a score given by its fields to the end of this store.
+     *
+     * @param epochSecond             the epoch second the score was played at, encoded the same way as within the
+     *                                score log
+     * @param numGamesPlayed          the amount of games played
+     * @param numCorrectFirstAttempt  the amount of questions correctly answered in the first attempt
+     * @param numCorrectSecondAttempt the amount of questions correctly answered in the second attempt
+     * @param numIncorrectTwoAttempts the amount of questions incorrectly answered after two attempts
+     */
+    public void add(final long epochSecond, final int numGamesPlayed, final int numCorrectFirstAttempt,
+                    final int numCorrectSecondAttempt, final int numIncorrectTwoAttempts) {
+        if (numGamesPlayed < 0 || numCorrectFirstAttempt < 0 || numCorrectSecondAttempt < 0 ||
+                numIncorrectTwoAttempts < 0) {
+            throw new IllegalArgumentException("The score columns cannot hold negative values.");
+        }
+
+        if (this.size == this.epochSeconds.length) {
+            final int capacity;
+            capacity = this.size * 2;
+
+            this.epochSeconds = Arrays.copyOf(this.epochSeconds, capacity);
+
+            for (int column = 0; column < this.columns.length; column++) {
+                this.columns[column] = Arrays.copyOf(this.columns[column], capacity);
+            }
+        }
+
+        this.epochSeconds[this.size] = epochSecond;
+        this.set(Column.GAMES_PLAYED, numGamesPlayed);
+        this.set(Column.CORRECT_FIRST_ATTEMPT, numCorrectFirstAttempt);
+        this.set(Column.CORRECT_SECOND_ATTEMPT, numCorrectSecondAttempt);
+        this.set(Column.INCORRECT_TWO_ATTEMPTS, numIncorrectTwoAttempts);
+        this.size++;
+    }
+
+    /**
+     * Sets the value of the given column for the score being added.
+     *
+     * @param column the column
+     * @param value  the non-negative value
+     */
+    private void set(final Column column, final int value) {
+        this.columns[column.ordinal()][this.size] = value;
+        this.maxValues[column.ordinal()] = Math.max(this.maxValues[column.ordinal()], value);
+    }
+
+    /**
+     * Validates the given range to ensure it is within this store.
+     *
+     * @param from the first position, inclusive
+     * @param to   the last position, exclusive
+     */
+    private void validateRange(final int from, final int to) {
+        if (from < 0 || from > to || to > this.size) {
+            throw new IndexOutOfBoundsException(
+                    "The range " + from + " to " + to + " is outside of the " + this.size + " stored scores.");
+        }
+    }
+
+    /**
+     * Returns the sum of the given column over the given range of scores.
+     *
+     * @param column the column to sum
+     * @param from   the first position, inclusive
+     * @param to     the last position, exclusive
+     * @return the sum
+     */
+    public long sum(final Column column, final int from, final int to) {
+        this.validateRange(from, to);
+
+        final int[] values;
+        final int blockLength;
+        long sum = 0;
+
+        values = this.columns[column.ordinal()];
+
+        // No block of values can add up past the highest int
+        blockLength = Integer.MAX_VALUE / Math.max(1, this.maxValues[column.ordinal()]);
+
+        for (int start = from; start < to; ) {
+            final int end;
+            int blockSum = 0;
+
+            end = (int) Math.min(to, (long) start + blockLength);
+
+            for (int i = start; i < end; i++) {
+                blockSum += values[i];
+            }
+
+            sum += blockSum;
+            start = end;
+        }
+
+        return sum;
+    }
+
+    /**
+     * Returns the sum of the given column over every stored score.
+     *
+     * @param column the column to sum
+     * @return the sum
+     */
+    public long sum(final Column column) {
+        return this.sum(column, 0, this.size);
+    }
+
+    /**
+     * Returns the total points of the given range of scores, the same way {@link Score#getScore()} computes them for
+     * a single score.
+     *
+     * @param from the first position, inclusive
+     * @param to   the last position, exclusive
+     * @return the total points
+     */
+    public long getTotalPoints(final int from, final int to) {
+        return this.sum(Column.CORRECT_FIRST_ATTEMPT, from, to) * Score.FIRST_ATTEMPT_POINTS +
+                this.sum(Column.CORRECT_SECOND_ATTEMPT, from, to) * Score.SECOND_ATTEMPT_POINTS;
+    }
+
+    /**
+     * Returns the average score per game over every game of the given range of scores, which is the total points
+     * divided by the total games played.
+     *
+     * @param from the first position, inclusive
+     * @param to   the last position, exclusive
+     * @return the average score per game, or zero if no games were played within the range
+     */
+    public double getAverageScorePerGame(final int from, final int to) {
+        final long games;
+        games = this.sum(Column.GAMES_PLAYED, from, to);
+
+        if (games == 0) {
+            return 0;
+        }
+
+        return ((double) this.getTotalPoints(from, to)) / games;
+    }
+
+    /**
+     * Writes the score per game of each score within the given range into the given array, the same way
+     * {@link Score#getScorePerGame()} computes it for a single score.
+     *
+     * @param from        the first position, inclusive
+     * @param to          the last position, exclusive
+     * @param destination the array to write into
+     * @param offset      the position within the array to write the score per game of the first score to
+     */
+    public void getScoresPerGame(final int from, final int to, final double[] destination, final int offset) {
+        this.validateRange(from, to);
+        Objects.checkFromIndexSize(offset, to - from, destination.length);
+
+        final int[] games;
+        final int[] first;
+        final int[] second;
+
+        games = this.columns[Column.GAMES_PLAYED.ordinal()];
+        first = this.columns[Column.CORRECT_FIRST_ATTEMPT.ordinal()];
+        second = this.columns[Column.CORRECT_SECOND_ATTEMPT.ordinal()];
+
+        for (int i = from; i < to; i++) {
+            final double points;
+            points = (double) first[i] * Score.FIRST_ATTEMPT_POINTS + (double) second[i] * Score.SECOND_ATTEMPT_POINTS;
+
+            // Dividing by zero games would give infinity or NaN, where a score reports zero
+            destination[offset + i - from] = games[i] == 0 ? 0 : points / games[i];
+        }
+    }
+
+    /**
+     * Returns the value of the given column for the score at the given position.
+     *
+     * @param column   the column
+     * @param position the position of the score
+     * @return the value
+     */
+    public int get(final Column column, final int position) {
+        Objects.checkIndex(position, this.size);
+
+        return this.columns[column.ordinal()][position];
+    }
+
+    /**
+     * Returns the epoch second the score at the given position was played at, encoded the same way as within the
+     * score log.
+     *
+     * @param position the position of the score
+     * @return the epoch second
+     */
+    public long getEpochSecond(final int position) {
+        Objects.checkIndex(position, this.size);
+
+        return this.epochSeconds[position];
+    }
+
+    /**
+     * Returns the amount of scores within this store.
+     *
+     * @return the score count
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Represents a counter column of the stored scores.
+     */
+    public enum Column {
+        /** The amount of games played. */
+        GAMES_PLAYED,
+        /** The amount of questions correctly answered in the first attempt. */
+        CORRECT_FIRST_ATTEMPT,
+        /** The amount of questions correctly answered in the second attempt. */
+        CORRECT_SECOND_ATTEMPT,
+        /** The amount of questions incorrectly answered after two attempts. */
+        INCORRECT_TWO_ATTEMPTS
+    }
+
+}
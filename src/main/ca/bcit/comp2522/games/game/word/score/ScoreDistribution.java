@@ -0,0 +1,253 @@
+package ca.bcit.comp2522.games.game.word.score;
+
+import ca.bcit.comp2522.games.util.Strings;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.OptionalDouble;
+
+/**
+ * The distributions of the score per game and the accuracy of a history of scores, for percentile queries without
+ * keeping the scores themselves.
+ * <p>
+ * Each distribution is kept in a {@link ScoreHistogram}, so a distribution takes the same memory no matter how many
+ * scores were recorded, and distributions of different score files can be merged for aggregate reporting. The accuracy
+ * of a score is the share of its answered questions that were answered correctly within either attempt.
+ * <p>
+ * A distribution is saved next to the score log it was recorded from, along with the amount of log records it covers,
+ * so a saved distribution that has fallen behind its log can be told apart and rebuilt.
+ *
+ * @author Ole Lammers
+ * @version 1.0
+ */
+public final class ScoreDistribution {
+
+    private static final int MAGIC = 0x53444953;
+    private static final int VERSION = 1;
+
+    // Well beyond what a single game can award, higher scores per game are recorded as this value
+    private static final double MAX_SCORE_PER_GAME = 100;
+    private static final int SCORE_PER_GAME_UNITS = 100;
+    private static final int ACCURACY_UNITS = 10_000;
+    private static final int SUB_BUCKET_BITS = 8;
+
+    private final ScoreHistogram scorePerGame;
+    private final ScoreHistogram accuracy;
+
+    private long recordCount;
+
+    /**
+     * Creates a new, empty distribution.
+     */
+    public ScoreDistribution() {
+        this(new ScoreHistogram(ScoreDistribution.MAX_SCORE_PER_GAME, ScoreDistribution.SCORE_PER_GAME_UNITS,
+                                ScoreDistribution.SUB_BUCKET_BITS),
+             new ScoreHistogram(1, ScoreDistribution.ACCURACY_UNITS, ScoreDistribution.SUB_BUCKET_BITS), 0);
+    }
+
+    /**
+     * Creates a new distribution from the given histograms.
+     *
+     * @param scorePerGame the score per game histogram
+     * @param accuracy     the accuracy histogram
+     * @param recordCount  the amount of log records the distribution covers
+     */
+    private ScoreDistribution(final ScoreHistogram scorePerGame, final ScoreHistogram accuracy,
+                              final long recordCount) {
+        this.scorePerGame = scorePerGame;
+        this.accuracy = accuracy;
+        this.recordCount = recordCount;
+    }
+
+    /**
+     * Returns the path the distribution of the given score log is saved at.
+     *
+     * @param logFile the score log file
+     * @return the distribution file
+     */
+    public static Path fileFor(final Path logFile) {
+        return logFile.resolveSibling(logFile.getFileName() + ".dist");
+    }
+
+    /**
+     * Records the given score.
+     *
+     * @param score the score to record
+     */
+    public synchronized void record(final Score score) {
+        final int answered;
+        answered = score.getNumCorrectFirstAttempt() + score.getNumCorrectSecondAttempt() +
+                score.getNumIncorrectTwoAttempts();
+
+        this.scorePerGame.record(score.getScorePerGame());
+
+        // A score without any answered questions has no accuracy
+        if (answered > 0) {
+            this.accuracy.record(
+                    ((double) score.getNumCorrectFirstAttempt() + score.getNumCorrectSecondAttempt()) / answered);
+        }
+    }
+
+    /**
+     * Adds the recorded scores of the given distribution to this distribution.
+     *
+     * @param distribution the distribution to merge
+     */
+    public synchronized void merge(final ScoreDistribution distribution) {
+        final ScoreDistribution merged;
+        merged = distribution.copy();
+
+        this.scorePerGame.merge(merged.scorePerGame);
+        this.accuracy.merge(merged.accuracy);
+        this.recordCount += merged.recordCount;
+    }
+
+    /**
+     * Returns a copy of this distribution, which is not affected by any scores recorded afterwards.
+     *
+     * @return the copy
+     */
+    public synchronized ScoreDistribution copy() {
+        return new ScoreDistribution(new ScoreHistogram(this.scorePerGame), new ScoreHistogram(this.accuracy),
+                                     this.recordCount);
+    }
+
+    /**
+     * Returns the score per game at or below which the given percentage of the recorded scores fall.
+     *
+     * @param percentile the percentile, from 0 to 100
+     * @return the score per game, or an empty optional if no scores were recorded
+     */
+    public synchronized OptionalDouble getScorePerGamePercentile(final double percentile) {
+        return this.scorePerGame.getValueAtPercentile(percentile);
+    }
+
+    /**
+     * Returns the accuracy, from 0 to 1, at or below which the given percentage of the recorded scores fall.
+     *
+     * @param percentile the percentile, from 0 to 100
+     * @return the accuracy, or an empty optional if no scores with answered questions were recorded
+     */
+    public synchronized OptionalDouble getAccuracyPercentile(final double percentile) {
+        return this.accuracy.getValueAtPercentile(percentile);
+    }
+
+    /**
+     * Returns the amount of scores recorded.
+     *
+     * @return the score count
+     */
+    public synchronized long getScoreCount() {
+        return this.scorePerGame.getTotalCount();
+    }
+
+    /**
+     * Returns the amount of log records this distribution covers, as of when it was last saved or read, including any
+     * corrupt records that were left out.
+     *
+     * @return the record count
+     */
+    public synchronized long getRecordCount() {
+        return this.recordCount;
+    }
+
+    /**
+     * Saves this distribution to the given file, as covering the given amount of log records, replacing any existing
+     * file. The distribution is written next to the target first and moved into place once complete, so a reader never
+     * reads a partially written distribution.
+     *
+     * @param distributionFile the file to save to
+     * @param recordCount      the amount of log records the distribution covers
+     * @throws IOException if the distribution cannot be written
+     */
+    public synchronized void write(final Path distributionFile, final long recordCount) throws IOException {
+        final Path tempFile;
+        tempFile = distributionFile.resolveSibling(distributionFile.getFileName() + ".tmp");
+
+        try (final DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(tempFile)))) {
+            out.writeInt(ScoreDistribution.MAGIC);
+            out.writeInt(ScoreDistribution.VERSION);
+            out.writeLong(recordCount);
+
+            this.scorePerGame.writeTo(out);
+            this.accuracy.writeTo(out);
+        }
+
+        Files.move(tempFile, distributionFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        this.recordCount = recordCount;
+    }
+
+    /**
+     * Reads a distribution previously saved by {@link #write(Path, long)}.
+     *
+     * @param distributionFile the file to read
+     * @return the read distribution
+     * @throws IOException if the file cannot be read
+     */
+    public static ScoreDistribution read(final Path distributionFile) throws IOException {
+        try (final DataInputStream in = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(distributionFile)))) {
+            final int version;
+            final long recordCount;
+
+            if (in.readInt() != ScoreDistribution.MAGIC) {
+                throw new IllegalArgumentException("The given file is not a score distribution.");
+            }
+
+            version = in.readInt();
+
+            if (version != ScoreDistribution.VERSION) {
+                throw new IllegalArgumentException(
+                        "The score distribution version " + version + " is not supported, expected " +
+                                ScoreDistribution.VERSION + ".");
+            }
+
+            recordCount = in.readLong();
+
+            return new ScoreDistribution(ScoreHistogram.readFrom(in), ScoreHistogram.readFrom(in), recordCount);
+        }
+    }
+
+    /**
+     * Prints the percentiles of the merged distributions of the given distribution files, or of the word game score
+     * log if there are none.
+     *
+     * @param args the distribution files to merge
+     * @throws IOException if a distribution cannot be read
+     */
+    public static void main(final String[] args) throws IOException {
+        final ScoreDistribution merged;
+        final double[] percentiles;
+        final int scoreCount;
+
+        merged = new ScoreDistribution();
+        percentiles = new double[] {50, 90, 99};
+
+        if (args.length == 0) {
+            merged.merge(ScoreDistribution.read(ScoreDistribution.fileFor(Path.of("score.log"))));
+        }
+
+        for (final String arg : args) {
+            merged.merge(ScoreDistribution.read(Path.of(arg)));
+        }
+
+        scoreCount = (int) Math.min(merged.getScoreCount(), Integer.MAX_VALUE);
+
+        System.out.printf("Merged %d %s.%n", scoreCount, Strings.pluralize(scoreCount, "score"));
+
+        for (final double percentile : percentiles) {
+            System.out.printf("p%.0f: %.2f points per game, %.1f%% accuracy%n", percentile,
+                              merged.getScorePerGamePercentile(percentile).orElse(0),
+                              merged.getAccuracyPercentile(percentile).orElse(0) * 100);
+        }
+    }
+
+}
@@ -0,0 +1,250 @@
+package ca.bcit.comp2522.games.game.word.score;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.OptionalDouble;
+
+/**
+ * A histogram of non-negative values in the layout of an HDR histogram, for percentile queries over any amount of
+ * recorded values in bounded memory.
+ * <p>
+ * Values are first scaled into whole units, and clamped to the maximum value. Units below the sub-bucket count each
+ * get their own bucket, and every following power of two is split into half as many linear buckets, so each bucket is
+ * at most a fixed fraction of the values within it wide. The amount of buckets only depends on the configuration, so
+ * recording and percentile queries take the same time no matter how many values were recorded.
+ * <p>
+ * Histograms with the same configuration can be merged, to report on values recorded in different places.
+ *
+ * @author Ole Lammers
+ * @version 1.0
+ */
+public final class ScoreHistogram {
+
+    private final long maxUnits;
+    private final int unitsPerValue;
+    private final int subBucketBits;
+    private final long[] counts;
+
+    private long totalCount;
+
+    /**
+     * Creates a new, empty histogram.
+     *
+     * @param maxValue      the highest value that can be told apart, higher values are recorded as this value
+     * @param unitsPerValue the amount of units each value is scaled by, such as 100 to track hundredths
+     * @param subBucketBits the base 2 logarithm of the sub-bucket count, the relative precision of each bucket is one
+     *                      over half the sub-bucket count
+     */
+    public ScoreHistogram(final double maxValue, final int unitsPerValue, final int subBucketBits) {
+        if (maxValue <= 0 || unitsPerValue <= 0) {
+            throw new IllegalArgumentException(
+                    "A histogram requires a positive maximum value and units per value, got " + maxValue + " and " +
+                            unitsPerValue + ".");
+        }
+
+        if (subBucketBits < 1 || subBucketBits >= Integer.SIZE - 2) {
+            throw new IllegalArgumentException("The histogram sub-bucket bits are out of range, got " + subBucketBits +
+                                                       ".");
+        }
+
+        this.maxUnits = Math.round(maxValue * unitsPerValue);
+        this.unitsPerValue = unitsPerValue;
+        this.subBucketBits = subBucketBits;
+        this.counts = new long[this.indexOf(this.maxUnits) + 1];
+    }
+
+    /**
+     * Creates a new histogram with the same configuration and counts as the given one.
+     *
+     * @param histogram the histogram to copy
+     */
+    public ScoreHistogram(final ScoreHistogram histogram) {
+        this.maxUnits = histogram.maxUnits;
+        this.unitsPerValue = histogram.unitsPerValue;
+        this.subBucketBits = histogram.subBucketBits;
+        this.counts = histogram.counts.clone();
+        this.totalCount = histogram.totalCount;
+    }
+
+    /**
+     * Returns the bucket the given units are counted in.
+     *
+     * @param units the units
+     * @return the bucket index
+     */
+    private int indexOf(final long units) {
+        final int subBucketCount;
+        final int halfSubBucketCount;
+        final int shift;
+
+        subBucketCount = 1 << this.subBucketBits;
+        halfSubBucketCount = subBucketCount >> 1;
+
+        if (units < subBucketCount) {
+            return (int) units;
+        }
+
+        // How far the units have to be shifted down to fit in the upper half of the sub-buckets
+        shift = Long.SIZE - 1 - Long.numberOfLeadingZeros(units) - (this.subBucketBits - 1);
+
+        return subBucketCount + (shift - 1) * halfSubBucketCount + (int) ((units >> shift) - halfSubBucketCount);
+    }
+
+    /**
+     * Returns the highest units that are counted in the given bucket.
+     *
+     * @param index the bucket index
+     * @return the highest units of the bucket
+     */
+    private long highestUnitsOf(final int index) {
+        final int subBucketCount;
+        final int halfSubBucketCount;
+        final int shift;
+        final long subBucket;
+
+        subBucketCount = 1 << this.subBucketBits;
+        halfSubBucketCount = subBucketCount >> 1;
+
+        if (index < subBucketCount) {
+            return index;
+        }
+
+        shift = (index - subBucketCount) / halfSubBucketCount + 1;
+        subBucket = (index - subBucketCount) % halfSubBucketCount + halfSubBucketCount;
+
+        return Math.min(((subBucket + 1) << shift) - 1, this.maxUnits);
+    }
+
+    /**
+     * Records the given value.
+     *
+     * @param value the non-negative value to record
+     */
+    public void record(final double value) {
+        if (!(value >= 0)) {
+            throw new IllegalArgumentException("A histogram value cannot be negative, got " + value + ".");
+        }
+
+        this.counts[this.indexOf(Math.min(Math.round(value * this.unitsPerValue), this.maxUnits))]++;
+        this.totalCount++;
+    }
+
+    /**
+     * Adds the counts of the given histogram to this histogram.
+     *
+     * @param histogram the histogram to merge, with the same configuration as this histogram
+     */
+    public void merge(final ScoreHistogram histogram) {
+        if (!this.hasSameConfiguration(histogram)) {
+            throw new IllegalArgumentException("Only histograms with the same configuration can be merged.");
+        }
+
+        for (int i = 0; i < this.counts.length; i++) {
+            this.counts[i] += histogram.counts[i];
+        }
+
+        this.totalCount += histogram.totalCount;
+    }
+
+    /**
+     * Returns whether the given histogram has the same configuration as this histogram.
+     *
+     * @param histogram the histogram to compare with
+     * @return whether the configurations are the same
+     */
+    private boolean hasSameConfiguration(final ScoreHistogram histogram) {
+        return this.maxUnits == histogram.maxUnits && this.unitsPerValue == histogram.unitsPerValue &&
+                this.subBucketBits == histogram.subBucketBits;
+    }
+
+    /**
+     * Returns the value at or below which the given percentage of the recorded values fall, as the highest value that
+     * is counted in the same bucket.
+     *
+     * @param percentile the percentile, from 0 to 100
+     * @return the value at the percentile, or an empty optional if nothing was recorded
+     */
+    public OptionalDouble getValueAtPercentile(final double percentile) {
+        if (!(percentile >= 0 && percentile <= 100)) {
+            throw new IllegalArgumentException("A percentile must be between 0 and 100, got " + percentile + ".");
+        }
+
+        if (this.totalCount == 0) {
+            return OptionalDouble.empty();
+        }
+
+        final long target;
+        long seen = 0;
+
+        target = Math.max(1, (long) Math.ceil(percentile / 100 * this.totalCount));
+
+        for (int i = 0; i < this.counts.length; i++) {
+            seen += this.counts[i];
+
+            if (seen >= target) {
+                return OptionalDouble.of(((double) this.highestUnitsOf(i)) / this.unitsPerValue);
+            }
+        }
+
+        return OptionalDouble.of(((double) this.maxUnits) / this.unitsPerValue);
+    }
+
+    /**
+     * Returns the amount of values recorded.
+     *
+     * @return the total count
+     */
+    public long getTotalCount() {
+        return this.totalCount;
+    }
+
+    /**
+     * Writes the configuration and counts of this histogram to the given output.
+     *
+     * @param out the output to write to
+     * @throws IOException if the histogram cannot be written
+     */
+    public void writeTo(final DataOutputStream out) throws IOException {
+        out.writeLong(this.maxUnits);
+        out.writeInt(this.unitsPerValue);
+        out.writeInt(this.subBucketBits);
+        out.writeLong(this.totalCount);
+
+        for (final long count : this.counts) {
+            out.writeLong(count);
+        }
+    }
+
+    /**
+     * Reads a histogram previously written by {@link #writeTo(DataOutputStream)}.
+     *
+     * @param in the input to read from
+     * @return the read histogram
+     * @throws IOException if the histogram cannot be read
+     */
+    public static ScoreHistogram readFrom(final DataInputStream in) throws IOException {
+        final long maxUnits;
+        final int unitsPerValue;
+        final int subBucketBits;
+        final ScoreHistogram histogram;
+
+        maxUnits = in.readLong();
+        unitsPerValue = in.readInt();
+        subBucketBits = in.readInt();
+        histogram = new ScoreHistogram(((double) maxUnits) / unitsPerValue, unitsPerValue, subBucketBits);
+        histogram.totalCount = in.readLong();
+
+        for (int i = 0; i < histogram.counts.length; i++) {
+            histogram.counts[i] = in.readLong();
+        }
+
+        if (histogram.totalCount != Arrays.stream(histogram.counts).sum()) {
+            throw new IllegalArgumentException("The histogram counts do not add up to its total count.");
+        }
+
+        return histogram;
+    }
+
+}
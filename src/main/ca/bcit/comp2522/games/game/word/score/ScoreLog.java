@@ -0,0 +1,815 @@
+package ca.bcit.comp2522.games.game.word.score;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.zip.CRC32C;
+
+/**
+ * An append-only binary log of scores, made up of fixed-size records.
+ * <p>
+ * The file starts with a header (magic, version) and a summary block, followed by one record per score: its payload
+ * length, the epoch second it was played at, its four counters, and a CRC32C of everything before it. Since every
+ * record has the same size, a score can be read by its record number straight from the memory-mapped file, without
+ * parsing any other record, and a record can be validated by checking its checksum instead of decoding it.
+ * <p>
+ * The summary block holds the record count, the total points, and the record number, score per game and epoch second
+ * of each of the {@value ScoreLog#TOP_CAPACITY} best scores, followed by its own CRC32C. The best scores of the whole
+ * history, and where a new score would rank among them, are therefore known without reading any record. It is
+ * rewritten in place whenever the log is forced, only once the
+ * records it counts have been forced out, so the summary never counts a record that was never written. Opening a log
+ * only reads the header and the records appended since the summary was last written, no matter how many records it
+ * holds.
+ * <p>
+ * Opening a log recovers from a crash during an append: valid records written past the summarized count are added to
+ * the summary, and the log is truncated after the last valid one, which drops a torn tail. If the summary itself is
+ * corrupt, it is rebuilt by scanning every record. Corrupt records before the last valid one are kept, but left out of
+ * the summary, until the log is compacted by the {@link ScoreLogCompactor}.
+ * <p>
+ * The mapping used to read records is only ever created after the log has been recovered, and is dropped when the log
+ * is closed, so the log is never truncated while it is mapped.
+ * <p>
+ * The date time played is stored as its local wall clock time, encoded as if it were UTC, so it is read back exactly
+ * as it was written regardless of the time zone.
+ *
+ * @author Ole Lammers
+ * @version 1.0
+ */
+public final class ScoreLog implements Closeable {
+
+    private static final int MAGIC = 0x53434F52;
+    private static final int VERSION = 4;
+    private static final int PREAMBLE_BYTES = Integer.BYTES * 2;
+
+    /**
+     * The amount of best scores kept within the summary.
+     */
+    public static final int TOP_CAPACITY = 10;
+
+    /**
+     * The size of each best score within the summary: record number, score per game and epoch second.
+     */
+    private static final int TOP_ENTRY_BYTES = Integer.BYTES + Double.BYTES + Long.BYTES;
+
+    /**
+     * The size of the summary: record count, total points, best score count, every best score slot and the checksum
+     * of the summary.
+     */
+    private static final int SUMMARY_BYTES =
+            Integer.BYTES * 3 + Long.BYTES + ScoreLog.TOP_CAPACITY * ScoreLog.TOP_ENTRY_BYTES;
+    private static final int HEADER_BYTES = ScoreLog.PREAMBLE_BYTES + ScoreLog.SUMMARY_BYTES;
+
+    /**
+     * The size of each record payload: epoch second, games played, first attempts, second attempts and incorrect
+     * attempts.
+     */
+    private static final int PAYLOAD_BYTES = Long.BYTES + Integer.BYTES * 4;
+
+    /**
+     * The size of each record: payload length, payload and checksum.
+     */
+    private static final int RECORD_BYTES = Integer.BYTES + ScoreLog.PAYLOAD_BYTES + Integer.BYTES;
+    private static final int CHECKSUM_OFFSET = ScoreLog.RECORD_BYTES - Integer.BYTES;
+
+    /**
+     * The amount of records read at once while scanning the log without its mapping.
+     */
+    private static final int SCAN_CHUNK_RECORDS = 4096;
+
+    private final FileChannel channel;
+    private int size;
+    private long totalPoints;
+
+    // The best scores from the best to the worst, of two with the same score per game the one played first ranks higher
+    private final int[] topIndexes;
+    private final double[] topScoresPerGame;
+    private final long[] topEpochSeconds;
+    private int topCount;
+
+    private MappedByteBuffer mapped;
+    private int mappedSize;
+
+    /**
+     * Whether the summary has changed since it was last written, and has to be written when the log is next forced.
+     */
+    private boolean summaryChanged;
+
+    /**
+     * Creates a new score log over the given open channel.
+     *
+     * @param channel the channel of the log file, opened for reading and writing
+     * @throws IOException if the header cannot be read or written
+     */
+    private ScoreLog(final FileChannel channel) throws IOException {
+        this.channel = channel;
+        this.mappedSize = 0;
+        this.topIndexes = new int[ScoreLog.TOP_CAPACITY];
+        this.topScoresPerGame = new double[ScoreLog.TOP_CAPACITY];
+        this.topEpochSeconds = new long[ScoreLog.TOP_CAPACITY];
+
+        if (channel.size() == 0) {
+            final ByteBuffer preamble;
+            preamble = ByteBuffer.allocate(ScoreLog.PREAMBLE_BYTES);
+            preamble.putInt(ScoreLog.MAGIC).putInt(ScoreLog.VERSION).flip();
+
+            this.size = 0;
+            this.totalPoints = 0;
+            this.topCount = 0;
+
+            channel.write(preamble, 0);
+            this.writeSummary();
+        } else {
+            this.readHeader();
+        }
+    }
+
+    /**
+     * Reads the header of the log, validating it is a score log this version can read, loads its summary, and
+     * recovers any records left behind by an interrupted append.
+     *
+     * @throws IOException if the header cannot be read, or the log cannot be repaired
+     */
+    private void readHeader() throws IOException {
+        final ByteBuffer header;
+        header = ByteBuffer.allocate(ScoreLog.HEADER_BYTES);
+
+        if (this.channel.read(header, 0) < ScoreLog.PREAMBLE_BYTES || header.getInt(0) != ScoreLog.MAGIC) {
+            throw new IllegalArgumentException("The given file is not a score log.");
+        }
+
+        if (header.getInt(Integer.BYTES) != ScoreLog.VERSION) {
+            throw new IllegalArgumentException(
+                    "The score log version " + header.getInt(Integer.BYTES) + " is not supported, expected " +
+                            ScoreLog.VERSION + ".");
+        }
+
+        header.position(ScoreLog.PREAMBLE_BYTES);
+        this.size = header.getInt();
+        this.totalPoints = header.getLong();
+        this.topCount = header.getInt();
+
+        boolean validSummary;
+        validSummary = this.size >= 0 && this.topCount >= 0 && this.topCount <= Math.min(this.size, ScoreLog.TOP_CAPACITY);
+
+        for (int i = 0; i < ScoreLog.TOP_CAPACITY; i++) {
+            this.topIndexes[i] = header.getInt();
+            this.topScoresPerGame[i] = header.getDouble();
+            this.topEpochSeconds[i] = header.getLong();
+
+            validSummary &= i >= this.topCount || this.topIndexes[i] >= 0 && this.topIndexes[i] < this.size;
+        }
+
+        validSummary &= header.getInt() ==
+                ScoreLog.checksum(header, ScoreLog.PREAMBLE_BYTES, ScoreLog.SUMMARY_BYTES - Integer.BYTES) &&
+                ScoreLog.recordOffset(this.size) <= this.channel.size();
+
+        if (!validSummary) {
+            // A torn or corrupt summary, every record has to be scanned to rebuild it
+            this.size = 0;
+            this.totalPoints = 0;
+            this.topCount = 0;
+        }
+
+        this.recover(!validSummary);
+    }
+
+    /**
+     * Scans the records past the summarized count, adding every valid one to the summary, and truncates the log after
+     * the last valid one.
+     * <p>
+     * A corrupt record followed by a valid one cannot have been left behind by an interrupted append, so it is kept as
+     * part of the log, but left out of the summary. Everything after the last valid record, such as a partially written
+     * record, is dropped.
+     *
+     * @param summaryChanged whether the summary was already changed, and has to be rewritten regardless
+     * @throws IOException if the log cannot be scanned or repaired
+     */
+    private void recover(final boolean summaryChanged) throws IOException {
+        final long fileSize;
+        final int summarizedSize;
+        final int wholeRecords;
+        final ByteBuffer chunk;
+        int skipped = 0;
+        int read;
+
+        fileSize = this.channel.size();
+        summarizedSize = this.size;
+        wholeRecords = (int) Math.max(0, (fileSize - ScoreLog.HEADER_BYTES) / ScoreLog.RECORD_BYTES);
+        chunk = ByteBuffer.allocate(ScoreLog.RECORD_BYTES * ScoreLog.SCAN_CHUNK_RECORDS);
+
+        for (int first = summarizedSize; first < wholeRecords; first += read) {
+            read = this.readRecords(first, wholeRecords, chunk);
+
+            for (int i = 0; i < read; i++) {
+                final int offset;
+                offset = i * ScoreLog.RECORD_BYTES;
+
+                if (ScoreLog.isValidRecord(chunk, offset)) {
+                    // The corrupt records before this one become part of the log, without being summarized
+                    this.size += skipped;
+                    skipped = 0;
+
+                    this.summarize(ScoreLog.decode(chunk, offset));
+                } else {
+                    skipped++;
+                }
+            }
+        }
+
+        if (!summaryChanged && this.size == summarizedSize && fileSize == ScoreLog.recordOffset(this.size)) {
+            return;
+        }
+
+        this.channel.truncate(ScoreLog.recordOffset(this.size));
+        this.channel.force(false);
+        this.writeSummary();
+        this.channel.force(false);
+    }
+
+    /**
+     * Reads as many of the given range of records as fit into the given buffer, with plain reads rather than the
+     * mapping. The records are read to the start of the buffer, and its limit is set to the end of the last record.
+     *
+     * @param from  the first record number, inclusive
+     * @param to    the last record number, exclusive
+     * @param chunk the buffer to read into
+     * @return the amount of records read
+     * @throws IOException if the records cannot be read
+     */
+    private int readRecords(final int from, final int to, final ByteBuffer chunk) throws IOException {
+        final int count;
+        count = Math.min(to - from, chunk.capacity() / ScoreLog.RECORD_BYTES);
+
+        chunk.clear().limit(count * ScoreLog.RECORD_BYTES);
+
+        while (chunk.hasRemaining()) {
+            if (this.channel.read(chunk, ScoreLog.recordOffset(from) + chunk.position()) < 0) {
+                throw new EOFException("The score log ended within the score record " +
+                                               (from + chunk.position() / ScoreLog.RECORD_BYTES) + ".");
+            }
+        }
+
+        return count;
+    }
+
+    /**
+     * Writes the current summary over the summary block of the log.
+     *
+     * @throws IOException if the summary cannot be written
+     */
+    private void writeSummary() throws IOException {
+        final ByteBuffer summary;
+        summary = ByteBuffer.allocate(ScoreLog.SUMMARY_BYTES);
+
+        summary.putInt(this.size)
+                .putLong(this.totalPoints)
+                .putInt(this.topCount);
+
+        // Unused slots are written as well, so the summary always has the same size
+        for (int i = 0; i < ScoreLog.TOP_CAPACITY; i++) {
+            summary.putInt(this.topIndexes[i])
+                    .putDouble(this.topScoresPerGame[i])
+                    .putLong(this.topEpochSeconds[i]);
+        }
+
+        summary.putInt(ScoreLog.checksum(summary, 0, ScoreLog.SUMMARY_BYTES - Integer.BYTES)).flip();
+
+        while (summary.hasRemaining()) {
+            this.channel.write(summary, ScoreLog.PREAMBLE_BYTES + summary.position());
+        }
+    }
+
+    /**
+     * Adds the given score, appended as the next record, to the summary.
+     *
+     * @param score the appended score
+     */
+    private void summarize(final Score score) {
+        this.offerTop(this.size, score);
+        this.totalPoints += score.getScore();
+        this.size++;
+    }
+
+    /**
+     * Offers the given score to the best scores, placing it after every best score it does not rank above.
+     *
+     * @param index the record number of the score
+     * @param score the score
+     */
+    private void offerTop(final int index, final Score score) {
+        final double scorePerGame;
+        final long epochSecond;
+        int position;
+
+        scorePerGame = score.getScorePerGame();
+        epochSecond = score.getDateTimePlayed().toEpochSecond(ZoneOffset.UTC);
+        position = this.topCount;
+
+        while (position > 0 && (scorePerGame > this.topScoresPerGame[position - 1] ||
+                scorePerGame == this.topScoresPerGame[position - 1] && epochSecond < this.topEpochSeconds[position - 1])) {
+            position--;
+        }
+
+        if (position == ScoreLog.TOP_CAPACITY) {
+            return;
+        }
+
+        final int moved;
+        moved = Math.min(this.topCount, ScoreLog.TOP_CAPACITY - 1) - position;
+
+        System.arraycopy(this.topIndexes, position, this.topIndexes, position + 1, moved);
+        System.arraycopy(this.topScoresPerGame, position, this.topScoresPerGame, position + 1, moved);
+        System.arraycopy(this.topEpochSeconds, position, this.topEpochSeconds, position + 1, moved);
+
+        this.topIndexes[position] = index;
+        this.topScoresPerGame[position] = scorePerGame;
+        this.topEpochSeconds[position] = epochSecond;
+        this.topCount = Math.min(this.topCount + 1, ScoreLog.TOP_CAPACITY);
+    }
+
+    /**
+     * Returns the CRC32C of the given range of the given buffer.
+     *
+     * @param buffer the buffer to checksum
+     * @param offset the offset the range starts at
+     * @param length the length of the range
+     * @return the checksum
+     */
+    private static int checksum(final ByteBuffer buffer, final int offset, final int length) {
+        final CRC32C crc;
+        crc = new CRC32C();
+
+        crc.update(buffer.slice(offset, length));
+
+        return (int) crc.getValue();
+    }
+
+    /**
+     * Returns whether the record at the given offset of the given buffer has the expected payload length and a
+     * matching checksum.
+     *
+     * @param buffer the buffer holding the record
+     * @param offset the offset of the record
+     * @return whether the record is valid
+     */
+    private static boolean isValidRecord(final ByteBuffer buffer, final int offset) {
+        return buffer.getInt(offset) == ScoreLog.PAYLOAD_BYTES && buffer.getInt(offset + ScoreLog.CHECKSUM_OFFSET) ==
+                ScoreLog.checksum(buffer, offset, ScoreLog.CHECKSUM_OFFSET);
+    }
+
+    /**
+     * Decodes the record at the given offset of the given buffer, without validating it.
+     *
+     * @param buffer the buffer holding the record
+     * @param offset the offset of the record
+     * @return the decoded score
+     */
+    private static Score decode(final ByteBuffer buffer, final int offset) {
+        return ScoreLog.decodePayload(buffer, offset + Integer.BYTES);
+    }
+
+    /**
+     * Decodes the record payload at the given offset of the given buffer.
+     *
+     * @param buffer  the buffer holding the payload
+     * @param payload the offset of the payload
+     * @return the decoded score
+     */
+    private static Score decodePayload(final ByteBuffer buffer, final int payload) {
+        return new Score(LocalDateTime.ofEpochSecond(buffer.getLong(payload), 0, ZoneOffset.UTC),
+                         buffer.getInt(payload + Long.BYTES),
+                         buffer.getInt(payload + Long.BYTES + Integer.BYTES),
+                         buffer.getInt(payload + Long.BYTES + Integer.BYTES * 2),
+                         buffer.getInt(payload + Long.BYTES + Integer.BYTES * 3));
+    }
+
+    /**
+     * Opens the score log at the given path, creating it if it does not exist.
+     *
+     * @param logFile the score log file
+     * @return the opened score log
+     * @throws IOException if the file cannot be opened
+     */
+    public static ScoreLog open(final Path logFile) throws IOException {
+        final FileChannel channel;
+        channel = FileChannel.open(logFile, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                                   StandardOpenOption.WRITE);
+
+        try {
+            return new ScoreLog(channel);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Appends the given score to the end of this log.
+     *
+     * @param score the score to append
+     * @throws IOException if the record cannot be written
+     */
+    public void append(final Score score) throws IOException {
+        this.appendAll(List.of(score));
+    }
+
+    /**
+     * Appends the given scores to the end of this log, in order, with a single write for all of their records. The
+     * summary counting them is only written once the log is {@link #force() forced}.
+     *
+     * @param scores the scores to append
+     * @throws IOException if the records cannot be written
+     */
+    public synchronized void appendAll(final List<Score> scores) throws IOException {
+        if (scores.isEmpty()) {
+            return;
+        }
+
+        final ByteBuffer records;
+        long position;
+
+        records = ByteBuffer.allocate(ScoreLog.RECORD_BYTES * scores.size());
+        position = ScoreLog.recordOffset(this.size);
+
+        for (final Score score : scores) {
+            final int offset;
+            offset = records.position();
+
+            records.putInt(ScoreLog.PAYLOAD_BYTES)
+                    .putLong(score.getDateTimePlayed().toEpochSecond(ZoneOffset.UTC))
+                    .putInt(score.getNumGamesPlayed())
+                    .putInt(score.getNumCorrectFirstAttempt())
+                    .putInt(score.getNumCorrectSecondAttempt())
+                    .putInt(score.getNumIncorrectTwoAttempts())
+                    .putInt(ScoreLog.checksum(records, offset, ScoreLog.CHECKSUM_OFFSET));
+        }
+
+        records.flip();
+
+        while (records.hasRemaining()) {
+            position += this.channel.write(records, position);
+        }
+
+        for (final Score score : scores) {
+            this.summarize(score);
+        }
+
+        this.summaryChanged = true;
+    }
+
+    /**
+     * Forces every appended record out to the storage device, then writes the summary counting them and forces it out
+     * as well.
+     *
+     * @throws IOException if the log cannot be forced
+     */
+    public synchronized void force() throws IOException {
+        this.channel.force(false);
+
+        // Only written once the records it counts are durable, so a crash cannot leave it counting unwritten records
+        if (this.summaryChanged) {
+            this.writeSummary();
+            this.channel.force(false);
+            this.summaryChanged = false;
+        }
+    }
+
+    /**
+     * Returns the file offset of the record with the given number.
+     *
+     * @param index the record number
+     * @return the offset of the record
+     */
+    private static long recordOffset(final int index) {
+        return ScoreLog.HEADER_BYTES + (long) index * ScoreLog.RECORD_BYTES;
+    }
+
+    /**
+     * Maps every record of this log, if the given record was appended since the last mapping.
+     *
+     * @param index the record number that has to be mapped
+     * @throws IOException if the log cannot be mapped
+     */
+    private void ensureMapped(final int index) throws IOException {
+        if (index >= this.mappedSize) {
+            this.mapped = this.channel.map(FileChannel.MapMode.READ_ONLY, 0, ScoreLog.recordOffset(this.size));
+            this.mappedSize = this.size;
+        }
+    }
+
+    /**
+     * Validates the given record number to ensure it is within this log.
+     *
+     * @param index the record number
+     */
+    private void validateIndex(final int index) {
+        if (index < 0 || index >= this.size) {
+            throw new IndexOutOfBoundsException("The score record " + index + " is outside of the log.");
+        }
+    }
+
+    /**
+     * Reads the score with the given record number.
+     *
+     * @param index the record number
+     * @return the decoded score
+     * @throws IOException if the log cannot be mapped, or the record is corrupt
+     */
+    public synchronized Score get(final int index) throws IOException {
+        this.validateIndex(index);
+        this.ensureMapped(index);
+
+        final int offset;
+        offset = (int) ScoreLog.recordOffset(index);
+
+        if (!ScoreLog.isValidRecord(this.mapped, offset)) {
+            throw new IOException("The score record " + index + " is corrupt.");
+        }
+
+        return ScoreLog.decode(this.mapped, offset);
+    }
+
+    /**
+     * Returns whether the record with the given number has a matching checksum.
+     *
+     * @param index the record number
+     * @return whether the record is valid
+     * @throws IOException if the log cannot be mapped
+     */
+    public synchronized boolean isValid(final int index) throws IOException {
+        this.validateIndex(index);
+        this.ensureMapped(index);
+
+        return ScoreLog.isValidRecord(this.mapped, (int) ScoreLog.recordOffset(index));
+    }
+
+    /**
+     * Reads every valid score within this log, in the order they were appended. Corrupt records are left out.
+     *
+     * @return the decoded scores
+     * @throws IOException if the log cannot be mapped
+     */
+    public synchronized List<Score> readAll() throws IOException {
+        final List<Score> scores;
+        scores = new ArrayList<>(this.size);
+
+        if (this.size == 0) {
+            return scores;
+        }
+
+        this.ensureMapped(this.size - 1);
+
+        for (int i = 0; i < this.size; i++) {
+            final int offset;
+            offset = (int) ScoreLog.recordOffset(i);
+
+            if (ScoreLog.isValidRecord(this.mapped, offset)) {
+                scores.add(ScoreLog.decode(this.mapped, offset));
+            }
+        }
+
+        return scores;
+    }
+
+    /**
+     * Reads every valid score within this log, in the order they were appended, with plain reads rather than the
+     * mapping, so the file can be replaced as soon as this log is closed. Corrupt records are left out.
+     *
+     * @param scores the list to add the valid scores to
+     * @return the amount of corrupt records that were left out
+     * @throws IOException if the log cannot be read
+     */
+    public synchronized int readValid(final List<Score> scores) throws IOException {
+        final ByteBuffer chunk;
+        int corrupt = 0;
+        int read;
+
+        chunk = ByteBuffer.allocate(ScoreLog.RECORD_BYTES * ScoreLog.SCAN_CHUNK_RECORDS);
+
+        for (int first = 0; first < this.size; first += read) {
+            read = this.readRecords(first, this.size, chunk);
+
+            for (int i = 0; i < read; i++) {
+                final int offset;
+                offset = i * ScoreLog.RECORD_BYTES;
+
+                if (ScoreLog.isValidRecord(chunk, offset)) {
+                    scores.add(ScoreLog.decode(chunk, offset));
+                } else {
+                    corrupt++;
+                }
+            }
+        }
+
+        return corrupt;
+    }
+
+    /**
+     * Reads every valid score within this log into a new column store, in the order they were appended, without
+     * decoding any of them into a {@link Score}. Corrupt records are left out.
+     *
+     * @return the column store
+     * @throws IOException if the log cannot be mapped
+     */
+    public synchronized ScoreColumns readColumns() throws IOException {
+        final ScoreColumns columns;
+        columns = new ScoreColumns();
+
+        if (this.size == 0) {
+            return columns;
+        }
+
+        this.ensureMapped(this.size - 1);
+
+        for (int i = 0; i < this.size; i++) {
+            final int offset;
+            final int payload;
+
+            offset = (int) ScoreLog.recordOffset(i);
+            payload = offset + Integer.BYTES;
+
+            if (ScoreLog.isValidRecord(this.mapped, offset)) {
+                columns.add(this.mapped.getLong(payload),
+                            this.mapped.getInt(payload + Long.BYTES),
+                            this.mapped.getInt(payload + Long.BYTES + Integer.BYTES),
+                            this.mapped.getInt(payload + Long.BYTES + Integer.BYTES * 2),
+                            this.mapped.getInt(payload + Long.BYTES + Integer.BYTES * 3));
+            }
+        }
+
+        return columns;
+    }
+
+    /**
+     * Writes every valid score within this log to the given file as human-readable persistent reports, replacing any
+     * existing content. Corrupt records are left out. The reports are written one at a time, so the export never
+     * holds more than a single report in memory. The exported file can be read back with
+     * {@link Score#readScoresFromFile(Path)}.
+     *
+     * @param reportFile the file to export to
+     * @throws IOException if the log cannot be read, or the report cannot be written
+     */
+    public synchronized void exportReport(final Path reportFile) throws IOException {
+        try (final BufferedWriter writer = Files.newBufferedWriter(reportFile)) {
+            if (this.size == 0) {
+                return;
+            }
+
+            boolean first = true;
+            this.ensureMapped(this.size - 1);
+
+            for (int i = 0; i < this.size; i++) {
+                final int offset;
+                offset = (int) ScoreLog.recordOffset(i);
+
+                if (!ScoreLog.isValidRecord(this.mapped, offset)) {
+                    continue;
+                }
+
+                if (!first) {
+                    writer.write(System.lineSeparator());
+                }
+
+                writer.write(ScoreLog.decode(this.mapped, offset).toPersistentReport());
+                first = false;
+            }
+        }
+    }
+
+    /**
+     * Returns the score with the highest score per game within this log, read from its summarized record number.
+     * <p>
+     * If the summarized best record has been corrupted since, the best scores are found again by scanning the log.
+     *
+     * @return the best score, or an empty optional if the log holds no valid records
+     * @throws IOException if the log cannot be mapped
+     */
+    public synchronized Optional<Score> getBest() throws IOException {
+        if (this.topCount > 0 && !this.isValid(this.topIndexes[0])) {
+            this.findTop();
+        }
+
+        if (this.topCount == 0) {
+            return Optional.empty();
+        }
+
+        return Optional.of(this.get(this.topIndexes[0]));
+    }
+
+    /**
+     * Returns the {@value ScoreLog#TOP_CAPACITY} scores with the highest score per game within this log, from the best
+     * to the worst, read from their summarized record numbers.
+     * <p>
+     * If any of the summarized best records have been corrupted since, the best scores are found again by scanning
+     * the log.
+     *
+     * @return the best scores
+     * @throws IOException if the log cannot be mapped
+     */
+    public synchronized List<Score> getTop() throws IOException {
+        final List<Score> top;
+        top = new ArrayList<>(this.topCount);
+
+        for (int i = 0; i < this.topCount; i++) {
+            if (!this.isValid(this.topIndexes[i])) {
+                this.findTop();
+                break;
+            }
+        }
+
+        for (int i = 0; i < this.topCount; i++) {
+            top.add(this.get(this.topIndexes[i]));
+        }
+
+        return top;
+    }
+
+    /**
+     * Finds the valid records with the highest score per game, and makes them the summarized best records. The
+     * summary on disk is rewritten the next time the log is forced.
+     *
+     * @throws IOException if the log cannot be mapped
+     */
+    private void findTop() throws IOException {
+        this.topCount = 0;
+        this.ensureMapped(this.size - 1);
+
+        for (int i = 0; i < this.size; i++) {
+            final int offset;
+            offset = (int) ScoreLog.recordOffset(i);
+
+            if (ScoreLog.isValidRecord(this.mapped, offset)) {
+                this.offerTop(i, ScoreLog.decode(this.mapped, offset));
+            }
+        }
+
+        this.summaryChanged = true;
+    }
+
+    /**
+     * Returns the highest score per game within this log, as summarized.
+     *
+     * @return the best score per game, or zero if the log is empty
+     */
+    public synchronized double getBestScorePerGame() {
+        return this.topCount == 0 ? 0 : this.topScoresPerGame[0];
+    }
+
+    /**
+     * Returns when the score with the highest score per game within this log was played, as summarized.
+     *
+     * @return the best date time played, or an empty optional if the log is empty
+     */
+    public synchronized Optional<LocalDateTime> getBestDateTimePlayed() {
+        if (this.topCount == 0) {
+            return Optional.empty();
+        }
+
+        return Optional.of(LocalDateTime.ofEpochSecond(this.topEpochSeconds[0], 0, ZoneOffset.UTC));
+    }
+
+    /**
+     * Returns the total points of all scores within this log, as summarized.
+     *
+     * @return the total points
+     */
+    public synchronized long getTotalPoints() {
+        return this.totalPoints;
+    }
+
+    /**
+     * Returns the amount of scores within this log.
+     *
+     * @return the score count
+     */
+    public synchronized int size() {
+        return this.size;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        try {
+            if (this.summaryChanged && this.channel.isOpen()) {
+                this.force();
+            }
+        } finally {
+            // The mapping is released once it is unreachable, so the file can be replaced or truncated afterwards
+            this.mapped = null;
+            this.mappedSize = 0;
+            this.channel.close();
+        }
+    }
+
+}
@@ -0,0 +1,79 @@
+package ca.bcit.comp2522.games.game.word.score;
+
+import ca.bcit.comp2522.games.util.Strings;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An offline tool that rewrites a {@link ScoreLog}, keeping only its valid records.
+ * <p>
+ * Opening the log already truncates a torn tail, while compacting also drops corrupt records from the middle of the
+ * log and rebuilds its summary from the records that remain. The compacted log is written next to the original first
+ * and moved into place once complete, so the original is never left partially rewritten. The log must not be open
+ * anywhere else while it is compacted.
+ *
+ * @author Ole Lammers
+ * @version 1.0
+ */
+public final class ScoreLogCompactor {
+
+    /**
+     * Compacts the score log at the given path, replacing it with a log that holds only its valid records.
+     *
+     * @param logFile the score log file
+     * @return the amount of corrupt records that were dropped
+     * @throws IOException if the log cannot be read, or the compacted log cannot be written
+     */
+    public static int compact(final Path logFile) throws IOException {
+        final Path tempFile;
+        final List<Score> kept;
+        final int dropped;
+
+        tempFile = logFile.resolveSibling(logFile.getFileName() + ".tmp");
+        kept = new ArrayList<>();
+
+        // Read without mapping the log, which would keep it from being replaced on some platforms
+        try (final ScoreLog log = ScoreLog.open(logFile)) {
+            dropped = log.readValid(kept);
+        }
+
+        // Left behind by a compaction that was interrupted before it could be moved into place
+        Files.deleteIfExists(tempFile);
+
+        try {
+            try (final ScoreLog compacted = ScoreLog.open(tempFile)) {
+                compacted.appendAll(kept);
+                compacted.force();
+            }
+
+            Files.move(tempFile, logFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+
+        return dropped;
+    }
+
+    /**
+     * Compacts the score log given as the first argument, or the word game score log if there is none.
+     *
+     * @param args the command line arguments
+     * @throws IOException if the log cannot be compacted
+     */
+    public static void main(final String[] args) throws IOException {
+        final Path logFile;
+        final int dropped;
+
+        logFile = Path.of(args.length > 0 ? args[0] : "score.log");
+        dropped = ScoreLogCompactor.compact(logFile);
+
+        System.out.printf("Compacted %s, dropping %d corrupt %s.%n", logFile, dropped,
+                          Strings.pluralize(dropped, "record"));
+    }
+
+}
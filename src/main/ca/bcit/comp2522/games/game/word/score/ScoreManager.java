@@ -1,84 +1,382 @@
 package ca.bcit.comp2522.games.game.word.score;
 
+import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.OptionalInt;
+import java.util.Queue;
+import java.util.SortedMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Manages multiple score instances.
+ * <p>
+ * Scores are persisted to a binary {@link ScoreLog}, which can be exported to the human-readable report format on
+ * demand. The high score and the leaderboard of the best scores are read from the summary of the log, so neither
+ * creating a manager nor ranking a score depends on how many scores were ever committed. The time index is only built
+ * from the full history the first time it is queried, and kept up to date as scores are committed from then on.
+ * <p>
+ * The percentiles of the score per game and the accuracy are answered from a {@link ScoreDistribution}, which is
+ * updated as scores are committed and saved next to the log whenever the manager is flushed or closed. A saved
+ * distribution that does not cover every record of the log is rebuilt from the full history the first time it is
+ * queried.
+ * <p>
+ * Committed scores are appended to the log in the background by a {@link ScoreWriter}, so a manager must be
+ * {@link #close() closed} for its last commits to be guaranteed durable. Each appended batch is queued along with its
+ * record numbers, and the next query adds every queued score that the leaderboard, time index and distribution do not
+ * cover yet, so none of them ever miss a score or count it twice.
+ * <p>
+ * A manager can be shared by any amount of concurrent game sessions. Each session accumulates its own score in a
+ * {@link ScoreSession}, and committing only adds the score to the lock-free queue of the writer, so it never waits on
+ * a query, a flush or any IO. Queries wait until every score committed before them has been appended, and return
+ * snapshots rather than live views.
  *
  * @author Ole Lammers
  * @version 1.0
  */
-public final class ScoreManager {
+public final class ScoreManager implements AutoCloseable {
 
-    private final List<Score> scores;
-    private final Path scoresFile;
+    /**
+     * The amount of best scores kept on the leaderboard.
+     */
+    public static final int LEADERBOARD_CAPACITY = ScoreLog.TOP_CAPACITY;
+
+    private static final long DEFAULT_SYNC_INTERVAL_MILLIS = 1000;
+
+    private final ScoreLog log;
+    private final ScoreWriter writer;
+    private final Path distributionFile;
+    private final AtomicReference<Score> highScore;
+
+    /**
+     * The batches appended to the log that have not been added to the leaderboard, time index and distribution yet.
+     */
+    private final Queue<AppendedBatch> appendedBatches;
+
+    /**
+     * The distribution of the tracked scores, or null if it has to be rebuilt from the history. Guarded by this
+     * manager.
+     */
+    private ScoreDistribution distribution;
 
-    private Score sessionScore;
+    /**
+     * The amount of leading log records the distribution covers. Guarded by this manager.
+     */
+    private int distributionRecords;
+
+    /**
+     * The leaderboard of the tracked scores. Guarded by this manager.
+     */
+    private final Leaderboard leaderboard;
+
+    /**
+     * The amount of leading log records the leaderboard covers. Guarded by this manager.
+     */
+    private int leaderboardRecords;
+
+    /**
+     * The tracked scores indexed by when they were played, or null if the history has not been loaded yet. Guarded by
+     * this manager.
+     */
+    private ScoreTimeIndex timeIndex;
+
+    /**
+     * The amount of leading log records the time index covers. Guarded by this manager.
+     */
+    private int indexedRecords;
 
     /**
      * Creates a new score manager.
      *
-     * @param scoresFile the path to the data file to save and load scores
+     * @param logFile the path to the score log to save and load scores
      */
-    public ScoreManager(final Path scoresFile) {
-        this.scores = new ArrayList<>();
-        this.scoresFile = scoresFile;
-        this.load();
+    public ScoreManager(final Path logFile) {
+        this(logFile, null, ScoreWriter.SyncPolicy.EVERY_COMMIT, ScoreManager.DEFAULT_SYNC_INTERVAL_MILLIS);
     }
 
     /**
-     * Commits the given score to the current session score.
+     * Creates a new score manager, importing the scores of the given legacy report file if the score log does not
+     * exist yet.
+     *
+     * @param logFile            the path to the score log to save and load scores
+     * @param legacyReportFile   the path to a report file written by {@link Score#appendScoreToFile(Score, Path)}, or
+     *                           null if there is none to import
+     * @param syncPolicy         when committed scores are forced out to the storage device
+     * @param syncIntervalMillis the maximum time committed scores stay unforced, only used by
+     *                           {@link ScoreWriter.SyncPolicy#INTERVAL}
+     */
+    public ScoreManager(final Path logFile, final Path legacyReportFile, final ScoreWriter.SyncPolicy syncPolicy,
+                        final long syncIntervalMillis) {
+        final boolean importLegacy;
+        importLegacy = legacyReportFile != null && Files.notExists(logFile) && Files.exists(legacyReportFile);
+        this.distributionFile = ScoreDistribution.fileFor(logFile);
+
+        try {
+            if (importLegacy) {
+                ScoreManager.importLegacyReports(legacyReportFile, logFile);
+            }
+
+            this.log = ScoreLog.open(logFile);
+
+            this.highScore = new AtomicReference<>(this.log.getBest().orElse(null));
+            this.leaderboard = new Leaderboard(ScoreManager.LEADERBOARD_CAPACITY);
+
+            for (final Score score : this.log.getTop()) {
+                this.leaderboard.offer(score);
+            }
+
+            // An empty log needs no distribution to be rebuilt, even if none was ever saved
+            if (this.log.size() == 0) {
+                this.distribution = new ScoreDistribution();
+            } else {
+                this.distribution = ScoreManager.readDistribution(this.distributionFile, this.log.size());
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+
+        this.leaderboardRecords = this.log.size();
+        this.distributionRecords = this.log.size();
+        this.appendedBatches = new ConcurrentLinkedQueue<>();
+        this.writer = new ScoreWriter(this.log, syncPolicy, syncIntervalMillis,
+                                      (batch, first) -> this.appendedBatches.add(new AppendedBatch(batch, first)));
+    }
+
+    /**
+     * Imports the scores of the given legacy report file into a new score log at the given path.
      * <p>
-     * If there is no active session, it will be set to the given score, otherwise, the given score will be added to
-     * the session.
+     * The scores are imported into a log next to the target first, which is only moved into place once the import is
+     * complete and forced out to the storage device. A failed or interrupted import therefore never leaves a score log
+     * behind, so the import is retried the next time a manager is created.
      *
-     * @param score the score to commit
+     * @param legacyReportFile the legacy report file
+     * @param logFile          the score log file to create
+     * @throws IOException if the report file cannot be read, or the log cannot be written
      */
-    public void addToSession(final Score score) {
-        if (this.sessionScore == null) {
-            this.sessionScore = score;
-        } else {
-            this.sessionScore = this.sessionScore.add(score);
+    private static void importLegacyReports(final Path legacyReportFile, final Path logFile) throws IOException {
+        final Path tempFile;
+        tempFile = logFile.resolveSibling(logFile.getFileName() + ".import");
+
+        // Left behind by an import that was interrupted before it could be moved into place
+        Files.deleteIfExists(tempFile);
+
+        try {
+            try (final ScoreLog imported = ScoreLog.open(tempFile)) {
+                imported.appendAll(ScoreManager.readLegacyReports(legacyReportFile));
+                imported.force();
+            }
+
+            Files.move(tempFile, logFile, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tempFile);
         }
     }
 
     /**
-     * Returns the current session score, or null if there is none.
+     * Reads the scores of the given legacy report file, stopping at the first malformed report, such as one that was
+     * only partially written.
      *
-     * @return the current session score
+     * @param legacyReportFile the legacy report file
+     * @return the scores of every complete report before the first malformed one
+     * @throws IOException if the file cannot be read
      */
-    public Score getSessionScore() {
-        return this.sessionScore;
+    private static List<Score> readLegacyReports(final Path legacyReportFile) throws IOException {
+        final List<Score> scores;
+        scores = new ArrayList<>();
+
+        try (final ScoreReader reader = ScoreReader.open(legacyReportFile)) {
+            while (reader.hasNext()) {
+                scores.add(reader.next());
+            }
+        } catch (IllegalArgumentException e) {
+            // Every report before the malformed one is still imported
+        }
+
+        return scores;
     }
 
     /**
-     * Clears the current session score.
+     * Reads the saved distribution of the score log, if it covers exactly the records of the log.
+     *
+     * @param distributionFile the saved distribution file
+     * @param recordCount      the amount of records in the score log
+     * @return the saved distribution, or null if it does not exist, is malformed, or does not cover the log
      */
-    public void resetSession() {
-        this.sessionScore = null;
+    private static ScoreDistribution readDistribution(final Path distributionFile, final long recordCount) {
+        if (Files.notExists(distributionFile)) {
+            return null;
+        }
+
+        try {
+            final ScoreDistribution saved;
+            saved = ScoreDistribution.read(distributionFile);
+
+            return saved.getRecordCount() == recordCount ? saved : null;
+        } catch (IOException | IllegalArgumentException e) {
+            // A distribution that cannot be read is rebuilt the same way as an outdated one
+            return null;
+        }
+    }
+
+    /**
+     * Starts a new, empty game session.
+     *
+     * @return the session
+     */
+    public ScoreSession startSession() {
+        return new ScoreSession();
     }
 
     /**
-     * Commits the current session score, if any, to the tracked scores, and resets the session.
+     * Commits the score of the given session to the tracked scores, unless the session is empty.
+     *
+     * @param session the session to commit
      */
-    public void commitSession() {
-        if (this.sessionScore == null) {
+    public void commitSession(final ScoreSession session) {
+        if (session.isEmpty()) {
             return;
         }
 
-        this.commitScore(this.sessionScore);
-        this.resetSession();
+        this.commitScore(session.toScore());
     }
 
     /**
-     * Clears the current saved scores, and loads the new list from the scores data file.
+     * Adds every queued appended score to the leaderboard, time index and distribution, unless they already cover its
+     * record, or have not been loaded yet and will read it from the log once they are. Must be called while holding
+     * this manager.
      */
-    private void load() {
-        this.scores.clear();
-        this.scores.addAll(Score.readScoresFromFile(this.scoresFile));
+    private void addAppendedScores() {
+        AppendedBatch batch;
+
+        while ((batch = this.appendedBatches.poll()) != null) {
+            for (int i = 0; i < batch.scores().size(); i++) {
+                final int index;
+                final Score score;
+
+                index = batch.first() + i;
+                score = batch.scores().get(i);
+
+                if (index >= this.leaderboardRecords) {
+                    this.leaderboard.offer(score);
+                    this.leaderboardRecords = index + 1;
+                }
+
+                if (this.timeIndex != null && index >= this.indexedRecords) {
+                    this.timeIndex.add(score);
+                    this.indexedRecords = index + 1;
+                }
+
+                if (this.distribution != null && index >= this.distributionRecords) {
+                    this.distribution.record(score);
+                    this.distributionRecords = index + 1;
+                }
+            }
+        }
+    }
+
+    /**
+     * Adds every score committed since the leaderboard was read from the summary of the score log to it. Must be
+     * called while holding this manager.
+     */
+    private void ensureRanked() {
+        this.awaitWritten();
+        this.addAppendedScores();
+    }
+
+    /**
+     * Loads the full history from the score log into the time index, if it has not been loaded yet, and adds every
+     * score committed since then to it. Must be called while holding this manager.
+     */
+    private void ensureIndexed() {
+        this.awaitWritten();
+
+        if (this.timeIndex == null) {
+            final ScoreTimeIndex indexed;
+            final int recordCount;
+
+            indexed = new ScoreTimeIndex();
+            recordCount = this.log.size();
+
+            try {
+                for (int i = 0; i < recordCount; i++) {
+                    // Corrupt records are left out until the log is compacted
+                    if (this.log.isValid(i)) {
+                        indexed.add(this.log.get(i));
+                    }
+                }
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+
+            this.timeIndex = indexed;
+            this.indexedRecords = recordCount;
+        }
+
+        this.addAppendedScores();
+    }
+
+    /**
+     * Rebuilds the distribution from the full history in the score log, if it was not read from its saved file or
+     * rebuilt before, and records every score committed since then. Must be called while holding this manager.
+     */
+    private void ensureDistribution() {
+        this.awaitWritten();
+
+        if (this.distribution == null) {
+            final ScoreDistribution rebuilt;
+            final int recordCount;
+
+            rebuilt = new ScoreDistribution();
+            recordCount = this.log.size();
+
+            try {
+                for (int i = 0; i < recordCount; i++) {
+                    if (this.log.isValid(i)) {
+                        rebuilt.record(this.log.get(i));
+                    }
+                }
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+
+            this.distribution = rebuilt;
+            this.distributionRecords = recordCount;
+        }
+
+        this.addAppendedScores();
+    }
+
+    /**
+     * Saves the distribution next to the score log, as covering every record it has recorded. Does nothing if the
+     * distribution has not been read or rebuilt. Expects every committed score to have been written already.
+     *
+     * @throws IOException if the distribution cannot be written
+     */
+    private void saveDistribution() throws IOException {
+        final ScoreDistribution snapshot;
+        final int recordCount;
+
+        // The snapshot is taken while holding this manager, but written without it
+        synchronized (this) {
+            if (this.distribution == null) {
+                return;
+            }
+
+            this.addAppendedScores();
+
+            snapshot = this.distribution.copy();
+            recordCount = this.distributionRecords;
+        }
+
+        snapshot.write(this.distributionFile, recordCount);
     }
 
     /**
@@ -87,8 +385,30 @@ public final class ScoreManager {
      * @param score the score to add
      */
     public void commitScore(final Score score) {
-        this.scores.add(score);
-        Score.appendScoreToFile(score, this.scoresFile);
+        try {
+            this.writer.submit(score);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+
+        // Only a strictly higher score replaces the high score, so the earliest of equal scores is kept
+        this.highScore.accumulateAndGet(score, (highest, candidate) -> highest == null ||
+                candidate.getScorePerGame() > highest.getScorePerGame() ? candidate : highest);
+    }
+
+    /**
+     * Writes every tracked score to the given file in the human-readable report format.
+     *
+     * @param reportFile the file to export to
+     */
+    public void exportReport(final Path reportFile) {
+        this.awaitWritten();
+
+        try {
+            this.log.exportReport(reportFile);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
     }
 
     /**
@@ -98,8 +418,176 @@ public final class ScoreManager {
      * @return the high score instance
      */
     public Optional<Score> getHighScore() {
-        return this.scores.stream()
-                .reduce((highest, score) -> score.getScorePerGame() > highest.getScorePerGame() ? score : highest);
+        return Optional.ofNullable(this.highScore.get());
+    }
+
+    /**
+     * Returns the amount of tracked scores.
+     *
+     * @return the tracked score count
+     */
+    public int getScoreCount() {
+        this.awaitWritten();
+
+        return this.log.size();
+    }
+
+    /**
+     * Returns the total points of all tracked scores.
+     *
+     * @return the total points
+     */
+    public long getTotalPoints() {
+        this.awaitWritten();
+
+        return this.log.getTotalPoints();
+    }
+
+    /**
+     * Waits until every committed score has been appended to the score log, so that it can be read back.
+     */
+    private void awaitWritten() {
+        try {
+            this.writer.awaitWritten();
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Waits until every committed score has been forced out to the storage device, and saves the distribution.
+     */
+    public void flush() {
+        try {
+            this.writer.flush();
+            this.saveDistribution();
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Flushes every committed score, saves the distribution, and closes the score log. No scores can be committed
+     * afterwards.
+     */
+    @Override
+    public void close() {
+        try {
+            this.writer.close();
+            this.saveDistribution();
+            this.log.close();
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Returns the best tracked scores by score per game, from the best to the worst, up to
+     * {@value ScoreManager#LEADERBOARD_CAPACITY} entries. This excludes the current session score.
+     *
+     * @return the leaderboard entries
+     */
+    public synchronized List<Score> getLeaderboard() {
+        this.ensureRanked();
+
+        return this.leaderboard.getEntries();
+    }
+
+    /**
+     * Returns the rank the given score would take on the leaderboard if it were committed.
+     *
+     * @param score the score to rank
+     * @return the rank, starting at 1, or an empty optional if the score would not make it onto the leaderboard
+     */
+    public synchronized OptionalInt getRank(final Score score) {
+        this.ensureRanked();
+
+        return this.leaderboard.rankOf(score.getScorePerGame());
+    }
+
+    /**
+     * Returns the highest score per game of the tracked scores played within the given time range.
+     *
+     * @param from the start of the range, inclusive
+     * @param to   the end of the range, exclusive
+     * @return the best score per game, or an empty optional if no scores were played within the range
+     */
+    public synchronized OptionalDouble getBestScorePerGame(final LocalDateTime from, final LocalDateTime to) {
+        this.ensureIndexed();
+
+        return this.timeIndex.getBestScorePerGame(from, to);
+    }
+
+    /**
+     * Returns the average score per game over every game of the tracked scores played within the given time range.
+     *
+     * @param from the start of the range, inclusive
+     * @param to   the end of the range, exclusive
+     * @return the average score per game, or an empty optional if no scores were played within the range
+     */
+    public synchronized OptionalDouble getAverageScorePerGame(final LocalDateTime from, final LocalDateTime to) {
+        this.ensureIndexed();
+
+        return this.timeIndex.getAverageScorePerGame(from, to);
+    }
+
+    /**
+     * Returns the amount of tracked sessions played on each day within the given range of days, leaving out days
+     * without any.
+     *
+     * @param from the first day of the range, inclusive
+     * @param to   the last day of the range, exclusive
+     * @return the session count of each day with sessions, ordered by day
+     */
+    public synchronized SortedMap<LocalDate, Integer> getSessionsPerDay(final LocalDate from, final LocalDate to) {
+        this.ensureIndexed();
+
+        return this.timeIndex.getSessionsPerDay(from, to);
+    }
+
+    /**
+     * Returns the score per game at or below which the given percentage of the tracked scores fall.
+     *
+     * @param percentile the percentile, from 0 to 100
+     * @return the score per game, or an empty optional if there are no tracked scores
+     */
+    public synchronized OptionalDouble getScorePerGamePercentile(final double percentile) {
+        this.ensureDistribution();
+
+        return this.distribution.getScorePerGamePercentile(percentile);
+    }
+
+    /**
+     * Returns the accuracy, from 0 to 1, at or below which the given percentage of the tracked scores fall.
+     *
+     * @param percentile the percentile, from 0 to 100
+     * @return the accuracy, or an empty optional if there are no tracked scores with answered questions
+     */
+    public synchronized OptionalDouble getAccuracyPercentile(final double percentile) {
+        this.ensureDistribution();
+
+        return this.distribution.getAccuracyPercentile(percentile);
+    }
+
+    /**
+     * Returns a snapshot of the distribution of the tracked scores, for instance to merge with the distributions of
+     * other score logs.
+     *
+     * @return the distribution snapshot
+     */
+    public synchronized ScoreDistribution getDistribution() {
+        this.ensureDistribution();
+
+        return this.distribution.copy();
+    }
+
+    /**
+     * A batch of scores appended to the score log.
+     *
+     * @param scores the appended scores, in record order
+     * @param first  the record number of the first score
+     */
+    private record AppendedBatch(List<Score> scores, int first) {
     }
 
 }
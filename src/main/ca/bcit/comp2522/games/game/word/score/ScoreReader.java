@@ -0,0 +1,187 @@
+package ca.bcit.comp2522.games.game.word.score;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Reads persistent score reports, as written by {@link Score#appendScoreToFile(Score, Path)}, one line at a time,
+ * decoding each score as soon as its report is complete.
+ * <p>
+ * Reports are separated from each other by at least one blank line. Each line holds a label and its encoded data,
+ * split by {@link Score#ENCODED_LINE_DATA_SEPARATOR}, and the data is parsed straight out of the line it was read in,
+ * so only the current line is ever held in memory.
+ *
+ * @author Ole Lammers
+ * @version 1.0
+ */
+public final class ScoreReader implements Iterator<Score>, Closeable {
+
+    /**
+     * The amount of fields each report encodes: the date time played, followed by the four counters.
+     */
+    private static final int REPORT_FIELDS = 5;
+
+    private final BufferedReader reader;
+    private final int[] counters;
+
+    private LocalDateTime dateTimePlayed;
+    private int fieldCount;
+    private Score next;
+
+    /**
+     * Creates a new score reader over the given reader.
+     *
+     * @param reader the reader to read persistent score reports from
+     */
+    public ScoreReader(final BufferedReader reader) {
+        if (reader == null) {
+            throw new IllegalArgumentException("A score reader requires a reader.");
+        }
+
+        this.reader = reader;
+        this.counters = new int[ScoreReader.REPORT_FIELDS - 1];
+    }
+
+    /**
+     * Opens a score reader over the given report file.
+     *
+     * @param reportFile the report file
+     * @return the opened reader
+     * @throws IOException if the file cannot be opened
+     */
+    public static ScoreReader open(final Path reportFile) throws IOException {
+        final FileChannel channel;
+        channel = FileChannel.open(reportFile, StandardOpenOption.READ);
+
+        return new ScoreReader(new BufferedReader(Channels.newReader(channel, StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Returns a sequential stream of the remaining scores of this reader. Closing the stream closes this reader.
+     *
+     * @return the stream of scores
+     */
+    public Stream<Score> stream() {
+        final Spliterator<Score> spliterator;
+        spliterator = Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED | Spliterator.NONNULL);
+
+        return StreamSupport.stream(spliterator, false).onClose(() -> {
+            try {
+                this.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    /**
+     * Reads lines until the next report has been completed, or the end of the input is reached.
+     *
+     * @return the decoded score of the report, or null if there are no more reports
+     * @throws IOException if the underlying reader fails
+     */
+    private Score readReport() throws IOException {
+        String line;
+        boolean inReport = false;
+
+        this.fieldCount = 0;
+
+        while ((line = this.reader.readLine()) != null) {
+            if (line.isBlank()) {
+                if (inReport) {
+                    break;
+                }
+
+                continue;
+            }
+
+            inReport = true;
+            this.decodeLine(line);
+        }
+
+        if (!inReport) {
+            return null;
+        }
+
+        if (this.fieldCount < ScoreReader.REPORT_FIELDS) {
+            throw new IllegalArgumentException(
+                    "The persistent report only included " + this.fieldCount + " of the " + ScoreReader.REPORT_FIELDS +
+                            " required lines.");
+        }
+
+        return new Score(this.dateTimePlayed, this.counters[0], this.counters[1], this.counters[2],
+                         this.counters[3]);
+    }
+
+    /**
+     * Decodes the data of a single report line into the next field, ignoring lines without data and any lines past
+     * the required fields, such as the total score.
+     *
+     * @param line the report line
+     */
+    private void decodeLine(final String line) {
+        final int separator;
+        final int dataStart;
+
+        separator = line.indexOf(Score.ENCODED_LINE_DATA_SEPARATOR);
+        if (separator < 0 || this.fieldCount == ScoreReader.REPORT_FIELDS) {
+            return;
+        }
+
+        dataStart = separator + Score.ENCODED_LINE_DATA_SEPARATOR.length();
+
+        if (this.fieldCount == 0) {
+            this.dateTimePlayed = Score.parseDateTimePlayed(line, dataStart);
+        } else {
+            this.counters[this.fieldCount - 1] = Integer.parseInt(line, dataStart, line.length(), 10);
+        }
+
+        this.fieldCount++;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (this.next == null) {
+            try {
+                this.next = this.readReport();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        return this.next != null;
+    }
+
+    @Override
+    public Score next() {
+        if (!this.hasNext()) {
+            throw new NoSuchElementException("There are no more score reports to read.");
+        }
+
+        final Score score;
+        score = this.next;
+        this.next = null;
+
+        return score;
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.reader.close();
+    }
+
+}
@@ -0,0 +1,77 @@
+package ca.bcit.comp2522.games.game.word.score;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Accumulates the scores of a single game session, separately from any other session.
+ * <p>
+ * Each counter is a {@link LongAdder}, so game scores can be added to the same session from multiple threads without
+ * contending on a shared lock. The session is played at the date time of the first game score added to it.
+ *
+ * @author Ole Lammers
+ * @version 1.0
+ */
+public final class ScoreSession {
+
+    private final AtomicReference<LocalDateTime> dateTimePlayed;
+    private final LongAdder numGamesPlayed;
+    private final LongAdder numCorrectFirstAttempt;
+    private final LongAdder numCorrectSecondAttempt;
+    private final LongAdder numIncorrectTwoAttempts;
+
+    /**
+     * Creates a new, empty session.
+     */
+    public ScoreSession() {
+        this.dateTimePlayed = new AtomicReference<>();
+        this.numGamesPlayed = new LongAdder();
+        this.numCorrectFirstAttempt = new LongAdder();
+        this.numCorrectSecondAttempt = new LongAdder();
+        this.numIncorrectTwoAttempts = new LongAdder();
+    }
+
+    /**
+     * Adds the given game score to this session.
+     *
+     * @param score the score to add
+     */
+    public void add(final Score score) {
+        if (score == null) {
+            throw new IllegalArgumentException("A score added to a session must be specified.");
+        }
+
+        this.dateTimePlayed.compareAndSet(null, score.getDateTimePlayed());
+        this.numGamesPlayed.add(score.getNumGamesPlayed());
+        this.numCorrectFirstAttempt.add(score.getNumCorrectFirstAttempt());
+        this.numCorrectSecondAttempt.add(score.getNumCorrectSecondAttempt());
+        this.numIncorrectTwoAttempts.add(score.getNumIncorrectTwoAttempts());
+    }
+
+    /**
+     * Returns whether no game score has been added to this session yet.
+     *
+     * @return whether the session is empty
+     */
+    public boolean isEmpty() {
+        return this.dateTimePlayed.get() == null;
+    }
+
+    /**
+     * Returns the total score of this session so far. Game scores added while this runs may only be partially
+     * included.
+     *
+     * @return the session score
+     */
+    public Score toScore() {
+        if (this.isEmpty()) {
+            throw new IllegalStateException("An empty session does not have a score.");
+        }
+
+        return new Score(this.dateTimePlayed.get(), this.numGamesPlayed.intValue(),
+                         this.numCorrectFirstAttempt.intValue(), this.numCorrectSecondAttempt.intValue(),
+                         this.numIncorrectTwoAttempts.intValue());
+    }
+
+}
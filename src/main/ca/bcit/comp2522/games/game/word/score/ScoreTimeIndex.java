@@ -0,0 +1,402 @@
+package ca.bcit.comp2522.games.game.word.score;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.OptionalDouble;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Indexes scores by when they were played, to answer queries over a range of time without scanning every score.
+ * <p>
+ * Scores are kept ordered by the epoch second they were played at, so the scores within a time range are found with
+ * two binary searches. Prefix sums of the points and games played give the average score per game of any range in
+ * constant time, and a segment tree over the score per game of each score gives the best of any range in logarithmic
+ * time. Scores are additionally rolled up into one bucket per day, holding the position of the first score of the day.
+ * <p>
+ * Scores are expected to be added mostly in the order they were played, which only extends the derived structures. A
+ * score played before the last added one is inserted in place, and the derived structures are rebuilt from its
+ * position on the next query.
+ *
+ * @author Ole Lammers
+ * @version 1.0
+ */
+public final class ScoreTimeIndex {
+
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int SECONDS_PER_DAY = 86_400;
+
+    // The scores ordered by when they were played, equal times kept in the order they were added
+    private long[] epochSeconds;
+    private int[] points;
+    private int[] games;
+    private int size;
+
+    /**
+     * The amount of leading scores the derived structures below are up to date for.
+     */
+    private int builtSize;
+
+    // The points and games played of the scores before each position
+    private long[] pointsPrefix;
+    private long[] gamesPrefix;
+
+    // A bottom-up segment tree of the score per game of each score, with its leaves starting at the leaf offset
+    private double[] bestTree;
+    private int leafOffset;
+
+    // The epoch day of each day with scores, and the position of its first score
+    private long[] days;
+    private int[] dayStarts;
+    private int dayCount;
+
+    /**
+     * Creates a new, empty time index.
+     */
+    public ScoreTimeIndex() {
+        this.epochSeconds = new long[ScoreTimeIndex.INITIAL_CAPACITY];
+        this.points = new int[ScoreTimeIndex.INITIAL_CAPACITY];
+        this.games = new int[ScoreTimeIndex.INITIAL_CAPACITY];
+        this.pointsPrefix = new long[ScoreTimeIndex.INITIAL_CAPACITY + 1];
+        this.gamesPrefix = new long[ScoreTimeIndex.INITIAL_CAPACITY + 1];
+        this.days = new long[ScoreTimeIndex.INITIAL_CAPACITY];
+        this.dayStarts = new int[ScoreTimeIndex.INITIAL_CAPACITY];
+        this.leafOffset = ScoreTimeIndex.INITIAL_CAPACITY;
+        this.bestTree = new double[this.leafOffset * 2];
+    }
+
+    /**
+     * Returns the epoch second of the given date time, encoded the same way as within the score log.
+     *
+     * @param dateTime the date time
+     * @return the epoch second
+     */
+    private static long toEpochSecond(final LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    /**
+     * Adds the given score to this index.
+     *
+     * @param score the score to add
+     */
+    public void add(final Score score) {
+        final long epochSecond;
+        final int position;
+
+        epochSecond = ScoreTimeIndex.toEpochSecond(score.getDateTimePlayed());
+        position = this.search(epochSecond + 1);
+
+        if (this.size == this.epochSeconds.length) {
+            final int capacity;
+            capacity = this.epochSeconds.length * 2;
+
+            this.epochSeconds = Arrays.copyOf(this.epochSeconds, capacity);
+            this.points = Arrays.copyOf(this.points, capacity);
+            this.games = Arrays.copyOf(this.games, capacity);
+        }
+
+        // Only a score played before the last one has to shift any others
+        System.arraycopy(this.epochSeconds, position, this.epochSeconds, position + 1, this.size - position);
+        System.arraycopy(this.points, position, this.points, position + 1, this.size - position);
+        System.arraycopy(this.games, position, this.games, position + 1, this.size - position);
+
+        this.epochSeconds[position] = epochSecond;
+        this.points[position] = score.getScore();
+        this.games[position] = score.getNumGamesPlayed();
+        this.size++;
+        this.builtSize = Math.min(this.builtSize, position);
+    }
+
+    /**
+     * Returns the position of the first score played at or after the given epoch second.
+     *
+     * @param epochSecond the epoch second
+     * @return the position, or the size of this index if every score was played before
+     */
+    private int search(final long epochSecond) {
+        int low = 0;
+        int high = this.size;
+
+        while (low < high) {
+            final int middle;
+            middle = (low + high) >>> 1;
+
+            if (this.epochSeconds[middle] < epochSecond) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+
+        return low;
+    }
+
+    /**
+     * Returns the position of the first day bucket of the given epoch day or later.
+     *
+     * @param epochDay the epoch day
+     * @return the bucket position, or the day count if every bucket is earlier
+     */
+    private int searchDay(final long epochDay) {
+        int low = 0;
+        int high = this.dayCount;
+
+        while (low < high) {
+            final int middle;
+            middle = (low + high) >>> 1;
+
+            if (this.days[middle] < epochDay) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+
+        return low;
+    }
+
+    /**
+     * Brings the derived structures up to date with every score in this index.
+     */
+    private void ensureBuilt() {
+        if (this.builtSize == this.size) {
+            return;
+        }
+
+        if (this.pointsPrefix.length <= this.size) {
+            this.pointsPrefix = Arrays.copyOf(this.pointsPrefix, this.epochSeconds.length + 1);
+            this.gamesPrefix = Arrays.copyOf(this.gamesPrefix, this.epochSeconds.length + 1);
+        }
+
+        // Day buckets starting before the first outdated score are unaffected, the last of them may be extended
+        while (this.dayCount > 0 && this.dayStarts[this.dayCount - 1] >= this.builtSize) {
+            this.dayCount--;
+        }
+
+        for (int i = this.builtSize; i < this.size; i++) {
+            final long epochDay;
+            epochDay = Math.floorDiv(this.epochSeconds[i], ScoreTimeIndex.SECONDS_PER_DAY);
+
+            this.pointsPrefix[i + 1] = this.pointsPrefix[i] + this.points[i];
+            this.gamesPrefix[i + 1] = this.gamesPrefix[i] + this.games[i];
+
+            if (this.dayCount == 0 || this.days[this.dayCount - 1] != epochDay) {
+                if (this.dayCount == this.days.length) {
+                    this.days = Arrays.copyOf(this.days, this.dayCount * 2);
+                    this.dayStarts = Arrays.copyOf(this.dayStarts, this.dayCount * 2);
+                }
+
+                this.days[this.dayCount] = epochDay;
+                this.dayStarts[this.dayCount] = i;
+                this.dayCount++;
+            }
+        }
+
+        this.buildBestTree();
+        this.builtSize = this.size;
+    }
+
+    /**
+     * Brings the segment tree up to date, growing it if it cannot hold every score, otherwise only updating the paths
+     * of the outdated leaves.
+     */
+    private void buildBestTree() {
+        if (this.leafOffset < this.size) {
+            while (this.leafOffset < this.size) {
+                this.leafOffset *= 2;
+            }
+
+            this.bestTree = new double[this.leafOffset * 2];
+
+            for (int i = 0; i < this.size; i++) {
+                this.bestTree[this.leafOffset + i] = this.getScorePerGame(i);
+            }
+
+            for (int node = this.leafOffset - 1; node > 0; node--) {
+                this.bestTree[node] = Math.max(this.bestTree[node * 2], this.bestTree[node * 2 + 1]);
+            }
+
+            return;
+        }
+
+        for (int i = this.builtSize; i < this.size; i++) {
+            int node = this.leafOffset + i;
+
+            this.bestTree[node] = this.getScorePerGame(i);
+
+            while (node > 1) {
+                node /= 2;
+                this.bestTree[node] = Math.max(this.bestTree[node * 2], this.bestTree[node * 2 + 1]);
+            }
+        }
+    }
+
+    /**
+     * Returns the score per game of the score at the given position, the same way {@link Score#getScorePerGame()}
+     * computes it.
+     *
+     * @param position the position of the score
+     * @return the score per game
+     */
+    private double getScorePerGame(final int position) {
+        if (this.games[position] == 0) {
+            return 0;
+        }
+
+        return ((double) this.points[position]) / this.games[position];
+    }
+
+    /**
+     * Returns the amount of scores played within the given time range.
+     *
+     * @param from the start of the range, inclusive
+     * @param to   the end of the range, exclusive
+     * @return the score count
+     */
+    public int count(final LocalDateTime from, final LocalDateTime to) {
+        return Math.max(0, this.search(ScoreTimeIndex.toEpochSecond(to)) -
+                this.search(ScoreTimeIndex.toEpochSecond(from)));
+    }
+
+    /**
+     * Returns the highest score per game of the scores played within the given time range.
+     *
+     * @param from the start of the range, inclusive
+     * @param to   the end of the range, exclusive
+     * @return the best score per game, or an empty optional if there are no scores within the range
+     */
+    public OptionalDouble getBestScorePerGame(final LocalDateTime from, final LocalDateTime to) {
+        this.ensureBuilt();
+
+        int low;
+        int high;
+        double best = Double.NEGATIVE_INFINITY;
+
+        low = this.search(ScoreTimeIndex.toEpochSecond(from));
+        high = this.search(ScoreTimeIndex.toEpochSecond(to));
+
+        if (low >= high) {
+            return OptionalDouble.empty();
+        }
+
+        // Climbs the tree from both ends of the leaf range, folding in every node that is fully within it
+        low += this.leafOffset;
+        high += this.leafOffset;
+
+        while (low < high) {
+            if ((low & 1) == 1) {
+                best = Math.max(best, this.bestTree[low++]);
+            }
+
+            if ((high & 1) == 1) {
+                best = Math.max(best, this.bestTree[--high]);
+            }
+
+            low /= 2;
+            high /= 2;
+        }
+
+        return OptionalDouble.of(best);
+    }
+
+    /**
+     * Returns the average score per game over every game played within the given time range, which is the total
+     * points divided by the total games played.
+     *
+     * @param from the start of the range, inclusive
+     * @param to   the end of the range, exclusive
+     * @return the average score per game, or an empty optional if there are no scores within the range
+     */
+    public OptionalDouble getAverageScorePerGame(final LocalDateTime from, final LocalDateTime to) {
+        this.ensureBuilt();
+
+        final int low;
+        final int high;
+        final long rangePoints;
+        final long rangeGames;
+
+        low = this.search(ScoreTimeIndex.toEpochSecond(from));
+        high = this.search(ScoreTimeIndex.toEpochSecond(to));
+
+        if (low >= high) {
+            return OptionalDouble.empty();
+        }
+
+        rangePoints = this.pointsPrefix[high] - this.pointsPrefix[low];
+        rangeGames = this.gamesPrefix[high] - this.gamesPrefix[low];
+
+        if (rangeGames == 0) {
+            return OptionalDouble.of(0);
+        }
+
+        return OptionalDouble.of(((double) rangePoints) / rangeGames);
+    }
+
+    /**
+     * Returns the amount of scores played on the given day.
+     *
+     * @param day the day
+     * @return the score count
+     */
+    public int getSessionsOn(final LocalDate day) {
+        this.ensureBuilt();
+
+        final int bucket;
+        bucket = this.searchDay(day.toEpochDay());
+
+        if (bucket == this.dayCount || this.days[bucket] != day.toEpochDay()) {
+            return 0;
+        }
+
+        return this.getBucketSize(bucket);
+    }
+
+    /**
+     * Returns the amount of scores played on each day within the given range of days, leaving out days without any.
+     *
+     * @param from the first day of the range, inclusive
+     * @param to   the last day of the range, exclusive
+     * @return the score count of each day with scores, ordered by day
+     */
+    public SortedMap<LocalDate, Integer> getSessionsPerDay(final LocalDate from, final LocalDate to) {
+        this.ensureBuilt();
+
+        final SortedMap<LocalDate, Integer> sessions;
+        final int end;
+
+        sessions = new TreeMap<>();
+        end = this.searchDay(to.toEpochDay());
+
+        for (int bucket = this.searchDay(from.toEpochDay()); bucket < end; bucket++) {
+            sessions.put(LocalDate.ofEpochDay(this.days[bucket]), this.getBucketSize(bucket));
+        }
+
+        return sessions;
+    }
+
+    /**
+     * Returns the amount of scores within the given day bucket.
+     *
+     * @param bucket the bucket position
+     * @return the score count
+     */
+    private int getBucketSize(final int bucket) {
+        final int end;
+        end = bucket + 1 < this.dayCount ? this.dayStarts[bucket + 1] : this.size;
+
+        return end - this.dayStarts[bucket];
+    }
+
+    /**
+     * Returns the amount of scores within this index.
+     *
+     * @return the score count
+     */
+    public int size() {
+        return this.size;
+    }
+
+}
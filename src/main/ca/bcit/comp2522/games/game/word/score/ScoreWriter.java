@@ -0,0 +1,299 @@
+package ca.bcit.comp2522.games.game.word.score;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * Appends scores to a {@link ScoreLog} behind the backs of the threads that submit them.
+ * <p>
+ * Submitted scores are added to a lock-free queue, and a background flusher appends everything that has queued up
+ * since its last write as a single batch, so many small commits turn into a few large writes. Each appended batch is
+ * handed to the append listener along with the record number of its first score. When the written records are forced
+ * out to the storage device is decided by the {@link SyncPolicy}. Submitting never waits for any IO nor any lock,
+ * {@link #flush()} waits until everything submitted so far is durable, and {@link #close()} flushes and stops the
+ * flusher.
+ * <p>
+ * If a write fails, the flusher stops, and the failure is rethrown by every following call.
+ *
+ * @author Ole Lammers
+ * @version 1.0
+ */
+public final class ScoreWriter implements Closeable {
+
+    private final ScoreLog log;
+    private final SyncPolicy syncPolicy;
+    private final long syncIntervalNanos;
+    private final ObjIntConsumer<List<Score>> appendListener;
+    private final Queue<Score> queue;
+    private final AtomicLong submitted;
+    private final Thread flusher;
+
+    private volatile boolean closed;
+    private volatile IOException failure;
+
+    // Guarded by this writer, which is notified whenever the flusher makes progress
+    private long written;
+    private long durable;
+    private long syncTarget;
+
+    /**
+     * Creates a new score writer, and immediately starts its flusher.
+     *
+     * @param log                the log to append scores to
+     * @param syncPolicy         when written records are forced out to the storage device
+     * @param syncIntervalMillis the maximum time written records stay unforced, only used by
+     *                           {@link SyncPolicy#INTERVAL}
+     * @param appendListener     called on the flusher with each appended batch and the record number of its first
+     *                           score, before the batch counts as written
+     */
+    public ScoreWriter(final ScoreLog log, final SyncPolicy syncPolicy, final long syncIntervalMillis,
+                       final ObjIntConsumer<List<Score>> appendListener) {
+        if (log == null || syncPolicy == null || appendListener == null) {
+            throw new IllegalArgumentException(
+                    "A score writer requires a score log, a sync policy and an append listener.");
+        }
+
+        if (syncIntervalMillis <= 0) {
+            throw new IllegalArgumentException(
+                    "The sync interval of a score writer must be positive, got " + syncIntervalMillis + ".");
+        }
+
+        this.log = log;
+        this.syncPolicy = syncPolicy;
+        this.syncIntervalNanos = TimeUnit.MILLISECONDS.toNanos(syncIntervalMillis);
+        this.appendListener = appendListener;
+        this.queue = new ConcurrentLinkedQueue<>();
+        this.submitted = new AtomicLong();
+        this.flusher = Thread.ofVirtual().name("score-writer").start(this::runFlusher);
+    }
+
+    /**
+     * Queues the given score to be appended to the log.
+     *
+     * @param score the score to append
+     * @throws IOException if a previous write failed
+     */
+    public void submit(final Score score) throws IOException {
+        if (score == null) {
+            throw new IllegalArgumentException("A submitted score must be specified.");
+        }
+
+        if (this.closed) {
+            throw new IllegalStateException("Cannot submit a score to a closed score writer.");
+        }
+
+        this.throwIfFailed();
+
+        this.queue.add(score);
+        this.submitted.incrementAndGet();
+        LockSupport.unpark(this.flusher);
+    }
+
+    /**
+     * Waits until every score submitted so far has been appended to the log, so that it can be read back, without
+     * forcing it out to the storage device.
+     *
+     * @throws IOException if a write failed, or the wait was interrupted
+     */
+    public synchronized void awaitWritten() throws IOException {
+        final long target;
+        target = this.submitted.get();
+
+        while (this.written < target && this.failure == null) {
+            this.await();
+        }
+
+        this.throwIfFailed();
+    }
+
+    /**
+     * Waits until every score submitted so far has been appended to the log and forced out to the storage device,
+     * regardless of the sync policy.
+     *
+     * @throws IOException if a write failed, or the wait was interrupted
+     */
+    public synchronized void flush() throws IOException {
+        final long target;
+        target = this.submitted.get();
+
+        this.syncTarget = Math.max(this.syncTarget, target);
+        LockSupport.unpark(this.flusher);
+
+        while (this.durable < target && this.failure == null) {
+            this.await();
+        }
+
+        this.throwIfFailed();
+    }
+
+    /**
+     * Flushes every submitted score, and stops the flusher. Closing does not close the log itself.
+     *
+     * @throws IOException if a write failed, or the wait was interrupted
+     */
+    @Override
+    public void close() throws IOException {
+        this.closed = true;
+        LockSupport.unpark(this.flusher);
+
+        try {
+            this.flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while closing the score writer.");
+        }
+
+        this.throwIfFailed();
+    }
+
+    /**
+     * Waits on this writer until the flusher reports progress.
+     *
+     * @throws InterruptedIOException if the wait was interrupted
+     */
+    private void await() throws InterruptedIOException {
+        try {
+            this.wait();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the score writer.");
+        }
+    }
+
+    /**
+     * Rethrows the failure of a previous write, if any.
+     *
+     * @throws IOException the failure of the previous write
+     */
+    private void throwIfFailed() throws IOException {
+        if (this.failure != null) {
+            throw new IOException("A previous score write failed.", this.failure);
+        }
+    }
+
+    /**
+     * Runs the flusher, appending each batch of queued scores and forcing them out according to the sync policy,
+     * until this writer is closed and everything has been forced out.
+     */
+    private void runFlusher() {
+        long lastSync = System.nanoTime();
+
+        while (true) {
+            final List<Score> batch;
+            final boolean closing;
+            final boolean sync;
+            final long waitNanos;
+            final int first;
+
+            // Read before draining, so a closing flusher never misses a score submitted before it was closed
+            closing = this.closed;
+            batch = new ArrayList<>();
+
+            Score score;
+
+            while ((score = this.queue.poll()) != null) {
+                batch.add(score);
+            }
+
+            synchronized (this) {
+                sync = closing || this.syncTarget > this.durable || this.isIntervalSyncDue(lastSync) ||
+                        this.syncPolicy == SyncPolicy.EVERY_COMMIT && !batch.isEmpty();
+                waitNanos = this.getIntervalWaitNanos(lastSync);
+            }
+
+            if (batch.isEmpty() && !sync) {
+                // An unpark is never lost, even if it happens before parking, so no submit or flush is missed
+                if (waitNanos == 0) {
+                    LockSupport.park(this);
+                } else {
+                    LockSupport.parkNanos(this, waitNanos);
+                }
+
+                // The flusher only stops once closed, and an interrupt would close the log channel mid-write
+                Thread.interrupted();
+                continue;
+            }
+
+            try {
+                first = this.log.size();
+                this.log.appendAll(batch);
+                this.appendListener.accept(batch, first);
+
+                if (sync) {
+                    this.log.force();
+                    lastSync = System.nanoTime();
+                }
+            } catch (IOException e) {
+                synchronized (this) {
+                    this.failure = e;
+                    this.notifyAll();
+                }
+
+                return;
+            }
+
+            synchronized (this) {
+                this.written += batch.size();
+
+                if (sync) {
+                    this.durable = this.written;
+                }
+
+                this.notifyAll();
+            }
+
+            if (closing && this.queue.isEmpty()) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Returns whether written records have been left unforced for at least the sync interval, which only happens
+     * with the {@link SyncPolicy#INTERVAL} policy.
+     *
+     * @param lastSync the time of the last sync, in nanoseconds
+     * @return whether an interval sync is due
+     */
+    private boolean isIntervalSyncDue(final long lastSync) {
+        return this.syncPolicy == SyncPolicy.INTERVAL && this.durable < this.written &&
+                System.nanoTime() - lastSync >= this.syncIntervalNanos;
+    }
+
+    /**
+     * Returns how long the flusher may park before an interval sync becomes due.
+     *
+     * @param lastSync the time of the last sync, in nanoseconds
+     * @return the time to park in nanoseconds, or zero to park until unparked
+     */
+    private long getIntervalWaitNanos(final long lastSync) {
+        if (this.syncPolicy != SyncPolicy.INTERVAL || this.durable == this.written) {
+            return 0;
+        }
+
+        // Never zero, since that would park until unparked
+        return Math.max(1, this.syncIntervalNanos - (System.nanoTime() - lastSync));
+    }
+
+    /**
+     * Represents when written records are forced out to the storage device.
+     */
+    public enum SyncPolicy {
+        /** Forces each batch out as soon as it is written. */
+        EVERY_COMMIT,
+        /** Forces written records out once they have been unforced for the sync interval. */
+        INTERVAL,
+        /** Only forces written records out when flushed or closed. */
+        ON_CLOSE
+    }
+
+}
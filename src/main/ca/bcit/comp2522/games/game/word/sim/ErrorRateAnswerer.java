@@ -0,0 +1,59 @@
+package ca.bcit.comp2522.games.game.word.sim;
+
+import ca.bcit.comp2522.games.game.word.Answerer;
+import ca.bcit.comp2522.games.game.word.question.CountryQuestion;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Simulated answerer that answers incorrectly with a fixed probability on each attempt.
+ *
+ * @author Ole Lammers
+ * @version 1.0
+ */
+public final class ErrorRateAnswerer implements Answerer {
+
+    // Never matches a known answer, since country and capital names cannot be blank
+    private static final String WRONG_ANSWER = "";
+
+    private final double firstAttemptErrorRate;
+    private final double retryErrorRate;
+
+    /**
+     * Creates a new error rate answerer.
+     *
+     * @param firstAttemptErrorRate the probability of answering the first attempt incorrectly
+     * @param retryErrorRate        the probability of answering any later attempt incorrectly
+     */
+    public ErrorRateAnswerer(final double firstAttemptErrorRate, final double retryErrorRate) {
+        ErrorRateAnswerer.validateRate(firstAttemptErrorRate);
+        ErrorRateAnswerer.validateRate(retryErrorRate);
+
+        this.firstAttemptErrorRate = firstAttemptErrorRate;
+        this.retryErrorRate = retryErrorRate;
+    }
+
+    /**
+     * Validates the given error rate to ensure it is a probability.
+     *
+     * @param rate the error rate to validate
+     */
+    private static void validateRate(final double rate) {
+        if (rate < 0 || rate > 1) {
+            throw new IllegalArgumentException("An error rate must be between 0 and 1, got " + rate + ".");
+        }
+    }
+
+    @Override
+    public String answer(final int questionIndex, final CountryQuestion question, final int attempt) {
+        final double errorRate;
+        errorRate = attempt == 1 ? this.firstAttemptErrorRate : this.retryErrorRate;
+
+        if (ThreadLocalRandom.current().nextDouble() < errorRate) {
+            return ErrorRateAnswerer.WRONG_ANSWER;
+        }
+
+        return question.getAnswer();
+    }
+
+}
@@ -0,0 +1,19 @@
+package ca.bcit.comp2522.games.game.word.sim;
+
+import ca.bcit.comp2522.games.game.word.Answerer;
+import ca.bcit.comp2522.games.game.word.question.CountryQuestion;
+
+/**
+ * Simulated answerer that always answers correctly on the first attempt.
+ *
+ * @author Ole Lammers
+ * @version 1.0
+ */
+public final class PerfectAnswerer implements Answerer {
+
+    @Override
+    public String answer(final int questionIndex, final CountryQuestion question, final int attempt) {
+        return question.getAnswer();
+    }
+
+}
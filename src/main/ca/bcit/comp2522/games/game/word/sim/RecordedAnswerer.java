@@ -0,0 +1,69 @@
+package ca.bcit.comp2522.games.game.word.sim;
+
+import ca.bcit.comp2522.games.game.word.Answerer;
+import ca.bcit.comp2522.games.game.word.question.CountryQuestion;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Simulated answerer that replays a recorded trace of answers given by a human player, one answer per attempt.
+ * <p>
+ * Once the end of the trace is reached, it is replayed from the start. A recorded answerer keeps its position in the
+ * trace, so each simulation thread should use its own.
+ *
+ * @author Ole Lammers
+ * @version 1.0
+ */
+public final class RecordedAnswerer implements Answerer {
+
+    private final List<String> trace;
+    private int position;
+
+    /**
+     * Creates a new recorded answerer.
+     *
+     * @param trace the recorded answers, in the order they were given
+     */
+    public RecordedAnswerer(final List<String> trace) {
+        if (trace == null || trace.isEmpty()) {
+            throw new IllegalArgumentException("A recorded answerer requires at least one recorded answer.");
+        }
+
+        this.trace = List.copyOf(trace);
+        this.position = 0;
+    }
+
+    /**
+     * Creates a recorded answerer from a trace file, with one recorded answer per line.
+     *
+     * @param traceFile the trace file
+     * @return the recorded answerer
+     * @throws IOException if the trace file cannot be read
+     */
+    public static RecordedAnswerer fromFile(final Path traceFile) throws IOException {
+        return new RecordedAnswerer(Files.readAllLines(traceFile));
+    }
+
+    /**
+     * Returns the recorded answers this answerer replays.
+     *
+     * @return the recorded trace
+     */
+    public List<String> getTrace() {
+        return this.trace;
+    }
+
+    @Override
+    public String answer(final int questionIndex, final CountryQuestion question, final int attempt) {
+        final String answer;
+        answer = this.trace.get(this.position);
+
+        this.position = (this.position + 1) % this.trace.size();
+
+        return answer;
+    }
+
+}
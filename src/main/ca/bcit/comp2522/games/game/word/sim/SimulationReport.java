@@ -0,0 +1,120 @@
+package ca.bcit.comp2522.games.game.word.sim;
+
+import ca.bcit.comp2522.games.game.word.score.Score;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Represents the results of a word game simulation.
+ *
+ * @author Ole Lammers
+ * @version 1.0
+ */
+public final class SimulationReport {
+
+    private final Score totalScore;
+    private final SortedMap<Integer, Long> scoreDistribution;
+    private final long elapsedNanos;
+
+    /**
+     * Creates a new simulation report.
+     *
+     * @param totalScore        the sum of every simulated game score
+     * @param scoreDistribution the amount of games that ended with each amount of points
+     * @param elapsedNanos      the wall clock time the simulation took, in nanoseconds
+     */
+    public SimulationReport(final Score totalScore, final SortedMap<Integer, Long> scoreDistribution,
+                            final long elapsedNanos) {
+        if (totalScore == null || scoreDistribution == null) {
+            throw new IllegalArgumentException("A simulation report requires a total score and a distribution.");
+        }
+
+        this.totalScore = totalScore;
+        this.scoreDistribution = Collections.unmodifiableSortedMap(new TreeMap<>(scoreDistribution));
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * Returns the amount of games that were simulated.
+     *
+     * @return the game count
+     */
+    public long getGamesPlayed() {
+        long games = 0;
+
+        for (final long count : this.scoreDistribution.values()) {
+            games += count;
+        }
+
+        return games;
+    }
+
+    /**
+     * Returns the amount of games simulated per second of wall clock time.
+     *
+     * @return the throughput in games per second
+     */
+    public double getGamesPerSecond() {
+        if (this.elapsedNanos == 0) {
+            return 0;
+        }
+
+        return this.getGamesPlayed() * (double) TimeUnit.SECONDS.toNanos(1) / this.elapsedNanos;
+    }
+
+    /**
+     * Returns the sum of every simulated game score.
+     *
+     * @return the total score
+     */
+    public Score getTotalScore() {
+        return this.totalScore;
+    }
+
+    /**
+     * Returns the amount of games that ended with each amount of points, ordered by points.
+     *
+     * @return the score distribution
+     */
+    public SortedMap<Integer, Long> getScoreDistribution() {
+        return this.scoreDistribution;
+    }
+
+    /**
+     * Stringifies this report into a readable summary.
+     *
+     * @return the stringified report
+     */
+    public String toReport() {
+        final StringBuilder sb;
+        final long games;
+
+        sb = new StringBuilder();
+        games = this.getGamesPlayed();
+
+        sb.append(games)
+                .append(" games in ")
+                .append(TimeUnit.NANOSECONDS.toMillis(this.elapsedNanos))
+                .append(" ms (")
+                .append(Math.round(this.getGamesPerSecond()))
+                .append(" games per second)")
+                .append(System.lineSeparator());
+
+        sb.append("Average of ")
+                .append(Score.formatScorePerGame(this.totalScore.getScorePerGame()))
+                .append(" points per game")
+                .append(System.lineSeparator());
+
+        for (final Map.Entry<Integer, Long> entry : this.scoreDistribution.entrySet()) {
+            sb.append(String.format("%3d points: %6.2f%%", entry.getKey(), entry.getValue() * 100.0 / games))
+                    .append(System.lineSeparator());
+        }
+
+        return sb.toString();
+    }
+
+}
@@ -0,0 +1,175 @@
+package ca.bcit.comp2522.games.game.word.sim;
+
+import ca.bcit.comp2522.games.game.word.Answerer;
+import ca.bcit.comp2522.games.game.word.CountryShuffleBag;
+import ca.bcit.comp2522.games.game.word.WordGameEngine;
+import ca.bcit.comp2522.games.game.word.WorldLoader;
+import ca.bcit.comp2522.games.game.word.score.Score;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+/**
+ * Plays headless word games against simulated answerers across multiple threads, to measure game loop throughput and
+ * the score distribution of an answering strategy.
+ *
+ * @author Ole Lammers
+ * @version 1.0
+ */
+public final class WordGameSimulator {
+
+    private static final int DEFAULT_GAMES = 1_000_000;
+    private static final double DEFAULT_FIRST_ATTEMPT_ERROR_RATE = 0.3;
+    private static final double DEFAULT_RETRY_ERROR_RATE = 0.5;
+
+    private final WordGameEngine engine;
+    private final Supplier<Answerer> answererFactory;
+    private final int threads;
+
+    /**
+     * Creates a new simulator.
+     *
+     * @param engine          the engine that plays each game
+     * @param answererFactory creates the answerer used by each simulation thread
+     * @param threads         the amount of threads to simulate games on
+     */
+    public WordGameSimulator(final WordGameEngine engine, final Supplier<Answerer> answererFactory,
+                             final int threads) {
+        if (engine == null || answererFactory == null) {
+            throw new IllegalArgumentException("A simulator requires an engine and an answerer factory.");
+        }
+
+        if (threads < 1) {
+            throw new IllegalArgumentException("A simulator requires at least one thread, got " + threads + ".");
+        }
+
+        this.engine = engine;
+        this.answererFactory = answererFactory;
+        this.threads = threads;
+    }
+
+    /**
+     * Simulates games with the answerer given as the first argument, "perfect", "error" or the path to a trace file
+     * with one recorded answer per line, and prints the report.
+     *
+     * @param args the answerer, followed by the optional amount of games to simulate
+     * @throws IOException if a trace file cannot be read
+     */
+    public static void main(final String[] args) throws IOException {
+        final String answererName;
+        final int games;
+        final Supplier<Answerer> answererFactory;
+        final WordGameSimulator simulator;
+
+        answererName = args.length > 0 ? args[0] : "perfect";
+        games = args.length > 1 ? Integer.parseInt(args[1]) : WordGameSimulator.DEFAULT_GAMES;
+
+        if (answererName.equals("perfect")) {
+            answererFactory = PerfectAnswerer::new;
+        } else if (answererName.equals("error")) {
+            answererFactory = () -> new ErrorRateAnswerer(WordGameSimulator.DEFAULT_FIRST_ATTEMPT_ERROR_RATE,
+                                                          WordGameSimulator.DEFAULT_RETRY_ERROR_RATE);
+        } else {
+            final List<String> trace;
+            trace = RecordedAnswerer.fromFile(Path.of(answererName)).getTrace();
+            answererFactory = () -> new RecordedAnswerer(trace);
+        }
+
+        simulator = new WordGameSimulator(new WordGameEngine(WorldLoader.createDefault().load(), 0), answererFactory,
+                                          Runtime.getRuntime().availableProcessors());
+
+        System.out.println(simulator.run(games).toReport());
+    }
+
+    /**
+     * Simulates the given amount of games, split evenly across the threads of this simulator.
+     *
+     * @param games the amount of games to simulate
+     * @return the simulation report
+     */
+    public SimulationReport run(final int games) {
+        if (games < 1) {
+            throw new IllegalArgumentException("At least one game must be simulated, got " + games + ".");
+        }
+
+        final ExecutorService executor;
+        final List<Future<SimulationReport>> partials;
+        final SortedMap<Integer, Long> distribution;
+        final long startNanos;
+        Score totalScore = null;
+
+        executor = Executors.newFixedThreadPool(this.threads);
+        partials = new ArrayList<>(this.threads);
+        distribution = new TreeMap<>();
+        startNanos = System.nanoTime();
+
+        for (int i = 0; i < this.threads; i++) {
+            final int threadGames;
+            threadGames = games / this.threads + (i < games % this.threads ? 1 : 0);
+
+            if (threadGames > 0) {
+                partials.add(executor.submit(() -> this.simulate(threadGames)));
+            }
+        }
+
+        try {
+            for (final Future<SimulationReport> partial : partials) {
+                final SimulationReport report;
+                report = partial.get();
+
+                totalScore = totalScore == null ? report.getTotalScore() : totalScore.add(report.getTotalScore());
+                report.getScoreDistribution().forEach((points, count) -> distribution.merge(points, count, Long::sum));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the simulation to finish.", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("A simulation thread failed.", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        return new SimulationReport(totalScore, distribution, System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Simulates the given amount of games on the current thread, with its own shuffle bag and answerer.
+     *
+     * @param games the amount of games to simulate
+     * @return the partial report of this thread, timed from its own start
+     */
+    private SimulationReport simulate(final int games) {
+        final CountryShuffleBag countryBag;
+        final Answerer answerer;
+        final SortedMap<Integer, Long> distribution;
+        final long startNanos;
+        Score totalScore = null;
+
+        countryBag = this.engine.createShuffleBag();
+        answerer = this.answererFactory.get();
+        distribution = new TreeMap<>();
+        startNanos = System.nanoTime();
+
+        for (int i = 0; i < games; i++) {
+            final Score gameScore;
+
+            countryBag.reset();
+            gameScore = this.engine.playGame(countryBag, answerer);
+
+            totalScore = totalScore == null ? gameScore : totalScore.add(gameScore);
+            distribution.merge(gameScore.getScore(), 1L, Long::sum);
+        }
+
+        return new SimulationReport(totalScore, distribution, System.nanoTime() - startNanos);
+    }
+
+}
@@ -0,0 +1,141 @@
+package ca.bcit.comp2522.games.util;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+/**
+ * Produces a fixed amount of values on a background thread ahead of when they are needed, keeping up to a bounded
+ * amount of them ready in a queue.
+ * <p>
+ * Values are taken in the same order they were produced. If producing a value fails, the failure is rethrown when
+ * that value is taken, and no further values are produced.
+ *
+ * @param <T> the type of value that is prefetched
+ * @author Ole Lammers
+ * @version 1.0
+ */
+public final class Prefetcher<T> implements AutoCloseable {
+
+    /**
+     * How long closing waits for a value that is still being produced, since the supplier cannot be interrupted.
+     */
+    private static final Duration CLOSE_TIMEOUT = Duration.ofSeconds(5);
+
+    private final int count;
+    private final BlockingQueue<CompletableFuture<T>> ready;
+    private final Thread producer;
+
+    private int taken;
+
+    /**
+     * Creates a new prefetcher, and immediately starts producing values in the background.
+     *
+     * @param supplier the supplier that produces each value, only ever called from the producer thread
+     * @param count    the total amount of values to produce
+     * @param capacity the maximum amount of values to keep ready ahead of time
+     */
+    public Prefetcher(final Supplier<T> supplier, final int count, final int capacity) {
+        if (supplier == null) {
+            throw new IllegalArgumentException("A prefetcher requires a supplier.");
+        }
+
+        if (count < 0 || capacity < 1) {
+            throw new IllegalArgumentException(
+                    "A prefetcher requires a non-negative count and a positive capacity, got " + count + " and " +
+                            capacity + ".");
+        }
+
+        this.count = count;
+        this.ready = new ArrayBlockingQueue<>(capacity);
+        this.producer = Thread.ofVirtual().start(() -> this.produce(supplier));
+    }
+
+    /**
+     * Produces every value in order, blocking whenever the ready queue is full.
+     *
+     * @param supplier the supplier that produces each value
+     */
+    private void produce(final Supplier<T> supplier) {
+        try {
+            for (int i = 0; i < this.count; i++) {
+                final CompletableFuture<T> value;
+                value = new CompletableFuture<>();
+
+                try {
+                    value.complete(supplier.get());
+                } catch (Throwable e) {
+                    // Even errors must reach the consumer, which would otherwise wait for the value forever
+                    value.completeExceptionally(e);
+                    this.ready.put(value);
+
+                    return;
+                }
+
+                this.ready.put(value);
+            }
+        } catch (InterruptedException e) {
+            // Closed before every value was taken, nothing left to produce for
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Returns the next value, blocking until it has been produced if necessary.
+     *
+     * @return the next value
+     */
+    public T take() {
+        if (this.taken == this.count) {
+            throw new IllegalStateException("All " + this.count + " prefetched values have already been taken.");
+        }
+
+        final CompletableFuture<T> value;
+
+        try {
+            value = this.ready.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the next prefetched value.", e);
+        }
+
+        this.taken++;
+
+        try {
+            return value.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+
+            throw e;
+        }
+    }
+
+    /**
+     * Stops producing values, discarding any that have not been taken yet, and waits for the value that is being
+     * produced, if any, so the supplier is no longer in use once this returns.
+     */
+    @Override
+    public void close() {
+        this.producer.interrupt();
+        this.ready.clear();
+
+        try {
+            if (!this.producer.join(Prefetcher.CLOSE_TIMEOUT)) {
+                throw new IllegalStateException(
+                        "The prefetcher did not stop within " + Prefetcher.CLOSE_TIMEOUT.toSeconds() + " seconds.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
@@ -0,0 +1,58 @@
+package ca.bcit.comp2522.games.util;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * Runs expensive loading work in the background, so it can start as soon as the application launches and only be
+ * waited on when the result is actually needed.
+ * <p>
+ * Each load runs on its own virtual thread, so loads that are blocked on I/O do not hold up each other.
+ *
+ * @author Ole Lammers
+ * @version 1.0
+ */
+public final class Preloader {
+
+    private static final ExecutorService EXECUTOR = Executors.newVirtualThreadPerTaskExecutor();
+
+    /**
+     * Starts the given load in the background.
+     *
+     * @param loader the loading work to run
+     * @param <T>    the type of value that is loaded
+     * @return the future that completes with the loaded value
+     */
+    public static <T> CompletableFuture<T> preload(final Supplier<T> loader) {
+        if (loader == null) {
+            throw new IllegalArgumentException("A loader must be specified.");
+        }
+
+        return CompletableFuture.supplyAsync(loader, Preloader.EXECUTOR);
+    }
+
+    /**
+     * Returns the value of the given preloaded future, blocking until it has finished loading if necessary.
+     * <p>
+     * If the load failed, the exception it failed with is rethrown as is when it is unchecked.
+     *
+     * @param preloaded the future returned by {@link Preloader#preload(Supplier)}
+     * @param <T>       the type of value that is loaded
+     * @return the loaded value
+     */
+    public static <T> T await(final CompletableFuture<T> preloaded) {
+        try {
+            return preloaded.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+
+            throw e;
+        }
+    }
+
+}
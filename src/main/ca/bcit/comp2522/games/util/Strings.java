@@ -15,7 +15,7 @@ public final class Strings {
      * @param content   the content to modify
      * @return the potentially pluralized result
      */
-    public static String pluralize(final int reference, final String content) {
+    public static String pluralize(final long reference, final String content) {
         if (reference == 1) return content;
         else return content + "s";
     }
@@ -0,0 +1,66 @@
+package ca.bcit.comp2522.games.game.number;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CellBitSetTest {
+
+    // Sizes around the word boundaries of each level, up to a set with four levels
+    private static final int[] SIZES = {1, 63, 64, 65, 4095, 4096, 4097, 300_000};
+
+    // Compares the nearest set indexes around the given index against a plain bit set
+    private static void assertNeighboursMatch(final CellBitSet set, final BitSet expected, final int index) {
+        final int next = expected.nextSetBit(index + 1);
+
+        assertEquals(expected.previousSetBit(index - 1), set.previous(index),
+                     "The previous set index before " + index + " should match the bit set.");
+        assertEquals(next == -1 ? IntegerGrid.NO_INDEX : next, set.next(index),
+                     "The next set index after " + index + " should match the bit set.");
+    }
+
+    @Test
+    void testEmptySet() {
+        final CellBitSet set = new CellBitSet(100);
+
+        assertEquals(IntegerGrid.NO_INDEX, set.previous(100), "An empty set should have no previous index.");
+        assertEquals(IntegerGrid.NO_INDEX, set.next(-1), "An empty set should have no next index.");
+    }
+
+    @Test
+    void testNeighboursMatchBitSet() {
+        final Random random = new Random(2522);
+
+        for (final int size : SIZES) {
+            final CellBitSet set = new CellBitSet(size);
+            final BitSet expected = new BitSet(size);
+
+            // Sparse enough that the upper levels have to skip over empty words
+            for (int change = 0; change < 2000; change++) {
+                final int index = random.nextInt(size);
+
+                if (random.nextInt(3) == 0) {
+                    set.clear(index);
+                    expected.clear(index);
+                } else {
+                    set.set(index);
+                    expected.set(index);
+                }
+
+                CellBitSetTest.assertNeighboursMatch(set, expected, random.nextInt(size + 1));
+                CellBitSetTest.assertNeighboursMatch(set, expected, index);
+            }
+
+            CellBitSetTest.assertNeighboursMatch(set, expected, 0);
+            CellBitSetTest.assertNeighboursMatch(set, expected, size);
+            assertEquals(expected.nextSetBit(0), set.next(-1), "Searching from before the first index should work.");
+
+            set.clearAll();
+            expected.clear();
+            CellBitSetTest.assertNeighboursMatch(set, expected, size / 2);
+        }
+    }
+}
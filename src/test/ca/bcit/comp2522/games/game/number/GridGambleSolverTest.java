@@ -0,0 +1,237 @@
+package ca.bcit.comp2522.games.game.number;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GridGambleSolverTest {
+
+    private static final double EPSILON = 1e-9;
+
+    // Computes the chance of winning by trying every draw and every legal placement, memoized on the grid state
+    private static final class BruteForce {
+
+        private final int minValue;
+        private final int maxValue;
+        private final Map<String, Double> memo = new HashMap<>();
+
+        private BruteForce(final int minValue, final int maxValue) {
+            this.minValue = minValue;
+            this.maxValue = maxValue;
+        }
+
+        private static boolean isLegal(final int[] cells, final int index, final int value) {
+            if (cells[index] != IntegerGrid.EMPTY) {
+                return false;
+            }
+
+            for (int other = 0; other < cells.length; other++) {
+                if (cells[other] == IntegerGrid.EMPTY) {
+                    continue;
+                }
+
+                if (other < index && cells[other] > value || other > index && cells[other] < value) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
+        private boolean isPlaced(final int[] cells, final int value) {
+            for (final int cell : cells) {
+                if (cell == value) {
+                    return true;
+                }
+            }
+
+            return false;
+        }
+
+        private double win(final int[] cells) {
+            final String key = Arrays.toString(cells);
+            final Double known = this.memo.get(key);
+
+            if (known != null) {
+                return known;
+            }
+
+            double sum = 0;
+            int draws = 0;
+            boolean full = true;
+
+            for (final int cell : cells) {
+                full &= cell != IntegerGrid.EMPTY;
+            }
+
+            if (full) {
+                return 1;
+            }
+
+            for (int value = this.minValue; value <= this.maxValue; value++) {
+                if (this.isPlaced(cells, value)) {
+                    continue;
+                }
+
+                draws++;
+                sum += this.winAfterDraw(cells, value);
+            }
+
+            final double win = sum / draws;
+            this.memo.put(key, win);
+
+            return win;
+        }
+
+        private double winAfterDraw(final int[] cells, final int value) {
+            double best = 0;
+
+            for (int index = 0; index < cells.length; index++) {
+                if (BruteForce.isLegal(cells, index, value)) {
+                    cells[index] = value;
+                    best = Math.max(best, this.win(cells));
+                    cells[index] = IntegerGrid.EMPTY;
+                }
+            }
+
+            return best;
+        }
+    }
+
+    private static int[] emptyCells(final int count) {
+        final int[] cells = new int[count];
+        Arrays.fill(cells, IntegerGrid.EMPTY);
+
+        return cells;
+    }
+
+    // Plays random games, comparing the solver against the brute force in every state along the way
+    private static void assertMatchesBruteForce(final int cellCount, final int minValue, final int maxValue,
+                                                final long seed) {
+        final GridGambleSolver solver = new GridGambleSolver(minValue, maxValue);
+        final BruteForce bruteForce = new BruteForce(minValue, maxValue);
+        final Random random = new Random(seed);
+
+        for (int game = 0; game < 30; game++) {
+            final int[] cells = GridGambleSolverTest.emptyCells(cellCount);
+
+            for (int placed = 0; placed < cellCount; placed++) {
+                assertEquals(bruteForce.win(cells), solver.getWinProbability(cells), EPSILON,
+                             "The chance of winning " + Arrays.toString(cells) + " should match the brute force.");
+
+                int target;
+
+                do {
+                    target = minValue + random.nextInt(maxValue - minValue + 1);
+                } while (bruteForce.isPlaced(cells, target));
+
+                final int best = solver.getBestIndex(cells, target);
+                final double bestWin = bruteForce.winAfterDraw(cells, target);
+
+                if (best == IntegerGrid.NO_INDEX) {
+                    assertEquals(0, bestWin, "A target without a legal cell should lose.");
+                    break;
+                }
+
+                assertEquals(bestWin, solver.getWinProbability(cells, best, target), EPSILON,
+                             "The best cell for " + target + " in " + Arrays.toString(cells) +
+                                     " should be as good as the brute force.");
+
+                cells[best] = target;
+            }
+        }
+    }
+
+    @Test
+    void testEmptyGridMatchesBruteForce() {
+        final int[][] configurations = {{1, 1, 1}, {2, 1, 2}, {3, 1, 5}, {4, 1, 7}, {4, 3, 10}, {5, 1, 9}};
+
+        for (final int[] configuration : configurations) {
+            final GridGambleSolver solver = new GridGambleSolver(configuration[1], configuration[2]);
+            final BruteForce bruteForce = new BruteForce(configuration[1], configuration[2]);
+            final int[] cells = GridGambleSolverTest.emptyCells(configuration[0]);
+
+            assertEquals(bruteForce.win(cells), solver.getWinProbability(cells), EPSILON,
+                         "The chance of winning an empty grid of " + configuration[0] + " cells with values " +
+                                 configuration[1] + " to " + configuration[2] + " should match the brute force.");
+        }
+    }
+
+    @Test
+    void testSmallGridMatchesBruteForce() {
+        GridGambleSolverTest.assertMatchesBruteForce(4, 1, 8, 2522);
+    }
+
+    @Test
+    void testTightValueRangeMatchesBruteForce() {
+        // Barely more values than cells, so most draws leave a single legal cell or none at all
+        GridGambleSolverTest.assertMatchesBruteForce(5, 1, 6, 1337);
+    }
+
+    @Test
+    void testWideValueRangeMatchesBruteForce() {
+        GridGambleSolverTest.assertMatchesBruteForce(5, 1, 12, 42);
+    }
+
+    @Test
+    void testEstimatedIndexIsLegal() {
+        final GridGambleSolver solver = new GridGambleSolver(1, 12);
+        final BruteForce bruteForce = new BruteForce(1, 12);
+        final Random random = new Random(7);
+
+        for (int game = 0; game < 200; game++) {
+            final int[] cells = GridGambleSolverTest.emptyCells(5);
+
+            for (int placed = 0; placed < cells.length; placed++) {
+                int target;
+
+                do {
+                    target = 1 + random.nextInt(12);
+                } while (bruteForce.isPlaced(cells, target));
+
+                final int estimated = solver.getEstimatedIndex(cells, target);
+
+                if (estimated == IntegerGrid.NO_INDEX) {
+                    assertEquals(IntegerGrid.NO_INDEX, solver.getBestIndex(cells, target),
+                                 "Only a target without a legal cell should have no estimate.");
+                    break;
+                }
+
+                assertTrue(BruteForce.isLegal(cells, estimated, target),
+                           "The estimate for " + target + " in " + Arrays.toString(cells) + " should be legal.");
+
+                cells[estimated] = target;
+            }
+        }
+    }
+
+    @Test
+    void testPreparedSolverMatchesGrownSolver() {
+        final GridGambleSolver prepared = new GridGambleSolver(1, 12);
+        final GridGambleSolver grown = new GridGambleSolver(1, 12);
+        final int[] cells = {IntegerGrid.EMPTY, 3, IntegerGrid.EMPTY, IntegerGrid.EMPTY, 9};
+
+        prepared.prepare(cells.length);
+
+        assertEquals(grown.getWinProbability(cells), prepared.getWinProbability(cells), EPSILON,
+                     "A table built up front should match one grown on demand.");
+        assertEquals(grown.getBestIndex(cells, 6), prepared.getBestIndex(cells, 6),
+                     "A table built up front should give the same best cell.");
+    }
+
+    @Test
+    void testOutOfOrderGridCannotBeWon() {
+        final GridGambleSolver solver = new GridGambleSolver(1, 10);
+
+        assertEquals(0, solver.getWinProbability(new int[] {5, IntegerGrid.EMPTY, 3}),
+                     "A grid that is out of order should never be won.");
+        assertEquals(0, solver.getWinProbability(new int[] {IntegerGrid.EMPTY, 11}),
+                     "A grid holding a value out of range should never be won.");
+    }
+}
@@ -0,0 +1,183 @@
+package ca.bcit.comp2522.games.game.number;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NumberGameGridTest {
+
+    private static final int MIN_VALUE = 1;
+    private static final int MAX_VALUE = 60;
+
+    // Whether the value can be placed at the cell, checked against every other cell like the original linear scan
+    private static boolean isLegal(final NumberGameGrid grid, final int index, final int value) {
+        if (!grid.isEmptyAt(index)) {
+            return false;
+        }
+
+        for (int other = 0; other < grid.getSize(); other++) {
+            if (grid.isEmptyAt(other)) {
+                continue;
+            }
+
+            if (other < index && grid.getAt(other) > value || other > index && grid.getAt(other) <= value) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static boolean isAscendingScan(final NumberGameGrid grid) {
+        int last = Integer.MIN_VALUE;
+
+        for (int index = 0; index < grid.getSize(); index++) {
+            if (grid.isEmptyAt(index)) {
+                continue;
+            }
+
+            if (grid.getAt(index) < last) {
+                return false;
+            }
+
+            last = grid.getAt(index);
+        }
+
+        return true;
+    }
+
+    // Compares the legal cells of every value not placed yet against the linear scan
+    private static void assertLegalIndexesMatchScan(final NumberGameGrid grid) {
+        for (int value = MIN_VALUE; value <= MAX_VALUE; value++) {
+            if (grid.containsValue(value)) {
+                continue;
+            }
+
+            int first = IntegerGrid.NO_INDEX;
+            int last = IntegerGrid.NO_INDEX;
+
+            for (int index = 0; index < grid.getSize(); index++) {
+                final boolean legal = NumberGameGridTest.isLegal(grid, index, value);
+
+                if (legal) {
+                    first = first == IntegerGrid.NO_INDEX ? index : first;
+                    last = index;
+                }
+
+                assertEquals(legal, grid.canPlaceAscendingAt(index, value),
+                             "Placing " + value + " at " + index + " should match the scan.");
+            }
+
+            assertEquals(first, grid.getFirstLegalIndex(value), "The first legal index should match the scan.");
+            assertEquals(last, grid.getLastLegalIndex(value), "The last legal index should match the scan.");
+            assertEquals(first != IntegerGrid.NO_INDEX, grid.canPlaceAscending(value),
+                         "Whether " + value + " can be placed should match the scan.");
+        }
+    }
+
+    @Test
+    void testEmptyGrid() {
+        final NumberGameGrid grid = new NumberGameGrid(4, 5);
+
+        assertTrue(grid.isAscending(), "An empty grid should be ascending.");
+        assertEquals(0, grid.getFirstLegalIndex(500), "Any value should fit in the first cell.");
+        assertEquals(19, grid.getLastLegalIndex(500), "Any value should fit in the last cell.");
+    }
+
+    @Test
+    void testLegalIndexesMatchScanWhilePlaying() {
+        final Random random = new Random(2522);
+
+        for (int game = 0; game < 50; game++) {
+            final NumberGameGrid grid = new NumberGameGrid(3, 4, MIN_VALUE, MAX_VALUE);
+
+            // Plays legal moves until the grid is full or a drawn value fits nowhere
+            while (grid.hasEmpty()) {
+                NumberGameGridTest.assertLegalIndexesMatchScan(grid);
+
+                int value;
+
+                do {
+                    value = MIN_VALUE + random.nextInt(MAX_VALUE - MIN_VALUE + 1);
+                } while (grid.containsValue(value));
+
+                if (!grid.canPlaceAscending(value)) {
+                    break;
+                }
+
+                final int first = grid.getFirstLegalIndex(value);
+                final int last = grid.getLastLegalIndex(value);
+
+                grid.placeAt(first + random.nextInt(last - first + 1), value);
+                assertTrue(grid.isAscending(), "Only legal moves were played, so the grid should be ascending.");
+            }
+        }
+    }
+
+    @Test
+    void testLegalIndexesMatchScanAfterBulkChanges() {
+        final Random random = new Random(1337);
+
+        for (int round = 0; round < 200; round++) {
+            final NumberGameGrid grid = new NumberGameGrid(3, 4, MIN_VALUE, MAX_VALUE);
+            final int[] cells = new int[grid.getSize()];
+            int value = MIN_VALUE;
+
+            // An ascending grid with random gaps, both between values and between filled cells
+            for (int index = 0; index < cells.length; index++) {
+                value += random.nextInt(5);
+
+                if (random.nextBoolean() && value <= MAX_VALUE) {
+                    cells[index] = value++;
+                } else {
+                    cells[index] = IntegerGrid.EMPTY;
+                }
+            }
+
+            grid.copyFrom(cells);
+            assertTrue(grid.isAscending(), "The copied grid should be ascending.");
+            NumberGameGridTest.assertLegalIndexesMatchScan(grid);
+        }
+    }
+
+    @Test
+    void testIsAscendingMatchesScan() {
+        final Random random = new Random(42);
+        final NumberGameGrid grid = new NumberGameGrid(4, 5, MIN_VALUE, MAX_VALUE);
+
+        // Random overwrites and clears, so descents are both added and removed
+        for (int move = 0; move < 5000; move++) {
+            final int index = random.nextInt(grid.getSize());
+
+            if (random.nextInt(4) == 0) {
+                grid.fill(index, index + 1, IntegerGrid.EMPTY);
+            } else {
+                grid.placeAt(index, MIN_VALUE + random.nextInt(MAX_VALUE - MIN_VALUE + 1));
+            }
+
+            assertEquals(NumberGameGridTest.isAscendingScan(grid), grid.isAscending(),
+                         "Whether the grid is ascending should match the scan after move " + move + ".");
+        }
+    }
+
+    @Test
+    void testInvalidDimensions() {
+        assertThrows(IllegalArgumentException.class, () -> new NumberGameGrid(NumberGameGrid.MAX_ROWS + 1, 1),
+                     "Too many rows should be rejected.");
+        assertThrows(IllegalArgumentException.class, () -> new NumberGameGrid(2, 2, 1, 3),
+                     "Fewer values than cells should be rejected.");
+        assertDoesNotThrow(() -> new NumberGameGrid(2, 2, 1, 4), "Exactly as many values as cells should be allowed.");
+    }
+
+    @Test
+    void testOversizedGridIsRejectedBeforeAllocating() {
+        // Just within the cell limit of any grid, so its cells would take gigabytes if they were allocated first
+        assertThrows(IllegalArgumentException.class, () -> new NumberGameGrid(46_340, 46_340),
+                     "A grid beyond the number game limits should be rejected before its cells are allocated.");
+    }
+}
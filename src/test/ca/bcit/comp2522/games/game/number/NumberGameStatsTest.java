@@ -0,0 +1,28 @@
+package ca.bcit.comp2522.games.game.number;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class NumberGameStatsTest {
+
+    @Test
+    void testCountersGoPastIntRange() {
+        final NumberGameStats stats = new NumberGameStats();
+
+        stats.recordWin();
+        stats.recordLoss();
+        stats.recordPlacement();
+
+        // Doubling 32 times adds up to far more games and placements than an int can count
+        for (int i = 0; i < Integer.SIZE; i++) {
+            stats.add(stats);
+        }
+
+        assertEquals(1L << Integer.SIZE, stats.getWins(), "The wins should not overflow.");
+        assertEquals(1L << Integer.SIZE, stats.getLosses(), "The losses should not overflow.");
+        assertEquals(1L << Integer.SIZE, stats.getPlacements(), "The placements should not overflow.");
+        assertEquals(1L << (Integer.SIZE + 1), stats.getTotalGames(), "The total games should not overflow.");
+        assertEquals(0.5, stats.getAveragePlacements(), "The average should be taken over every game.");
+    }
+}
@@ -0,0 +1,111 @@
+package ca.bcit.comp2522.games.game.word;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NormalizedNameTest {
+
+    // A small alphabet, so random answers are often only a few typos away, with whitespace and an accented letter
+    private static final char[] ALPHABET = {'a', 'b', 'c', 'A', 'é', ' ', '\t'};
+
+    private static final int MAX_TYPOS = 3;
+
+    // The plain dynamic programming edit distance, over the full matrix
+    private static int levenshtein(final String a, final String b) {
+        final int[][] distances = new int[a.length() + 1][b.length() + 1];
+
+        for (int i = 0; i <= a.length(); i++) {
+            distances[i][0] = i;
+        }
+
+        for (int j = 0; j <= b.length(); j++) {
+            distances[0][j] = j;
+        }
+
+        for (int i = 1; i <= a.length(); i++) {
+            for (int j = 1; j <= b.length(); j++) {
+                final int substitution = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+
+                distances[i][j] = Math.min(Math.min(distances[i - 1][j] + 1, distances[i][j - 1] + 1),
+                                           distances[i - 1][j - 1] + substitution);
+            }
+        }
+
+        return distances[a.length()][b.length()];
+    }
+
+    private static String randomText(final Random random, final int minLength, final int maxLength) {
+        final StringBuilder sb = new StringBuilder();
+        final int length = minLength + random.nextInt(maxLength - minLength + 1);
+
+        for (int i = 0; i < length; i++) {
+            sb.append(ALPHABET[random.nextInt(ALPHABET.length)]);
+        }
+
+        return sb.toString();
+    }
+
+    @Test
+    void testMatchesAgreeWithLevenshtein() {
+        final Random random = new Random(2522);
+
+        for (int round = 0; round < 20_000; round++) {
+            // Starts with a letter, so the name is never empty once normalized
+            final NormalizedName name = new NormalizedName("a" + NormalizedNameTest.randomText(random, 0, 9));
+            final String answer = NormalizedNameTest.randomText(random, 0, 12);
+            final int distance = NormalizedNameTest.levenshtein(name.getNormalized(),
+                                                                NormalizedName.normalize(answer));
+
+            for (int typos = 0; typos <= MAX_TYPOS; typos++) {
+                assertEquals(distance <= typos, name.matches(answer, typos),
+                             "Matching \"" + answer + "\" against \"" + name.getNormalized() + "\" within " + typos +
+                                     " typos should agree with the edit distance of " + distance + ".");
+            }
+        }
+    }
+
+    @Test
+    void testLongNamesMatchWithinEditDistance() {
+        final Random random = new Random(1337);
+
+        // Right at the limit of the bit-parallel check, so the highest bit of every mask is used
+        for (int round = 0; round < 2_000; round++) {
+            final StringBuilder text = new StringBuilder();
+
+            while (text.length() < NormalizedName.MAX_TOLERANT_LENGTH) {
+                text.append((char) ('a' + random.nextInt(3)));
+            }
+
+            final NormalizedName name = new NormalizedName(text.toString());
+            final StringBuilder answer = new StringBuilder(text);
+
+            for (int edit = random.nextInt(MAX_TYPOS + 2); edit > 0; edit--) {
+                answer.setCharAt(random.nextInt(answer.length()), (char) ('a' + random.nextInt(3)));
+            }
+
+            final int distance = NormalizedNameTest.levenshtein(name.getNormalized(), answer.toString());
+
+            for (int typos = 0; typos <= MAX_TYPOS; typos++) {
+                assertEquals(distance <= typos, name.matches(answer, typos),
+                             "A name at the length limit should match within " + typos + " typos exactly when " +
+                                     "the edit distance of " + distance + " allows it.");
+            }
+        }
+    }
+
+    @Test
+    void testNormalizedAnswers() {
+        final NormalizedName name = new NormalizedName("Côte d'Ivoire");
+
+        assertTrue(name.matches("  cote   D'IVOIRE "), "Case, accents and whitespace should be ignored.");
+        assertTrue(name.matches("cote divoire", 1), "A single missing character should be one typo.");
+        assertFalse(name.matches("cote divoir", 1), "Two missing characters should be more than one typo.");
+        assertFalse(name.matches(null, 1), "No answer should never match.");
+        assertFalse(new NormalizedName(" ").matches("a", 1), "An empty name should only match exactly.");
+    }
+}
@@ -0,0 +1,224 @@
+package ca.bcit.comp2522.games.game.word.score;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ScoreLogTest {
+
+    private static final Path LOG_FILE = Path.of("test_score.log");
+    private static final Path REPORT_FILE = Path.of("test_score_report.txt");
+
+    // The on-disk layout of the current version: preamble and summary, followed by fixed-size records
+    private static final int HEADER_BYTES = 228;
+    private static final int RECORD_BYTES = 32;
+    private static final int SUMMARY_OFFSET = 8;
+
+    // Somewhere within the payload of a record, which breaks its checksum when flipped
+    private static final int PAYLOAD_BYTE = 10;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        // Start every test from a missing log, so it is created fresh
+        Files.deleteIfExists(LOG_FILE);
+    }
+
+    // Writes a log of the given amount of scores, the score at position i being worth 2 * i points
+    private static void writeScores(final int count) throws IOException {
+        try (ScoreLog log = ScoreLog.open(LOG_FILE)) {
+            for (int i = 0; i < count; i++) {
+                log.append(new Score(LocalDateTime.of(2024, 1, 1, 12, i), 1, i, 0, 0));
+            }
+
+            log.force();
+        }
+    }
+
+    private static long recordOffset(final int index) {
+        return HEADER_BYTES + (long) index * RECORD_BYTES;
+    }
+
+    private static List<String> reports(final List<Score> scores) {
+        return scores.stream().map(Score::toPersistentReport).toList();
+    }
+
+    private static void flipByte(final long offset) throws IOException {
+        final byte[] bytes = Files.readAllBytes(LOG_FILE);
+        bytes[(int) offset] ^= 0x10;
+        Files.write(LOG_FILE, bytes);
+    }
+
+    @Test
+    void testTornTailIsTruncated() throws IOException {
+        writeScores(5);
+
+        // A crash partway through the next record leaves a partial record behind
+        final byte[] bytes = Files.readAllBytes(LOG_FILE);
+        Files.write(LOG_FILE, Arrays.copyOf(bytes, bytes.length + RECORD_BYTES / 2));
+
+        try (ScoreLog log = ScoreLog.open(LOG_FILE)) {
+            assertEquals(5, log.size(), "The partial record should not be counted.");
+            assertEquals(20, log.getTotalPoints(), "The total points should only count the whole records.");
+        }
+
+        assertEquals(recordOffset(5), Files.size(LOG_FILE), "The partial record should be truncated.");
+    }
+
+    @Test
+    void testCorruptLastRecordIsTruncated() throws IOException {
+        writeScores(5);
+        flipByte(recordOffset(4) + PAYLOAD_BYTE);
+
+        // Without a valid summary, a corrupt last record is indistinguishable from a torn append
+        flipByte(SUMMARY_OFFSET);
+
+        try (ScoreLog log = ScoreLog.open(LOG_FILE)) {
+            assertEquals(4, log.size(), "The corrupt last record should be dropped.");
+            assertEquals(12, log.getTotalPoints(), "The total points should only count the valid records.");
+        }
+    }
+
+    @Test
+    void testUnsummarizedRecordsAreRecovered() throws IOException {
+        writeScores(3);
+
+        // Appended but never forced nor closed, so the summary on disk does not count the record
+        final ScoreLog crashed = ScoreLog.open(LOG_FILE);
+        crashed.append(new Score(LocalDateTime.of(2024, 2, 1, 12, 0), 1, 20, 0, 0));
+
+        try (ScoreLog log = ScoreLog.open(LOG_FILE)) {
+            assertEquals(4, log.size(), "The record past the summary should be recovered.");
+            assertEquals(40.0, log.getBestScorePerGame(), "The recovered record should be the best score.");
+        }
+
+        crashed.close();
+    }
+
+    @Test
+    void testCorruptRecordIsSkipped() throws IOException {
+        writeScores(5);
+        flipByte(recordOffset(2) + PAYLOAD_BYTE);
+
+        try (ScoreLog log = ScoreLog.open(LOG_FILE)) {
+            final List<Score> valid = new ArrayList<>();
+
+            assertEquals(5, log.size(), "A corrupt record within a summarized log should still be counted.");
+            assertFalse(log.isValid(2), "The corrupt record should fail its checksum.");
+            assertTrue(log.isValid(3), "The records after the corrupt one should stay valid.");
+            assertThrows(IOException.class, () -> log.get(2), "Reading a corrupt record should fail.");
+            assertEquals(1, log.readValid(valid), "Exactly one corrupt record should be left out.");
+            assertEquals(4, valid.size(), "Every other record should be read.");
+            assertEquals(reports(valid), reports(log.readAll()),
+                         "Reading all records should leave out the corrupt one as well.");
+
+            log.exportReport(REPORT_FILE);
+            assertEquals(reports(valid), reports(Score.readScoresFromFile(REPORT_FILE)),
+                         "The exported report should hold every valid record.");
+        }
+    }
+
+    @Test
+    void testCorruptSummaryIsRebuiltPastCorruptRecords() throws IOException {
+        writeScores(6);
+        flipByte(recordOffset(2) + PAYLOAD_BYTE);
+        flipByte(SUMMARY_OFFSET);
+
+        try (ScoreLog log = ScoreLog.open(LOG_FILE)) {
+            assertEquals(6, log.size(), "The valid records after the corrupt one should be kept.");
+            assertEquals(26, log.getTotalPoints(), "The corrupt record should be left out of the total points.");
+            assertEquals(10.0, log.getBestScorePerGame(), "The last record should still be the best score.");
+            assertEquals(10, log.get(5).getScore(), "The last record should still be readable.");
+        }
+    }
+
+    @Test
+    void testCorruptBestRecordFallsBackToBestValidRecord() throws IOException {
+        writeScores(5);
+
+        // The last record is the best one, and the summary still points at it
+        flipByte(recordOffset(4) + PAYLOAD_BYTE);
+
+        try (ScoreLog log = ScoreLog.open(LOG_FILE)) {
+            assertEquals(6, log.getBest().orElseThrow().getScore(),
+                         "The best valid record should replace the corrupt best record.");
+            assertEquals(6.0, log.getBestScorePerGame(), "The summary should now point at the best valid record.");
+        }
+    }
+
+    @Test
+    void testTopScoresAreKeptInSummary() throws IOException {
+        writeScores(ScoreLog.TOP_CAPACITY + 5);
+
+        try (ScoreLog log = ScoreLog.open(LOG_FILE)) {
+            // Ties with the best score, but was played later, so it ranks right after it
+            log.append(new Score(LocalDateTime.of(2024, 1, 2, 12, 0), 1, ScoreLog.TOP_CAPACITY + 4, 0, 0));
+            log.force();
+        }
+
+        try (ScoreLog log = ScoreLog.open(LOG_FILE)) {
+            final List<Score> top = log.getTop();
+
+            assertEquals(ScoreLog.TOP_CAPACITY, top.size(), "Only the best scores should be kept.");
+            assertEquals(LocalDateTime.of(2024, 1, 1, 12, ScoreLog.TOP_CAPACITY + 4), top.get(0).getDateTimePlayed(),
+                         "The earlier of two equal scores should rank first.");
+            assertEquals(LocalDateTime.of(2024, 1, 2, 12, 0), top.get(1).getDateTimePlayed(),
+                         "The later of two equal scores should rank second.");
+
+            for (int i = 2; i < top.size(); i++) {
+                assertEquals(2 * (ScoreLog.TOP_CAPACITY + 5 - i), top.get(i).getScore(),
+                             "The remaining scores should be ordered from the best to the worst.");
+            }
+        }
+    }
+
+    @Test
+    void testCorruptTopRecordIsReplaced() throws IOException {
+        writeScores(ScoreLog.TOP_CAPACITY + 5);
+        flipByte(recordOffset(ScoreLog.TOP_CAPACITY) + PAYLOAD_BYTE);
+
+        try (ScoreLog log = ScoreLog.open(LOG_FILE)) {
+            final List<Score> top = log.getTop();
+
+            assertEquals(ScoreLog.TOP_CAPACITY, top.size(), "The corrupt record should be replaced, not dropped.");
+            assertFalse(top.stream().anyMatch(score -> score.getScore() == 2 * ScoreLog.TOP_CAPACITY),
+                        "The corrupt record should be left out of the best scores.");
+            assertEquals(2 * 4, top.get(top.size() - 1).getScore(),
+                         "The next best valid record should take the place of the corrupt one.");
+        }
+    }
+
+    @Test
+    void testCompactionDropsCorruptRecords() throws IOException {
+        writeScores(5);
+        flipByte(recordOffset(2) + PAYLOAD_BYTE);
+
+        assertEquals(1, ScoreLogCompactor.compact(LOG_FILE), "Exactly one corrupt record should be dropped.");
+        assertFalse(Files.exists(LOG_FILE.resolveSibling(LOG_FILE.getFileName() + ".tmp")),
+                    "The compacted log should not leave its temporary file behind.");
+
+        try (ScoreLog log = ScoreLog.open(LOG_FILE)) {
+            assertEquals(4, log.size(), "Only the valid records should be kept.");
+            assertEquals(6, log.get(2).getScore(), "The records after the corrupt one should move up.");
+        }
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        // Clean up by deleting the test log after each test
+        Files.deleteIfExists(LOG_FILE);
+        Files.deleteIfExists(REPORT_FILE);
+    }
+}
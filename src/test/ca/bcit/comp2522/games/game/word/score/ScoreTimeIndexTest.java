@@ -0,0 +1,160 @@
+package ca.bcit.comp2522.games.game.word.score;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalDouble;
+import java.util.Random;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ScoreTimeIndexTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    // Spread the scores over a couple of weeks, so several of them share a day
+    private static final int MINUTES_SPREAD = 14 * 24 * 60;
+
+    private static Score randomScore(final Random random, final LocalDateTime dateTimePlayed) {
+        return new Score(dateTimePlayed, random.nextInt(4), random.nextInt(10), random.nextInt(10), 0);
+    }
+
+    private static LocalDateTime randomTime(final Random random) {
+        return ScoreTimeIndexTest.START.plusMinutes(random.nextInt(ScoreTimeIndexTest.MINUTES_SPREAD));
+    }
+
+    private static boolean isWithin(final Score score, final LocalDateTime from, final LocalDateTime to) {
+        return !score.getDateTimePlayed().isBefore(from) && score.getDateTimePlayed().isBefore(to);
+    }
+
+    // Compares every range query of the index against a scan over the scores it was given
+    private static void assertMatchesScan(final ScoreTimeIndex index, final List<Score> scores, final Random random) {
+        assertEquals(scores.size(), index.size(), "The index should hold every added score.");
+
+        for (int query = 0; query < 200; query++) {
+            final LocalDateTime from = ScoreTimeIndexTest.randomTime(random);
+            final LocalDateTime to = from.plusMinutes(random.nextInt(ScoreTimeIndexTest.MINUTES_SPREAD / 2));
+
+            int count = 0;
+            long points = 0;
+            long games = 0;
+            double best = Double.NEGATIVE_INFINITY;
+
+            for (final Score score : scores) {
+                if (ScoreTimeIndexTest.isWithin(score, from, to)) {
+                    count++;
+                    points += score.getScore();
+                    games += score.getNumGamesPlayed();
+                    best = Math.max(best, score.getScorePerGame());
+                }
+            }
+
+            final OptionalDouble indexBest = index.getBestScorePerGame(from, to);
+            final OptionalDouble indexAverage = index.getAverageScorePerGame(from, to);
+
+            assertEquals(count, index.count(from, to), "The count should match the scan.");
+            assertEquals(count > 0, indexBest.isPresent(), "Only a range with scores should have a best score.");
+            assertEquals(count > 0, indexAverage.isPresent(), "Only a range with scores should have an average.");
+
+            if (count > 0) {
+                assertEquals(best, indexBest.getAsDouble(), "The best score per game should match the scan.");
+                assertEquals(games == 0 ? 0 : ((double) points) / games, indexAverage.getAsDouble(), 1e-9,
+                             "The average score per game should match the scan.");
+            }
+        }
+
+        final SortedMap<LocalDate, Integer> sessions = new TreeMap<>();
+
+        for (final Score score : scores) {
+            sessions.merge(score.getDateTimePlayed().toLocalDate(), 1, Integer::sum);
+        }
+
+        assertEquals(sessions, index.getSessionsPerDay(START.toLocalDate(), START.toLocalDate().plusDays(15)),
+                     "The sessions per day should match the scan.");
+
+        for (int day = 0; day < 15; day++) {
+            final LocalDate date = START.toLocalDate().plusDays(day);
+            assertEquals(sessions.getOrDefault(date, 0), index.getSessionsOn(date),
+                         "The sessions of a single day should match the scan.");
+        }
+    }
+
+    @Test
+    void testEmptyIndex() {
+        final ScoreTimeIndex index = new ScoreTimeIndex();
+        final LocalDateTime end = START.plusDays(1);
+
+        assertEquals(0, index.count(START, end), "An empty index should count no scores.");
+        assertTrue(index.getBestScorePerGame(START, end).isEmpty(), "An empty index should have no best score.");
+        assertTrue(index.getAverageScorePerGame(START, end).isEmpty(), "An empty index should have no average.");
+        assertTrue(index.getSessionsPerDay(START.toLocalDate(), end.toLocalDate()).isEmpty(),
+                   "An empty index should have no sessions.");
+    }
+
+    @Test
+    void testInOrderRangeQueriesMatchScan() {
+        final Random random = new Random(2522);
+        final ScoreTimeIndex index = new ScoreTimeIndex();
+        final List<Score> scores = new ArrayList<>();
+        LocalDateTime time = START;
+
+        // Grows well past the initial capacity, querying in between so the index is extended rather than rebuilt
+        for (int i = 0; i < 300; i++) {
+            time = time.plusMinutes(random.nextInt(120));
+
+            final Score score = ScoreTimeIndexTest.randomScore(random, time);
+            index.add(score);
+            scores.add(score);
+
+            if (i % 50 == 0) {
+                ScoreTimeIndexTest.assertMatchesScan(index, scores, random);
+            }
+        }
+
+        ScoreTimeIndexTest.assertMatchesScan(index, scores, random);
+    }
+
+    @Test
+    void testOutOfOrderInsertsAreRebuilt() {
+        final Random random = new Random(1337);
+        final ScoreTimeIndex index = new ScoreTimeIndex();
+        final List<Score> scores = new ArrayList<>();
+
+        // Queries after every few inserts, so each rebuild starts from an index that was already built
+        for (int i = 0; i < 300; i++) {
+            final Score score = ScoreTimeIndexTest.randomScore(random, ScoreTimeIndexTest.randomTime(random));
+            index.add(score);
+            scores.add(score);
+
+            if (i % 7 == 0) {
+                ScoreTimeIndexTest.assertMatchesScan(index, scores, random);
+            }
+        }
+
+        ScoreTimeIndexTest.assertMatchesScan(index, scores, random);
+    }
+
+    @Test
+    void testScoreBeforeEveryOtherScore() {
+        final ScoreTimeIndex index = new ScoreTimeIndex();
+        final LocalDateTime end = START.plusDays(2);
+
+        index.add(new Score(START.plusDays(1), 1, 1, 0, 0));
+        assertEquals(2.0, index.getBestScorePerGame(START, end).orElseThrow(), "The only score should be the best.");
+
+        // Lands before the already built score, so the whole index is rebuilt
+        index.add(new Score(START, 1, 5, 0, 0));
+        assertEquals(10.0, index.getBestScorePerGame(START, end).orElseThrow(),
+                     "The earlier score should be the best.");
+        assertEquals(6.0, index.getAverageScorePerGame(START, end).orElseThrow(),
+                     "The average should include both scores.");
+        assertEquals(1, index.getSessionsOn(START.toLocalDate()), "The earlier score should have its own day.");
+        assertEquals(1, index.getSessionsOn(START.toLocalDate().plusDays(1)), "The later day should keep its score.");
+    }
+}